@@ -46,6 +46,7 @@ import com.oracle.bmc.identity.model.Compartment;
 import com.oracle.timg.oci.authentication.AuthenticationProcessor;
 import com.oracle.timg.oci.identity.IdentityProcessor;
 import com.oracle.timg.oci.objectstorage.ObjectStorageProcessor;
+import com.oracle.timg.oci.objectstorage.TransferReport;
 
 import lombok.extern.slf4j.Slf4j;
 import timgutilities.textio.TextIOUtils;
@@ -121,8 +122,8 @@ public class ObjectStorageInteract {
 				String localPathName = dirPrefixLocal + "/" + localName;
 
 				log.info("Starting Upload of " + localPathName + " with object storage prefix " + prefixRemote);
-				String res = objectStorage.uploadObject(bucketName, dirPrefixRemote, new File(localPathName));
-				log.info("Upload Processed " + res);
+				TransferReport res = objectStorage.uploadObject(bucketName, dirPrefixRemote, new File(localPathName));
+				log.info("Upload Processed " + res.render());
 			}
 			File localParent = null;
 			if (TextIOUtils.getYN("Do you want to try a directory download ?", false)) {
@@ -0,0 +1,207 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+/**
+ * Caches resource models (buckets, vaults, secrets and so on) by their id along
+ * with their ETags, this is for code that reads the same resources over and
+ * over again, for example a reconciliation loop.
+ * 
+ * When a model is asked for and there is a cached copy the fetcher is given the
+ * cached ETag, if the service supports conditional requests the fetcher sends
+ * it as If-None-Match and returns null when the service says it's not
+ * modified, the cached model is then returned without anything being
+ * transferred or parsed. If the service doesn't support conditional requests
+ * the fetcher gets the resource as usual and if the ETag is unchanged the
+ * cached model is returned, so callers always get the same instance while the
+ * resource doesn't change and can use that to skip their own processing.
+ * Copies that were fetched less than maxAgeMillis ago are returned without
+ * asking the service at all.
+ * 
+ * The cache holds at most maxEntries models, dropping the least recently used
+ * when it's full.
+ */
+public class ETagCache<T> {
+	/**
+	 * the default maximum number of cached models
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/**
+	 * gets the resource, given the ETag of the cached copy (or null if there
+	 * isn't one). Returns null if the service says the cached copy is current
+	 */
+	@FunctionalInterface
+	public interface Fetcher<T> {
+		ETagged<T> fetch(String cachedETag);
+	}
+
+	/**
+	 * cached copies younger than this are used without asking the service, 0 (the
+	 * default) checks every time
+	 */
+	@Getter
+	@Setter
+	private long maxAgeMillis = 0;
+	@Getter
+	private final int maxEntries;
+	// access ordered so the least recently used is first, guarded by this
+	private final LinkedHashMap<String, Entry<T>> entries;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * creates a cache holding up to DEFAULT_MAX_ENTRIES models
+	 */
+	public ETagCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * creates a cache holding up to maxEntries models
+	 * 
+	 * @param maxEntries - at least 1
+	 */
+	public ETagCache(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("maxEntries must be at least 1, it was " + maxEntries);
+		}
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+				return size() > ETagCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * gets the model with the id, using the cached copy if it's young enough or
+	 * the service confirms it's still current
+	 * 
+	 * @param id      - must not be null
+	 * @param fetcher - must not be null
+	 * @return the model and its ETag, null if the fetcher returned null without
+	 *         there being a cached copy
+	 */
+	public ETagged<T> get(@NonNull String id, @NonNull Fetcher<T> fetcher) {
+		Entry<T> cached;
+		synchronized (this) {
+			cached = entries.get(id);
+		}
+		long now = System.currentTimeMillis();
+		if ((cached != null) && ((now - cached.fetched()) < maxAgeMillis)) {
+			hits.incrementAndGet();
+			return cached.value();
+		}
+		ETagged<T> fetched = fetcher.fetch(cached == null ? null : cached.value().eTag());
+		ETagged<T> result;
+		if (cached == null) {
+			if (fetched == null) {
+				return null;
+			}
+			misses.incrementAndGet();
+			result = fetched;
+		} else if ((fetched == null)
+				|| ((fetched.eTag() != null) && fetched.eTag().equals(cached.value().eTag()))) {
+			// not modified, either the service told us or the ETag is the same
+			hits.incrementAndGet();
+			result = cached.value();
+		} else {
+			misses.incrementAndGet();
+			result = fetched;
+		}
+		synchronized (this) {
+			entries.put(id, new Entry<>(result, now));
+		}
+		return result;
+	}
+
+	/**
+	 * gets the cached ETag for the id without asking the service
+	 * 
+	 * @param id - must not be null
+	 * @return the ETag or null if there is no cached copy
+	 */
+	public synchronized String getETag(@NonNull String id) {
+		Entry<T> cached = entries.get(id);
+		return cached == null ? null : cached.value().eTag();
+	}
+
+	/**
+	 * removes the cached copy, call this after changing or deleting the resource
+	 * 
+	 * @param id - must not be null
+	 */
+	public synchronized void invalidate(@NonNull String id) {
+		entries.remove(id);
+	}
+
+	/**
+	 * removes all cached copies
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return the number of times the cached copy was used
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of times a new copy was needed
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private record Entry<T>(ETagged<T> value, long fetched) {
+	}
+}
@@ -40,6 +40,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.oracle.bmc.core.ComputeClient;
@@ -67,7 +68,6 @@ import com.oracle.bmc.core.requests.ListVnicAttachmentsRequest;
 import com.oracle.bmc.core.responses.GetInstanceResponse;
 import com.oracle.bmc.core.responses.GetVnicResponse;
 import com.oracle.bmc.core.responses.LaunchInstanceResponse;
-import com.oracle.bmc.core.responses.ListVnicAttachmentsResponse;
 import com.oracle.bmc.identity.model.AvailabilityDomain;
 import com.oracle.bmc.identity.model.Compartment;
 import com.oracle.bmc.workrequests.WorkRequestClient;
@@ -136,9 +136,22 @@ public class ComputeProcessor {
 	 * @return - List of zero or more shapes
 	 */
 	public List<Shape> getAllShapes(@NonNull String availabilityDomainName, @NonNull String compartmentOcid) {
+		return streamAllShapes(availabilityDomainName, compartmentOcid).toList();
+	}
+
+	/**
+	 * Get a stream of all available compute shapes for the given availabiity
+	 * domain name and compartment with ocid, the shapes are retrieved a page at a
+	 * time as the stream is consumed
+	 * 
+	 * @param availabilityDomainName - must not be null
+	 * @param compartmentOcid        - must not be null
+	 * @return - Stream of zero or more shapes
+	 */
+	public Stream<Shape> streamAllShapes(@NonNull String availabilityDomainName, @NonNull String compartmentOcid) {
 		Iterable<Shape> shapes = computeClient.getPaginators().listShapesRecordIterator(ListShapesRequest.builder()
 				.availabilityDomain(availabilityDomainName).compartmentId(compartmentOcid).build());
-		return StreamSupport.stream(shapes.spliterator(), false).toList();
+		return StreamSupport.stream(shapes.spliterator(), false);
 	}
 
 	/**
@@ -162,7 +175,7 @@ public class ComputeProcessor {
 	 * @return - List of zero or more shapes
 	 */
 	public List<Shape> getVmShapes(@NonNull String availabilityDomainName, @NonNull String compartmentOcid) {
-		return getAllShapes(availabilityDomainName, compartmentOcid).stream()
+		return streamAllShapes(availabilityDomainName, compartmentOcid)
 				.filter(shape -> shape.getShape().startsWith("VM")).toList();
 	}
 
@@ -192,9 +205,24 @@ public class ComputeProcessor {
 
 	public List<Image> getImages(@NonNull String shapeName, @NonNull String compartmentOcid,
 			@NonNull String operatingSystem) {
+		return streamImages(shapeName, compartmentOcid, operatingSystem).toList();
+	}
+
+	/**
+	 * Get a stream of the Images that can run on the specified shape name in the
+	 * compartment with ocid for a given operating system, the images are retrieved
+	 * a page at a time as the stream is consumed
+	 * 
+	 * @param shapeName       - must not be null
+	 * @param compartmentOcid - must not be null
+	 * @param operatingSystem - must not be null
+	 * @return - Stream of zero or more images
+	 */
+	public Stream<Image> streamImages(@NonNull String shapeName, @NonNull String compartmentOcid,
+			@NonNull String operatingSystem) {
 		Iterable<Image> images = computeClient.getPaginators().listImagesRecordIterator(ListImagesRequest.builder()
 				.shape(shapeName).compartmentId(compartmentOcid).operatingSystem(operatingSystem).build());
-		return StreamSupport.stream(images.spliterator(), false).toList();
+		return StreamSupport.stream(images.spliterator(), false);
 	}
 
 	/**
@@ -541,11 +569,24 @@ public class ComputeProcessor {
 	 */
 	public List<VnicAttachment> getInstanceVnicAttachements(@NonNull String instanceOcid,
 			@NonNull String parentCompartmentOcid) {
-		ListVnicAttachmentsRequest listVnicAttachmentsRequest = ListVnicAttachmentsRequest.builder()
-				.compartmentId(parentCompartmentOcid).instanceId(instanceOcid).build();
-		ListVnicAttachmentsResponse listVnicAttachmentsResponse = computeClient
-				.listVnicAttachments(listVnicAttachmentsRequest);
-		return listVnicAttachmentsResponse.getItems();
+		return streamInstanceVnicAttachements(instanceOcid, parentCompartmentOcid).toList();
+	}
+
+	/**
+	 * For the specified instance with ocid in it's parent comparment get a stream of
+	 * it's VNIC attachments (these connect to the subnets), the attachments are
+	 * retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param instanceOcid          - must not be null
+	 * @param parentCompartmentOcid - must not be null
+	 * @return - Stream of zero or more vnic attachments
+	 */
+	public Stream<VnicAttachment> streamInstanceVnicAttachements(@NonNull String instanceOcid,
+			@NonNull String parentCompartmentOcid) {
+		Iterable<VnicAttachment> vnicAttachments = computeClient.getPaginators()
+				.listVnicAttachmentsRecordIterator(ListVnicAttachmentsRequest.builder()
+						.compartmentId(parentCompartmentOcid).instanceId(instanceOcid).build());
+		return StreamSupport.stream(vnicAttachments.spliterator(), false);
 	}
 
 	/**
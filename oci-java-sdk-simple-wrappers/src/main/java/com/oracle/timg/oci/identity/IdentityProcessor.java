@@ -40,6 +40,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.oracle.bmc.identity.Identity;
 import com.oracle.bmc.identity.IdentityClient;
@@ -56,7 +58,6 @@ import com.oracle.bmc.identity.requests.ListRegionSubscriptionsRequest;
 import com.oracle.bmc.identity.responses.CreateCompartmentResponse;
 import com.oracle.bmc.identity.responses.GetCompartmentResponse;
 import com.oracle.bmc.identity.responses.ListAvailabilityDomainsResponse;
-import com.oracle.bmc.identity.responses.ListCompartmentsResponse;
 import com.oracle.bmc.identity.responses.ListRegionSubscriptionsResponse;
 import com.oracle.timg.oci.authentication.AuthenticationProcessor;
 
@@ -293,11 +294,23 @@ public class IdentityProcessor {
 	 * @return - list of zero or more compartments
 	 */
 	public List<Compartment> listChildCompartment(@NonNull String parentCompartmentOCID) {
+		return streamChildCompartments(parentCompartmentOCID).toList();
+	}
+
+	/**
+	 * stream the compartments in the compartment with the specified ocid, the
+	 * compartments are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param - parentCompartmentOCID - must not be null
+	 * @return - stream of zero or more compartments
+	 */
+	public Stream<Compartment> streamChildCompartments(@NonNull String parentCompartmentOCID) {
 		// locate the active compartments in the provided parent
-		ListCompartmentsResponse response = identityClient
-				.listCompartments(ListCompartmentsRequest.builder().sortBy(ListCompartmentsRequest.SortBy.Name)
-						.compartmentId(parentCompartmentOCID).lifecycleState(LifecycleState.Active).build());
-		return response.getItems();
+		Iterable<Compartment> compartments = identityClient.getPaginators()
+				.listCompartmentsRecordIterator(ListCompartmentsRequest.builder()
+						.sortBy(ListCompartmentsRequest.SortBy.Name).compartmentId(parentCompartmentOCID)
+						.lifecycleState(LifecycleState.Active).build());
+		return StreamSupport.stream(compartments.spliterator(), false);
 	}
 
 	/**
@@ -38,7 +38,7 @@ package com.oracle.timg.oci.iot;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 import org.apache.http.HttpStatus;
 
@@ -78,11 +78,20 @@ import com.oracle.bmc.iot.responses.GetDigitalTwinInstanceResponse;
 import com.oracle.bmc.iot.responses.GetDigitalTwinModelResponse;
 import com.oracle.bmc.iot.responses.GetIotDomainGroupResponse;
 import com.oracle.bmc.iot.responses.GetIotDomainResponse;
+import com.oracle.bmc.iot.responses.ListDigitalTwinAdaptersResponse;
+import com.oracle.bmc.iot.responses.ListDigitalTwinInstancesResponse;
+import com.oracle.bmc.iot.responses.ListDigitalTwinModelsResponse;
+import com.oracle.bmc.iot.responses.ListIotDomainGroupsResponse;
+import com.oracle.bmc.iot.responses.ListIotDomainsResponse;
 import com.oracle.bmc.vault.model.Secret;
 import com.oracle.timg.oci.authentication.AuthenticationProcessor;
+import com.oracle.timg.oci.cache.ETagCache;
+import com.oracle.timg.oci.cache.ETagged;
+import com.oracle.timg.oci.paginators.PrefetchingPaginator;
 
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -94,6 +103,15 @@ public class IotProcessor {
 	private final AuthenticationProcessor authProcessor;
 	@Getter
 	private final IotClient iotClient;
+	// the number of pages the stream methods fetch in the background ahead of the
+	// page being processed, 0 or less fetches pages only when they are needed
+	@Getter
+	@Setter
+	private int pageReadAhead = PrefetchingPaginator.DEFAULT_READ_AHEAD;
+	// the domains returned by getIotDomain, set the max age to avoid fetching them
+	// on every call
+	@Getter
+	private final ETagCache<IotDomain> iotDomainCache = new ETagCache<>();
 
 	/**
 	 * creates an instance which will use the provided AuthenticationProcessor for
@@ -190,6 +208,22 @@ public class IotProcessor {
 	 */
 	public List<IotDomainGroupSummary> listIotDomainGroupSummariesInCompartment(@NonNull String parentCompartmentOcid,
 			String displayName, IotDomainGroup.LifecycleState lifecycleState) {
+		return streamIotDomainGroupSummariesInCompartment(parentCompartmentOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * generate a stream of the domain group summaries ordered by displayName in a
+	 * compartment in the lifecycle state, if displayName is not null limits it to
+	 * only those matching the display name. The summaries are retrieved a page at
+	 * a time as the stream is consumed
+	 * 
+	 * @param parentCompartmentOcid
+	 * @param displayName
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<IotDomainGroupSummary> streamIotDomainGroupSummariesInCompartment(
+			@NonNull String parentCompartmentOcid, String displayName, IotDomainGroup.LifecycleState lifecycleState) {
 		ListIotDomainGroupsRequest.Builder requestBuilder = ListIotDomainGroupsRequest.builder()
 				.compartmentId(parentCompartmentOcid).sortBy(ListIotDomainGroupsRequest.SortBy.DisplayName)
 				.sortOrder(ListIotDomainGroupsRequest.SortOrder.Asc);
@@ -199,9 +233,10 @@ public class IotProcessor {
 		if (displayName != null) {
 			requestBuilder.displayName(displayName);
 		}
-		Iterable<IotDomainGroupSummary> domainGroupsSummaries = iotClient.getPaginators()
-				.listIotDomainGroupsRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(domainGroupsSummaries.spliterator(), false).toList();
+		Iterable<ListIotDomainGroupsResponse> domainGroupPages = iotClient.getPaginators()
+				.listIotDomainGroupsResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(domainGroupPages,
+				response -> response.getIotDomainGroupCollection().getItems(), pageReadAhead);
 	}
 
 	/**
@@ -263,9 +298,25 @@ public class IotProcessor {
 	 */
 	public List<IotDomainGroup> listIotDomainGroupsInCompartment(@NonNull String parentCompartmentOcid,
 			String displayName, IotDomainGroup.LifecycleState lifecycleState) {
-		List<IotDomainGroupSummary> domainGroupSummaries = listIotDomainGroupSummariesInCompartment(
+		return streamIotDomainGroupsInCompartment(parentCompartmentOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * returns a stream of the IotDomainGroups in the lifecycleState with a matching
+	 * displayName in the compartment with the specified parent compartment ocid. If
+	 * displayName is null returns all domain groups. The domain group details are
+	 * retrieved as the stream is consumed
+	 * 
+	 * @param parentCompartmentOcid
+	 * @param displayName
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<IotDomainGroup> streamIotDomainGroupsInCompartment(@NonNull String parentCompartmentOcid,
+			String displayName, IotDomainGroup.LifecycleState lifecycleState) {
+		Stream<IotDomainGroupSummary> domainGroupSummaries = streamIotDomainGroupSummariesInCompartment(
 				parentCompartmentOcid, displayName, lifecycleState);
-		return domainGroupSummaries.stream().map(dsg -> getIotDomainGroup(dsg)).toList();
+		return domainGroupSummaries.map(dsg -> getIotDomainGroup(dsg));
 	}
 
 	/**
@@ -447,7 +498,25 @@ public class IotProcessor {
 	 */
 	public List<IotDomainSummary> listIotDomainSummariesInIotDomainGroup(@NonNull String compartmentOcid,
 			@NonNull String iotDomainGroupOcid, String displayName, IotDomain.LifecycleState lifecycleState) {
-		return listIotDomainSummaries(compartmentOcid, iotDomainGroupOcid, displayName, lifecycleState);
+		return streamIotDomainSummariesInIotDomainGroup(compartmentOcid, iotDomainGroupOcid, displayName,
+				lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the IotDomains summaries with the lifecycle state in the
+	 * specified IoTDomainGroup and compartment, if displayName is not null limits
+	 * on only domains with a matching name if lifecycleState is null then all
+	 * states are allowed. The summaries are retrieved a page at a time as the
+	 * stream is consumed
+	 * 
+	 * @param compartmentOcid
+	 * @param iotDomainGroupSummaryOcid
+	 * @Param displayName
+	 * @return
+	 */
+	public Stream<IotDomainSummary> streamIotDomainSummariesInIotDomainGroup(@NonNull String compartmentOcid,
+			@NonNull String iotDomainGroupOcid, String displayName, IotDomain.LifecycleState lifecycleState) {
+		return streamIotDomainSummaries(compartmentOcid, iotDomainGroupOcid, displayName, lifecycleState);
 	}
 
 	/**
@@ -476,11 +545,25 @@ public class IotProcessor {
 	 */
 	public List<IotDomainSummary> listIotDomainSummariesInCompartment(@NonNull String compartmentOcid,
 			String displayName, IotDomain.LifecycleState lifecycleState) {
-		return listIotDomainSummaries(compartmentOcid, null, displayName, lifecycleState);
+		return streamIotDomainSummariesInCompartment(compartmentOcid, displayName, lifecycleState).toList();
+	}
 
+	/**
+	 * get a stream of the IotDomains summaries with the lifecycle state in the
+	 * compartment, if displayName is not null limits on only domains with a
+	 * matching name if lifecycleState is null then all states are allowed. The
+	 * summaries are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param compartmentOcid
+	 * @Param displayName
+	 * @return
+	 */
+	public Stream<IotDomainSummary> streamIotDomainSummariesInCompartment(@NonNull String compartmentOcid,
+			String displayName, IotDomain.LifecycleState lifecycleState) {
+		return streamIotDomainSummaries(compartmentOcid, null, displayName, lifecycleState);
 	}
 
-	private List<IotDomainSummary> listIotDomainSummaries(String compartmentOcid, String iotDomainGroupOcid,
+	private Stream<IotDomainSummary> streamIotDomainSummaries(String compartmentOcid, String iotDomainGroupOcid,
 			String displayName, IotDomain.LifecycleState lifecycleState) {
 		ListIotDomainsRequest.Builder requestBuilder = ListIotDomainsRequest.builder().compartmentId(compartmentOcid)
 				.sortBy(ListIotDomainsRequest.SortBy.DisplayName).sortOrder(ListIotDomainsRequest.SortOrder.Asc);
@@ -493,10 +576,10 @@ public class IotProcessor {
 		if (displayName != null) {
 			requestBuilder.displayName(displayName);
 		}
-		Iterable<IotDomainSummary> domainGroupSummaries = iotClient.getPaginators()
-				.listIotDomainsRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(domainGroupSummaries.spliterator(), false).toList();
-
+		Iterable<ListIotDomainsResponse> domainPages = iotClient.getPaginators()
+				.listIotDomainsResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(domainPages,
+				response -> response.getIotDomainCollection().getItems(), pageReadAhead);
 	}
 
 	/**
@@ -568,9 +651,22 @@ public class IotProcessor {
 	 */
 	public List<IotDomain> listIotDomainsInIotDomainGroup(@NonNull String compartmentOcid,
 			@NonNull String iotDomainGroupOcid, String displayName) {
-		List<IotDomainSummary> domainSummaries = listIotDomainSummariesInIotDomainGroup(compartmentOcid,
-				iotDomainGroupOcid, displayName);
-		return domainSummaries.stream().map(ds -> getIotDomain(ds)).toList();
+		return streamIotDomainsInIotDomainGroup(compartmentOcid, iotDomainGroupOcid, displayName).toList();
+	}
+
+	/**
+	 * get a stream of the active IotDomains in the specified IoTDomainGroup, if
+	 * displayName is not null limits on only domains with a matching name. The
+	 * domain details are retrieved as the stream is consumed
+	 * 
+	 * @param iotDomainGroupOcid
+	 * @Param displayName
+	 * @return
+	 */
+	public Stream<IotDomain> streamIotDomainsInIotDomainGroup(@NonNull String compartmentOcid,
+			@NonNull String iotDomainGroupOcid, String displayName) {
+		return streamIotDomainSummariesInIotDomainGroup(compartmentOcid, iotDomainGroupOcid, displayName,
+				IotDomain.LifecycleState.Active).map(ds -> getIotDomain(ds));
 	}
 
 	/**
@@ -713,9 +809,25 @@ public class IotProcessor {
 	 * @return
 	 */
 	public IotDomain getIotDomain(@NonNull String iotDomainSummaryOcid) {
-		GetIotDomainResponse resp = iotClient
-				.getIotDomain(GetIotDomainRequest.builder().iotDomainId(iotDomainSummaryOcid).build());
-		return resp.getIotDomain();
+		return getIotDomainWithETag(iotDomainSummaryOcid).value();
+	}
+
+	/**
+	 * get the iotdomain (i.e. with full details) with the specified ocid along
+	 * with its ETag. If the ETag is the same as the last time the domain was read
+	 * the previously returned IotDomain is returned again
+	 * 
+	 * @see ETagCache
+	 * @param iotDomainOcid
+	 * @return
+	 */
+	public ETagged<IotDomain> getIotDomainWithETag(@NonNull String iotDomainOcid) {
+		// the service doesn't support If-None-Match so this always fetches
+		return iotDomainCache.get(iotDomainOcid, cachedETag -> {
+			GetIotDomainResponse resp = iotClient
+					.getIotDomain(GetIotDomainRequest.builder().iotDomainId(iotDomainOcid).build());
+			return new ETagged<>(resp.getIotDomain(), resp.getEtag());
+		});
 	}
 
 	/**
@@ -805,6 +917,21 @@ public class IotProcessor {
 	 */
 	public List<DigitalTwinModelSummary> listDigitalTwinModelSummaries(@NonNull String iotDomainOcid,
 			String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
+		return streamDigitalTwinModelSummaries(iotDomainOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the DigitalTwinModelSummary in the specified lifecycle state
+	 * and IoTDomain, if displayName is not null limits on only domains with a
+	 * matching name. If lifecycle states is null defaults to all allowed states.
+	 * The summaries are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param iotDomainOcid
+	 * @Param displayName
+	 * @return
+	 */
+	public Stream<DigitalTwinModelSummary> streamDigitalTwinModelSummaries(@NonNull String iotDomainOcid,
+			String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
 		ListDigitalTwinModelsRequest.Builder requestBuilder = ListDigitalTwinModelsRequest.builder()
 				.iotDomainId(iotDomainOcid).sortBy(SortBy.DisplayName).sortOrder(SortOrder.Asc);
 		if (lifecycleState != null) {
@@ -813,9 +940,10 @@ public class IotProcessor {
 		if (displayName != null) {
 			requestBuilder.displayName(displayName);
 		}
-		Iterable<DigitalTwinModelSummary> digitalTwinModelSummaries = iotClient.getPaginators()
-				.listDigitalTwinModelsRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(digitalTwinModelSummaries.spliterator(), false).toList();
+		Iterable<ListDigitalTwinModelsResponse> digitalTwinModelPages = iotClient.getPaginators()
+				.listDigitalTwinModelsResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(digitalTwinModelPages,
+				response -> response.getDigitalTwinModelCollection().getItems(), pageReadAhead);
 	}
 
 	/**
@@ -899,9 +1027,24 @@ public class IotProcessor {
 	 */
 	public List<DigitalTwinModel> listDigitalTwinModels(@NonNull String iotDomainOcid, String displayName,
 			com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
-		List<DigitalTwinModelSummary> modelSummaries = listDigitalTwinModelSummaries(iotDomainOcid, displayName,
+		return streamDigitalTwinModels(iotDomainOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the DigitalTwinModel in the specified state and IoTDomain, if
+	 * displayName is not null it's used to limit the results. if lifecycleStates
+	 * is null then all states are allowed. The model details are retrieved as the
+	 * stream is consumed
+	 * 
+	 * @param iotDomainOcid
+	 * @param displayName
+	 * @return
+	 */
+	public Stream<DigitalTwinModel> streamDigitalTwinModels(@NonNull String iotDomainOcid, String displayName,
+			com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
+		Stream<DigitalTwinModelSummary> modelSummaries = streamDigitalTwinModelSummaries(iotDomainOcid, displayName,
 				lifecycleState);
-		return modelSummaries.stream().map(ms -> getDigitalTwinModel(ms)).toList();
+		return modelSummaries.map(ms -> getDigitalTwinModel(ms));
 	}
 
 	/**
@@ -1053,6 +1196,20 @@ public class IotProcessor {
 	 */
 	public List<DigitalTwinAdapterSummary> listDigitalTwinAdapterSummaries(@NonNull String iotDomainOcid,
 			String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
+		return streamDigitalTwinAdapterSummaries(iotDomainOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the DigitalTwinAdapterSummary in the specified state and
+	 * IotDomain, if displayName is non null limits to only results with that
+	 * displayName. If lifecycleStates is null then all states are allowed. The
+	 * summaries are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param iotDomainOcid
+	 * @return
+	 */
+	public Stream<DigitalTwinAdapterSummary> streamDigitalTwinAdapterSummaries(@NonNull String iotDomainOcid,
+			String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
 		ListDigitalTwinAdaptersRequest.Builder requestBuilder = ListDigitalTwinAdaptersRequest.builder()
 				.iotDomainId(iotDomainOcid).sortBy(ListDigitalTwinAdaptersRequest.SortBy.DisplayName)
 				.sortOrder(ListDigitalTwinAdaptersRequest.SortOrder.Asc);
@@ -1062,9 +1219,10 @@ public class IotProcessor {
 		if (lifecycleState != null) {
 			requestBuilder.lifecycleState(lifecycleState);
 		}
-		Iterable<DigitalTwinAdapterSummary> digitalTwinAdapterSummaries = iotClient.getPaginators()
-				.listDigitalTwinAdaptersRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(digitalTwinAdapterSummaries.spliterator(), false).toList();
+		Iterable<ListDigitalTwinAdaptersResponse> digitalTwinAdapterPages = iotClient.getPaginators()
+				.listDigitalTwinAdaptersResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(digitalTwinAdapterPages,
+				response -> response.getDigitalTwinAdapterCollection().getItems(), pageReadAhead);
 	}
 
 	/**
@@ -1148,9 +1306,24 @@ public class IotProcessor {
 	 */
 	public List<DigitalTwinAdapter> listDigitalTwinAdapters(@NonNull String iotDomainOcid, String displayName,
 			com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
-		List<DigitalTwinAdapterSummary> modelSummaries = listDigitalTwinAdapterSummaries(iotDomainOcid, displayName,
+		return streamDigitalTwinAdapters(iotDomainOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the DigitalTwinAdapter in the specified state and IoTDomain,
+	 * if displayName is not null it's used to limit the results. If
+	 * lifecycleStates is null then all states match. The adapter details are
+	 * retrieved as the stream is consumed
+	 * 
+	 * @param iotDomainOcid
+	 * @param displayName
+	 * @return
+	 */
+	public Stream<DigitalTwinAdapter> streamDigitalTwinAdapters(@NonNull String iotDomainOcid, String displayName,
+			com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
+		Stream<DigitalTwinAdapterSummary> modelSummaries = streamDigitalTwinAdapterSummaries(iotDomainOcid, displayName,
 				lifecycleState);
-		return modelSummaries.stream().map(ms -> getDigitalTwinAdapter(ms)).toList();
+		return modelSummaries.map(ms -> getDigitalTwinAdapter(ms));
 	}
 
 	/**
@@ -1552,6 +1725,26 @@ public class IotProcessor {
 	 */
 	private List<DigitalTwinInstanceSummary> listDigitalTwinInstanceSummariesReal(@NonNull String iotDomainOcid,
 			String digitalTwinModelOcid, String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
+		return streamDigitalTwinInstanceSummaries(iotDomainOcid, digitalTwinModelOcid, displayName,
+				lifecycleState).toList();
+	}
+
+	/**
+	 * 
+	 * get a stream of the DigitalTwinInstanceSummary in the specified state and
+	 * IotDomain, if displayName is non null limits to only results with that
+	 * displayName if the lifecycle state is null then all states match, if
+	 * digitalTwinModelOcid is null then matches all models. The summaries are
+	 * retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param iotDomainOcid
+	 * @param digitalTwinModelOcid
+	 * @param displayName
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<DigitalTwinInstanceSummary> streamDigitalTwinInstanceSummaries(@NonNull String iotDomainOcid,
+			String digitalTwinModelOcid, String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
 		ListDigitalTwinInstancesRequest.Builder requestBuilder = ListDigitalTwinInstancesRequest.builder()
 				.iotDomainId(iotDomainOcid).sortBy(ListDigitalTwinInstancesRequest.SortBy.DisplayName)
 				.sortOrder(ListDigitalTwinInstancesRequest.SortOrder.Asc);
@@ -1566,9 +1759,10 @@ public class IotProcessor {
 			requestBuilder.lifecycleState(lifecycleState);
 		}
 
-		Iterable<DigitalTwinInstanceSummary> digitalTwinInstanceSummaries = iotClient.getPaginators()
-				.listDigitalTwinInstancesRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(digitalTwinInstanceSummaries.spliterator(), false).toList();
+		Iterable<ListDigitalTwinInstancesResponse> digitalTwinInstancePages = iotClient.getPaginators()
+				.listDigitalTwinInstancesResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(digitalTwinInstancePages,
+				response -> response.getDigitalTwinInstanceCollection().getItems(), pageReadAhead);
 	}
 
 	/**
@@ -1889,9 +2083,27 @@ public class IotProcessor {
 	 */
 	private List<DigitalTwinInstance> listDigitalTwinInstancesReal(@NonNull String iotDomainOcid,
 			String digitalTwinModelOcid, String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
-		List<DigitalTwinInstanceSummary> modelSummaries = listDigitalTwinInstanceSummariesReal(iotDomainOcid,
+		return streamDigitalTwinInstances(iotDomainOcid, digitalTwinModelOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the DigitalTwinInstance in the specified state and
+	 * IoTDomain, if displayName is not null it's used to limit the results if the
+	 * lifecycle state is null then all states match, if digitalTwinModelOcid is
+	 * null then matches all models. The instance details are retrieved as the
+	 * stream is consumed
+	 * 
+	 * @param iotDomainOcid
+	 * @param digitalTwinModelOcid
+	 * @param displayName
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<DigitalTwinInstance> streamDigitalTwinInstances(@NonNull String iotDomainOcid,
+			String digitalTwinModelOcid, String displayName, com.oracle.bmc.iot.model.LifecycleState lifecycleState) {
+		Stream<DigitalTwinInstanceSummary> modelSummaries = streamDigitalTwinInstanceSummaries(iotDomainOcid,
 				digitalTwinModelOcid, displayName, lifecycleState);
-		return modelSummaries.stream().map(ms -> getDigitalTwinInstance(ms)).toList();
+		return modelSummaries.map(ms -> getDigitalTwinInstance(ms));
 	}
 
 	/**
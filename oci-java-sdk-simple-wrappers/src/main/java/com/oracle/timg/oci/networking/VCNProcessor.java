@@ -38,7 +38,7 @@ package com.oracle.timg.oci.networking;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 import com.oracle.bmc.core.VirtualNetworkClient;
 import com.oracle.bmc.core.model.CreateInternetGatewayDetails;
@@ -76,10 +76,15 @@ import com.oracle.bmc.core.responses.GetSubnetResponse;
 import com.oracle.bmc.core.responses.GetVcnResponse;
 import com.oracle.bmc.core.responses.GetVnicResponse;
 import com.oracle.bmc.core.responses.ListInternetGatewaysResponse;
+import com.oracle.bmc.core.responses.ListSubnetsResponse;
+import com.oracle.bmc.core.responses.ListVcnsResponse;
 import com.oracle.bmc.identity.model.Compartment;
 import com.oracle.timg.oci.authentication.AuthenticationProcessor;
+import com.oracle.timg.oci.paginators.PrefetchingPaginator;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -92,6 +97,11 @@ public class VCNProcessor {
 
 	private AuthenticationProcessor authProcessor;
 	private VirtualNetworkClient vcnClient;
+	// the number of pages the stream methods fetch in the background ahead of the
+	// page being processed, 0 or less fetches pages only when they are needed
+	@Getter
+	@Setter
+	private int pageReadAhead = PrefetchingPaginator.DEFAULT_READ_AHEAD;
 
 	/**
 	 * Creates a VCNProcessor which will use the supplied AuthenticationProcessor
@@ -208,11 +218,24 @@ public class VCNProcessor {
 	 * @return
 	 */
 	public List<Vcn> listVcns(@NonNull String parentCompartmentOcid) {
-		Iterable<Vcn> vcns = vcnClient.getPaginators()
-				.listVcnsRecordIterator(ListVcnsRequest.builder().compartmentId(parentCompartmentOcid)
+		return streamVcns(parentCompartmentOcid).toList();
+	}
+
+	/**
+	 * 
+	 * get a stream of the vcn's in the compartment with the specified ocid in the
+	 * available, provisioning or updating state only, the vcn's are retrieved a
+	 * page at a time as the stream is consumed
+	 * 
+	 * @param parentCompartmentOcid - must not be null
+	 * @return a stream of zero or more vcn's
+	 */
+	public Stream<Vcn> streamVcns(@NonNull String parentCompartmentOcid) {
+		Iterable<ListVcnsResponse> vcnPages = vcnClient.getPaginators()
+				.listVcnsResponseIterator(ListVcnsRequest.builder().compartmentId(parentCompartmentOcid)
 						.lifecycleState(Vcn.LifecycleState.Available).lifecycleState(Vcn.LifecycleState.Provisioning)
 						.lifecycleState(Vcn.LifecycleState.Updating).build());
-		return StreamSupport.stream(vcns.spliterator(), false).toList();
+		return PrefetchingPaginator.stream(vcnPages, response -> response.getItems(), pageReadAhead);
 	}
 
 	/**
@@ -358,10 +381,24 @@ public class VCNProcessor {
 	 * @return - a list of zero or more subnets
 	 */
 	public List<Subnet> listSubnets(@NonNull String parentVcnOcid, @NonNull String parentCompartmentOcid) {
-		Iterable<Subnet> subnets = vcnClient.getPaginators()
-				.listSubnetsRecordIterator(ListSubnetsRequest.builder().compartmentId(parentCompartmentOcid)
+		return streamSubnets(parentVcnOcid, parentCompartmentOcid).toList();
+	}
+
+	/**
+	 * 
+	 * get a stream of the subnets in the vcn with the specified ocid in the
+	 * comparment with the specified ocid, the subnets are retrieved a page at a
+	 * time as the stream is consumed
+	 * 
+	 * @param parentVcnOcid         - must not be null
+	 * @param parentCompartmentOcid - must not be null
+	 * @return - a stream of zero or more subnets
+	 */
+	public Stream<Subnet> streamSubnets(@NonNull String parentVcnOcid, @NonNull String parentCompartmentOcid) {
+		Iterable<ListSubnetsResponse> subnetPages = vcnClient.getPaginators()
+				.listSubnetsResponseIterator(ListSubnetsRequest.builder().compartmentId(parentCompartmentOcid)
 						.vcnId(parentVcnOcid).lifecycleState(Subnet.LifecycleState.Available).build());
-		return StreamSupport.stream(subnets.spliterator(), false).toList();
+		return PrefetchingPaginator.stream(subnetPages, response -> response.getItems(), pageReadAhead);
 	}
 
 	/**
@@ -461,11 +498,25 @@ public class VCNProcessor {
 	 * @return - a list of zero or more internet gateways
 	 */
 	public List<InternetGateway> listInternetGateways(@NonNull String parentCompartmentOcid, @NonNull String vcnOcid) {
-		Iterable<InternetGateway> gateways = vcnClient.getPaginators()
-				.listInternetGatewaysRecordIterator(ListInternetGatewaysRequest.builder().vcnId(vcnOcid)
+		return streamInternetGateways(parentCompartmentOcid, vcnOcid).toList();
+	}
+
+	/**
+	 * get a stream of the available or provisioning internet gateways in the
+	 * compartment with the specified ocid and vcn with the specified ocid, the
+	 * gateways are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param parentCompartmentOcid - must not be null
+	 * @param vcnOcid               - must not be null
+	 * @return - a stream of zero or more internet gateways
+	 */
+	public Stream<InternetGateway> streamInternetGateways(@NonNull String parentCompartmentOcid,
+			@NonNull String vcnOcid) {
+		Iterable<ListInternetGatewaysResponse> gatewayPages = vcnClient.getPaginators()
+				.listInternetGatewaysResponseIterator(ListInternetGatewaysRequest.builder().vcnId(vcnOcid)
 						.compartmentId(parentCompartmentOcid).lifecycleState(InternetGateway.LifecycleState.Available)
 						.lifecycleState(InternetGateway.LifecycleState.Provisioning).build());
-		return StreamSupport.stream(gateways.spliterator(), false).toList();
+		return PrefetchingPaginator.stream(gatewayPages, response -> response.getItems(), pageReadAhead);
 	}
 
 	/**
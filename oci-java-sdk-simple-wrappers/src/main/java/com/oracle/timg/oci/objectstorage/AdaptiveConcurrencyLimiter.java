@@ -0,0 +1,191 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.oracle.bmc.model.BmcException;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limits the number of requests in flight, when the service starts throttling
+ * (returning 429) the limit is halved and it then grows back by one for every
+ * limit successful requests until it reaches the maximum again. This lets bulk
+ * operations run as fast as the service will let them without a fixed
+ * concurrency having to be tuned for each tenancy.
+ * 
+ * It also provides the backoff delay to use before retrying a throttled or
+ * failed request.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+	private static final long BASE_BACKOFF_MS = 100;
+	private static final long MAX_BACKOFF_MS = 10000;
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	@Getter
+	private final int maxLimit;
+	@Getter
+	private int limit;
+	@Getter
+	private int inFlight = 0;
+	private int successesSinceIncrease = 0;
+
+	/**
+	 * creates a limiter that starts by allowing maxLimit requests in flight
+	 * 
+	 * @param maxLimit - the most requests to allow in flight, must be at least 1
+	 */
+	public AdaptiveConcurrencyLimiter(int maxLimit) {
+		if (maxLimit < 1) {
+			throw new IllegalArgumentException("maxLimit must be at least 1, it was " + maxLimit);
+		}
+		this.maxLimit = maxLimit;
+		this.limit = maxLimit;
+	}
+
+	/**
+	 * waits until another request can be in flight
+	 * 
+	 * @throws InterruptedException
+	 */
+	public synchronized void acquire() throws InterruptedException {
+		while (inFlight >= limit) {
+			wait();
+		}
+		inFlight++;
+	}
+
+	/**
+	 * call when a request that was acquired has finished
+	 */
+	public synchronized void release() {
+		inFlight--;
+		notifyAll();
+	}
+
+	/**
+	 * waits until all of the acquired requests have been released
+	 * 
+	 * @throws InterruptedException
+	 */
+	public synchronized void awaitIdle() throws InterruptedException {
+		while (inFlight > 0) {
+			wait();
+		}
+	}
+
+	/**
+	 * sets the limit directly, for callers that tune the concurrency themselves
+	 * rather than relying on succeeded to grow it
+	 * 
+	 * @param newLimit - this is kept between 1 and the maximum limit
+	 */
+	public synchronized void setLimit(int newLimit) {
+		limit = Math.max(1, Math.min(maxLimit, newLimit));
+		successesSinceIncrease = 0;
+		notifyAll();
+	}
+
+	/**
+	 * call when a request succeeded, this slowly increases the limit
+	 */
+	public synchronized void succeeded() {
+		if (limit >= maxLimit) {
+			return;
+		}
+		if (++successesSinceIncrease >= limit) {
+			successesSinceIncrease = 0;
+			limit++;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * call when a request was throttled, this halves the limit
+	 */
+	public synchronized void throttled() {
+		int newLimit = Math.max(1, limit / 2);
+		if (newLimit != limit) {
+			log.debug("Throttled, reducing concurrency from " + limit + " to " + newLimit);
+		}
+		limit = newLimit;
+		successesSinceIncrease = 0;
+	}
+
+	/**
+	 * works out if a failed request is worth retrying, throttling (429), server
+	 * side errors (5xx) and timeouts are. If the request was throttled the limit
+	 * is reduced
+	 * 
+	 * @param e - must not be null
+	 * @return true if the request should be retried
+	 */
+	public boolean retryable(@NonNull BmcException e) {
+		if (e.getStatusCode() == TOO_MANY_REQUESTS) {
+			throttled();
+			return true;
+		}
+		return (e.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR) || e.isTimeout();
+	}
+
+	/**
+	 * waits for the backoff time for the attempt
+	 * 
+	 * @param attempt - the number of attempts already made, starting at 1
+	 * @throws InterruptedException
+	 */
+	public void backoff(int attempt) throws InterruptedException {
+		Thread.sleep(backoffMillis(attempt));
+	}
+
+	/**
+	 * the time to wait before retrying, this is exponential in the attempt with
+	 * random jitter so that throttled requests don't all retry at the same time
+	 * 
+	 * @param attempt - the number of attempts already made, starting at 1
+	 * @return the delay in milliseconds
+	 */
+	public long backoffMillis(int attempt) {
+		long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(attempt, 16));
+		return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+	}
+}
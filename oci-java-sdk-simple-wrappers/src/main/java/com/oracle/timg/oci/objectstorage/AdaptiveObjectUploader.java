@@ -0,0 +1,462 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadDetails;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadPartDetails;
+import com.oracle.bmc.objectstorage.model.CreateMultipartUploadDetails;
+import com.oracle.bmc.objectstorage.requests.AbortMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.CommitMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.CreateMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.objectstorage.requests.UploadPartRequest;
+import com.oracle.bmc.objectstorage.responses.CommitMultipartUploadResponse;
+import com.oracle.bmc.objectstorage.responses.PutObjectResponse;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads a file choosing how to do it based on the file and on how the upload
+ * is going rather than using fixed settings. Files up to the single put
+ * threshold are sent in one request so they don't pay for creating and
+ * committing a multi part upload, larger files are split into parts.
+ * 
+ * The first part size is picked from the file size (and the limit on the number
+ * of parts), after that each part that completes very quickly doubles the size
+ * of the parts still to be sent (so the per request overhead stays small) and
+ * each that is very slow halves it (so a retry doesn't have to resend too
+ * much). The number of parts in flight starts small and is tuned by hill
+ * climbing on the measured throughput, after every round of parts it keeps
+ * moving in the same direction while the throughput improves and turns around
+ * when it drops, throttling halves it.
+ * 
+ * The parts are uploaded using the executor if one is set, otherwise using a
+ * virtual thread per part. Each part reads its region of the file through a
+ * memory mapping (or positional reads if mapping is turned off) so there are
+ * no intermediate copies and memory use does not depend on the part size. The
+ * source can be a Path or an already open FileChannel.
+ */
+@Slf4j
+public class AdaptiveObjectUploader {
+	/**
+	 * the default size at or below which files are uploaded with a single put
+	 */
+	public static final long DEFAULT_SINGLE_PUT_THRESHOLD = 64L * 1024 * 1024;
+	/**
+	 * the default smallest part size
+	 */
+	public static final long DEFAULT_MIN_PART_SIZE = 10L * 1024 * 1024;
+	/**
+	 * the default largest part size
+	 */
+	public static final long DEFAULT_MAX_PART_SIZE = 1024L * 1024 * 1024;
+	/**
+	 * the default number of parts in flight when an upload starts
+	 */
+	public static final int DEFAULT_INITIAL_PARALLELISM = 4;
+	/**
+	 * the default maximum number of parts in flight
+	 */
+	public static final int DEFAULT_MAX_PARALLELISM = 32;
+	/**
+	 * the default number of times a part is tried before the upload fails
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	// object storage limit on the number of parts in a multi part upload
+	private static final int MAX_PARTS = 10000;
+	// aim for at least this many parts per part slot so there is room to tune
+	private static final int PARTS_PER_SLOT = 8;
+	// parts quicker than this grow the part size, slower than this shrink it
+	private static final long FAST_PART_NANOS = 2_000_000_000L;
+	private static final long SLOW_PART_NANOS = 60_000_000_000L;
+	// throughput has to change by more than this to count as better or worse
+	private static final double THROUGHPUT_TOLERANCE = 0.05;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	/**
+	 * files this size or smaller are uploaded with a single put
+	 */
+	@Getter
+	@Setter
+	private long singlePutThreshold = DEFAULT_SINGLE_PUT_THRESHOLD;
+	/**
+	 * the smallest part size the tuning will use, the last part may be smaller
+	 */
+	@Getter
+	@Setter
+	private long minPartSize = DEFAULT_MIN_PART_SIZE;
+	/**
+	 * the largest part size the tuning will use, this is exceeded if needed to
+	 * keep within the maximum number of parts
+	 */
+	@Getter
+	@Setter
+	private long maxPartSize = DEFAULT_MAX_PART_SIZE;
+	/**
+	 * the number of parts in flight when an upload starts
+	 */
+	@Getter
+	@Setter
+	private int initialParallelism = DEFAULT_INITIAL_PARALLELISM;
+	/**
+	 * the most parts the tuning will allow in flight
+	 */
+	@Getter
+	@Setter
+	private int maxParallelism = DEFAULT_MAX_PARALLELISM;
+	/**
+	 * the number of times a part is tried before the upload fails
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	/**
+	 * if not null the parts are uploaded using this, it is not shut down by the
+	 * uploader. If null each upload uses a virtual thread per part
+	 */
+	@Getter
+	@Setter
+	private ExecutorService executor;
+	/**
+	 * if true (the default) each part is read from a memory mapping of its region
+	 * of the file rather than by reading it into a buffer
+	 */
+	@Getter
+	@Setter
+	private boolean memoryMapped = true;
+
+	/**
+	 * creates an uploader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public AdaptiveObjectUploader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * uploads the file, replacing the object if it exists. If a multi part upload
+	 * fails it is aborted
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param source     - must not be null
+	 * @return the MD5 of the object as reported by object storage, for multi part
+	 *         uploads this is the multi part MD5
+	 * @throws IOException if the upload fails
+	 */
+	public String upload(@NonNull String objectName, @NonNull Path source) throws IOException {
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			return upload(objectName, channel, source.toString());
+		}
+	}
+
+	/**
+	 * uploads the whole of the channel (from byte 0 to its size), replacing the
+	 * object if it exists. The position of the channel is not used or changed and
+	 * the caller is responsible for closing it
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param source     - must not be null and must be readable
+	 * @return the MD5 of the object as reported by object storage, for multi part
+	 *         uploads this is the multi part MD5
+	 * @throws IOException if the upload fails
+	 */
+	public String upload(@NonNull String objectName, @NonNull FileChannel source) throws IOException {
+		return upload(objectName, source, "channel");
+	}
+
+	private String upload(String objectName, FileChannel channel, String source) throws IOException {
+		long size = channel.size();
+		if (size <= singlePutThreshold) {
+			return putWhole(objectName, channel, source, size);
+		}
+		long smallest = Math.max(1, minPartSize);
+		long largest = Math.max(smallest, maxPartSize);
+		int maxSlots = Math.max(1, maxParallelism);
+		long firstPartSize = Math.min(largest, Math.max(smallest, size / ((long) maxSlots * PARTS_PER_SLOT)));
+		Tuner tuner = new Tuner(Math.min(initialParallelism, maxSlots), maxSlots, firstPartSize, smallest, largest);
+		String uploadId;
+		try {
+			uploadId = objectstorageClient.createMultipartUpload(CreateMultipartUploadRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName)
+					.createMultipartUploadDetails(CreateMultipartUploadDetails.builder().object(objectName).build())
+					.build()).getMultipartUpload().getUploadId();
+		} catch (BmcException e) {
+			throw new IOException("Can't start upload of " + source + " to object " + objectName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+		long start = System.currentTimeMillis();
+		try {
+			Map<Integer, String> uploadedParts = new ConcurrentHashMap<>();
+			int partCount = uploadParts(objectName, channel, source, size, uploadId, tuner, uploadedParts);
+			List<CommitMultipartUploadPartDetails> partsToCommit = new ArrayList<>(partCount);
+			for (int partNum = 1; partNum <= partCount; partNum++) {
+				partsToCommit.add(CommitMultipartUploadPartDetails.builder().partNum(partNum)
+						.etag(uploadedParts.get(partNum)).build());
+			}
+			CommitMultipartUploadResponse response = objectstorageClient.commitMultipartUpload(
+					CommitMultipartUploadRequest.builder().namespaceName(namespace).bucketName(bucketName)
+							.objectName(objectName).uploadId(uploadId)
+							.commitMultipartUploadDetails(
+									CommitMultipartUploadDetails.builder().partsToCommit(partsToCommit).build())
+							.build());
+			log.debug("Uploaded " + size + " bytes of " + source + " to " + objectName + " in " + partCount
+					+ " parts in " + (System.currentTimeMillis() - start) + "ms, finished with " + tuner.getLimit()
+					+ " parts in flight and a part size of " + tuner.getPartSize());
+			return response.getOpcMultipartMd5();
+		} catch (IOException | RuntimeException e) {
+			abort(objectName, uploadId);
+			if (e instanceof BmcException) {
+				throw new IOException("Can't commit upload of " + source + " to object " + objectName
+						+ ", msg is " + e.getLocalizedMessage(), e);
+			}
+			throw e;
+		}
+	}
+
+	// returns the number of parts uploaded
+	private int uploadParts(String objectName, FileChannel channel, String source, long size, String uploadId,
+			Tuner tuner, Map<Integer, String> uploadedParts) throws IOException {
+		AtomicReference<IOException> failure = new AtomicReference<>();
+		ExecutorService ownExecutor = executor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+		ExecutorService partExecutor = ownExecutor == null ? executor : ownExecutor;
+		int partNum = 0;
+		try {
+			long partStart = 0;
+			while ((partStart < size) && (failure.get() == null)) {
+				tuner.acquire();
+				partNum++;
+				// the remaining parts must fit within the part limit whatever the tuning wants
+				long remaining = size - partStart;
+				long partLength = Math.min(remaining,
+						Math.max(tuner.getPartSize(), (remaining + MAX_PARTS - partNum) / (MAX_PARTS - partNum + 1)));
+				int part = partNum;
+				long offset = partStart;
+				partStart += partLength;
+				try {
+					partExecutor.submit(() -> {
+						try {
+							if (failure.get() == null) {
+								long partBegun = System.nanoTime();
+								uploadedParts.put(part,
+										uploadPartWithRetry(objectName, uploadId, part, channel, offset, partLength,
+												tuner));
+								tuner.partCompleted(partLength, System.nanoTime() - partBegun);
+							}
+						} catch (IOException e) {
+							failure.compareAndSet(null, e);
+						} finally {
+							tuner.release();
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					tuner.release();
+					failure.compareAndSet(null, new IOException("Can't start part " + part + " of " + source, e));
+				}
+			}
+			tuner.awaitIdle();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new IOException("Interrupted uploading " + source, e));
+		} finally {
+			if (ownExecutor != null) {
+				ownExecutor.close();
+			}
+		}
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		return partNum;
+	}
+
+	private String uploadPartWithRetry(String objectName, String uploadId, int partNum, FileChannel channel,
+			long partStart, long partLength, Tuner tuner) throws IOException {
+		ByteBuffer mapped = map(channel, partStart, partLength);
+		for (int attempt = 1;; attempt++) {
+			// we do our own retries, the SDK can't replay the stream
+			UploadPartRequest request = UploadPartRequest.builder().namespaceName(namespace).bucketName(bucketName)
+					.objectName(objectName).uploadId(uploadId).uploadPartNum(partNum).contentLength(partLength)
+					.uploadPartBody(mapped == null ? new FileRangeInputStream(channel, partStart, partLength)
+							: new ByteBufferInputStream(mapped))
+					.retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION).build();
+			try {
+				return objectstorageClient.uploadPart(request).getETag();
+			} catch (BmcException e) {
+				if (!tuner.retryable(e) || (attempt >= maxAttempts)) {
+					throw new IOException("Can't upload part " + partNum + " of object " + objectName + ", msg is "
+							+ e.getLocalizedMessage(), e);
+				}
+			}
+			try {
+				tuner.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted uploading " + objectName, e);
+			}
+		}
+	}
+
+	private void abort(String objectName, String uploadId) {
+		try {
+			objectstorageClient.abortMultipartUpload(AbortMultipartUploadRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).uploadId(uploadId).build());
+		} catch (BmcException e) {
+			log.debug("Can't abort multipart upload " + uploadId + ", msg is " + e.getLocalizedMessage());
+		}
+	}
+
+	// the SDK only takes an InputStream so the data has to be copied into its
+	// buffers, reading from a mapping saves the copy through a temporary direct
+	// buffer that a channel read into a heap buffer makes. Returns null if not
+	// mapping
+	private ByteBuffer map(FileChannel channel, long start, long length) throws IOException {
+		if (!memoryMapped || (length > Integer.MAX_VALUE)) {
+			return null;
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+	}
+
+	private String putWhole(String objectName, FileChannel channel, String source, long size) throws IOException {
+		ByteBuffer mapped = map(channel, 0, size);
+		try (InputStream contents = mapped == null ? new FileRangeInputStream(channel, 0, size)
+				: new ByteBufferInputStream(mapped)) {
+			PutObjectResponse response = objectstorageClient.putObject(PutObjectRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName).objectName(objectName).contentLength(size)
+					.putObjectBody(contents).build());
+			return response.getOpcContentMd5();
+		} catch (BmcException e) {
+			throw new IOException("Can't upload " + source + " to object " + objectName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+	}
+
+	/**
+	 * limits the parts in flight like the AdaptiveConcurrencyLimiter (which still
+	 * handles throttling) but sets the limit from the measured throughput and also
+	 * tunes the part size
+	 */
+	private static class Tuner extends AdaptiveConcurrencyLimiter {
+		private final long minPartSize;
+		private final long maxPartSize;
+		private long partSize;
+		private int direction = 1;
+		private long roundStart = System.nanoTime();
+		private long roundBytes = 0;
+		private int roundParts = 0;
+		private double lastThroughput = 0;
+
+		private Tuner(int initialLimit, int maxLimit, long partSize, long minPartSize, long maxPartSize) {
+			super(maxLimit);
+			this.partSize = partSize;
+			this.minPartSize = minPartSize;
+			this.maxPartSize = maxPartSize;
+			setLimit(initialLimit);
+		}
+
+		private synchronized long getPartSize() {
+			return partSize;
+		}
+
+		private synchronized void partCompleted(long bytes, long nanos) {
+			// only full sized parts say anything about the current part size
+			if (bytes >= partSize) {
+				if ((nanos < FAST_PART_NANOS) && (partSize < maxPartSize)) {
+					partSize = Math.min(maxPartSize, partSize * 2);
+				} else if ((nanos > SLOW_PART_NANOS) && (partSize > minPartSize)) {
+					partSize = Math.max(minPartSize, partSize / 2);
+				}
+			}
+			roundBytes += bytes;
+			if (++roundParts < getLimit()) {
+				return;
+			}
+			long now = System.nanoTime();
+			double throughput = roundBytes / (double) Math.max(1, now - roundStart);
+			if (throughput < lastThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+				// the last move made things worse so go back the other way
+				direction = -direction;
+				setLimit(getLimit() + direction);
+			} else if (throughput > lastThroughput * (1 + THROUGHPUT_TOLERANCE)) {
+				setLimit(getLimit() + direction);
+			}
+			lastThroughput = throughput;
+			roundStart = now;
+			roundBytes = 0;
+			roundParts = 0;
+		}
+
+		@Override
+		public synchronized void throttled() {
+			super.throttled();
+			// the throughput before the throttling is no guide to what's possible now
+			direction = 1;
+			lastThroughput = 0;
+			roundStart = System.nanoTime();
+			roundBytes = 0;
+			roundParts = 0;
+		}
+	}
+}
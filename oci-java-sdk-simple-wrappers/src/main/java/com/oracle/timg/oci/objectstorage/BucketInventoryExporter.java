@@ -0,0 +1,220 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lists a bucket into an InventorySnapshot file, and refreshes a snapshot by
+ * listing again only the prefixes that have changed.
+ * 
+ * ListObjects can't be asked for just the objects changed since a time, so
+ * refresh relies on the caller knowing which prefixes have changed since the
+ * snapshot was taken (for example from object storage events, or because the
+ * job that writes to them says so). The entries under those prefixes are
+ * replaced by a new listing and everything else is copied from the old
+ * snapshot, which costs no requests at all. Without that knowledge refresh
+ * lists everything again.
+ * 
+ * The listings are done using a PartitionedObjectLister so large prefixes are
+ * listed in parallel.
+ */
+@Slf4j
+public class BucketInventoryExporter {
+	/**
+	 * the default number of ranges listed at the same time
+	 */
+	public static final int DEFAULT_PARALLELISM = PartitionedObjectLister.DEFAULT_PARALLELISM;
+	private static final String FIELDS = "name,size,md5,timeModified";
+
+	private final ObjectStorageProcessor objectStorageProcessor;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the number of ranges listed at the same time
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+
+	/**
+	 * creates an exporter for the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public BucketInventoryExporter(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * lists the objects under the prefix into a new snapshot, the file is only
+	 * replaced once the snapshot is complete
+	 * 
+	 * @param prefix       - if not null only objects under this are included
+	 * @param snapshotFile - must not be null
+	 * @return the snapshot
+	 * @throws IOException
+	 */
+	public InventorySnapshot export(String prefix, @NonNull Path snapshotFile) throws IOException {
+		long start = System.currentTimeMillis();
+		try (InventorySnapshot.Writer writer = new InventorySnapshot.Writer(snapshotFile, bucketName, prefix,
+				start)) {
+			addListing(prefix, writer);
+			InventorySnapshot snapshot = writer.finish();
+			log.debug("Exported " + snapshot.getEntryCount() + " objects from " + bucketName + " to " + snapshotFile
+					+ " in " + (System.currentTimeMillis() - start) + "ms");
+			return snapshot;
+		}
+	}
+
+	/**
+	 * brings the snapshot up to date, the objects under the changed prefixes are
+	 * listed again and the others are copied from the previous snapshot. The new
+	 * snapshot's time is when the refresh started, so it is only accurate if
+	 * nothing outside of the changed prefixes changed since the previous
+	 * snapshot was taken
+	 * 
+	 * @param previous        - must not be null, a snapshot of this bucket
+	 * @param changedPrefixes - the prefixes with objects that may have been
+	 *                        created, changed or deleted since the previous
+	 *                        snapshot, if null everything is listed again
+	 * @param snapshotFile    - must not be null, may be the file the previous
+	 *                        snapshot was loaded from
+	 * @return the new snapshot
+	 * @throws IOException
+	 */
+	public InventorySnapshot refresh(@NonNull InventorySnapshot previous, Collection<String> changedPrefixes,
+			@NonNull Path snapshotFile) throws IOException {
+		if (!bucketName.equals(previous.getBucketName())) {
+			throw new IllegalArgumentException(
+					"Snapshot is of bucket " + previous.getBucketName() + " not " + bucketName);
+		}
+		String snapshotPrefix = previous.getPrefix();
+		if (changedPrefixes == null) {
+			return export(snapshotPrefix, snapshotFile);
+		}
+		long start = System.currentTimeMillis();
+		List<ChangedRange> changedRanges = changedRanges(previous, changedPrefixes);
+		try (InventorySnapshot.Writer writer = new InventorySnapshot.Writer(snapshotFile, bucketName,
+				snapshotPrefix, start)) {
+			int copyFrom = 0;
+			for (ChangedRange changed : changedRanges) {
+				addAll(previous.stream(copyFrom, changed.from()), writer);
+				addListing(changed.prefix(), writer);
+				copyFrom = changed.to();
+			}
+			addAll(previous.stream(copyFrom, previous.getEntryCount()), writer);
+			InventorySnapshot snapshot = writer.finish();
+			log.debug("Refreshed " + changedRanges.size() + " prefixes of the snapshot of " + bucketName + " in "
+					+ snapshotFile + " in " + (System.currentTimeMillis() - start) + "ms, it now has "
+					+ snapshot.getEntryCount() + " objects");
+			return snapshot;
+		}
+	}
+
+	// the index ranges in the snapshot of the changed prefixes in snapshot order,
+	// a prefix covering the whole snapshot is clipped to it and those outside of it
+	// or inside another changed prefix are dropped
+	private List<ChangedRange> changedRanges(InventorySnapshot previous, Collection<String> changedPrefixes) {
+		String snapshotPrefix = previous.getPrefix();
+		List<String> prefixes = new ArrayList<>();
+		for (String changedPrefix : changedPrefixes) {
+			if (changedPrefix.startsWith(snapshotPrefix)) {
+				prefixes.add(changedPrefix);
+			} else if (snapshotPrefix.startsWith(changedPrefix)) {
+				prefixes.add(snapshotPrefix);
+			}
+		}
+		prefixes.sort((first, second) -> first.length() - second.length());
+		List<String> kept = new ArrayList<>();
+		for (String prefix : prefixes) {
+			if (kept.stream().noneMatch(shorter -> prefix.startsWith(shorter))) {
+				kept.add(prefix);
+			}
+		}
+		List<ChangedRange> ranges = new ArrayList<>(kept.size());
+		for (String prefix : kept) {
+			int[] range = previous.range(prefix);
+			ranges.add(new ChangedRange(prefix, range[0], range[1]));
+		}
+		// prefixes with nothing in the snapshot have empty ranges at the point they
+		// would be, these may share a start so the names break the tie
+		ranges.sort((first, second) -> first.from() != second.from() ? Integer.compare(first.from(), second.from())
+				: Arrays.compareUnsigned(first.prefix().getBytes(StandardCharsets.UTF_8),
+						second.prefix().getBytes(StandardCharsets.UTF_8)));
+		return ranges;
+	}
+
+	private void addListing(String prefix, InventorySnapshot.Writer writer) throws IOException {
+		PartitionedObjectLister lister = new PartitionedObjectLister(objectStorageProcessor, bucketName,
+				(prefix == null) || prefix.isEmpty() ? null : prefix);
+		lister.setFields(FIELDS);
+		lister.setParallelism(parallelism);
+		addAll(lister.stream(), writer);
+	}
+
+	private void addAll(Stream<ObjectSummary> objects, InventorySnapshot.Writer writer) throws IOException {
+		try (objects) {
+			Iterator<ObjectSummary> iterator = objects.iterator();
+			while (iterator.hasNext()) {
+				writer.add(iterator.next());
+			}
+		}
+	}
+
+	private record ChangedRange(String prefix, int from, int to) {
+	}
+}
@@ -0,0 +1,257 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+import com.oracle.bmc.objectstorage.requests.ListObjectsRequest;
+import com.oracle.bmc.objectstorage.responses.ListObjectsResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Works out the number of objects and bytes under each prefix of a bucket,
+ * like du does for a directory tree, without holding the listing in memory.
+ * 
+ * The prefixes directly under the one being aggregated are found with a
+ * delimiter listing and each of them is then listed in parallel asking only
+ * for the name and size. The listing is in name order so all of the names
+ * under a prefix arrive together, each listing keeps the count and bytes for
+ * the prefix it is currently in at each depth in arrays indexed by the depth
+ * and turns them into a node of the tree once the names move past it. Memory
+ * use is the size of the tree, which is limited by maxDepth, not the number of
+ * objects.
+ */
+@Slf4j
+public class BucketUsageAggregator {
+	/**
+	 * the default number of prefixes listed at the same time
+	 */
+	public static final int DEFAULT_PARALLELISM = 16;
+	/**
+	 * the default number of levels below the prefix aggregated that get their
+	 * own node in the tree
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 3;
+	private static final String FIELDS = "name,size";
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	private final String pathSeparatorInObjectStorage;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the number of prefixes listed at the same time
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of levels below the prefix aggregated that get their own node in
+	 * the tree, objects deeper than this are counted in their ancestor at this
+	 * depth. 0 gives just the totals
+	 */
+	@Getter
+	@Setter
+	private int maxDepth = DEFAULT_MAX_DEPTH;
+
+	/**
+	 * creates an aggregator for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public BucketUsageAggregator(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.pathSeparatorInObjectStorage = objectStorageProcessor.getPathSeparatorInObjectStorage();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * aggregates the objects under the prefix
+	 * 
+	 * @param prefix - if not null only objects starting with this are counted, it
+	 *               should normally end with the separator
+	 * @return the root of the rollup tree, its prefix is the one provided (or ""
+	 *         for the whole bucket)
+	 */
+	public PrefixUsage aggregate(String prefix) {
+		String rootPrefix = prefix == null ? "" : prefix;
+		long start = System.currentTimeMillis();
+		int depthLimit = Math.max(0, maxDepth);
+		Accumulator root = new Accumulator(rootPrefix, 0, 0);
+		List<String> topLevelPrefixes = new ArrayList<>();
+		ListObjectsRequest.Builder listObjectsBuilder = ListObjectsRequest.builder().bucketName(bucketName)
+				.namespaceName(namespace).delimiter(pathSeparatorInObjectStorage).fields(FIELDS);
+		if (prefix != null) {
+			listObjectsBuilder.prefix(prefix);
+		}
+		for (ListObjectsResponse page : objectstorageClient.getPaginators()
+				.listObjectsResponseIterator(listObjectsBuilder.build())) {
+			ListObjects listObjects = page.getListObjects();
+			listObjects.getObjects().forEach(object -> root.add(object));
+			if (listObjects.getPrefixes() != null) {
+				topLevelPrefixes.addAll(listObjects.getPrefixes());
+			}
+		}
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		List<Future<PrefixUsage>> rollups = new ArrayList<>(topLevelPrefixes.size());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (String topLevelPrefix : topLevelPrefixes) {
+				limiter.acquire();
+				rollups.add(executor.submit(() -> {
+					try {
+						return aggregateTopLevel(topLevelPrefix, Math.max(1, depthLimit));
+					} finally {
+						limiter.release();
+					}
+				}));
+			}
+			// the prefixes come back sorted so the children are in name order
+			for (Future<PrefixUsage> rollup : rollups) {
+				root.addChild(rollup.get(), depthLimit > 0);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted aggregating " + bucketName, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Problem aggregating " + bucketName, e.getCause());
+		}
+		PrefixUsage usage = root.finish();
+		log.debug("Aggregated " + usage.getObjectCount() + " objects in " + topLevelPrefixes.size()
+				+ " top level prefixes of " + bucketName + " in " + (System.currentTimeMillis() - start) + "ms");
+		return usage;
+	}
+
+	private PrefixUsage aggregateTopLevel(String topLevelPrefix, int depthLimit) {
+		Accumulator accumulator = new Accumulator(topLevelPrefix, 1, depthLimit);
+		ListObjectsRequest request = ListObjectsRequest.builder().bucketName(bucketName).namespaceName(namespace)
+				.prefix(topLevelPrefix).fields(FIELDS).build();
+		for (ListObjectsResponse page : objectstorageClient.getPaginators().listObjectsResponseIterator(request)) {
+			page.getListObjects().getObjects().forEach(object -> accumulator.add(object));
+		}
+		return accumulator.finish();
+	}
+
+	/**
+	 * the totals for the prefixes the listing is currently in, one per depth from
+	 * the base down to the deepest open one
+	 */
+	private class Accumulator {
+		private final int base;
+		private final int depthLimit;
+		private final String[] prefixes;
+		private final long[] counts;
+		private final long[] bytes;
+		private final List<List<PrefixUsage>> children = new ArrayList<>();
+		private int open;
+
+		private Accumulator(String basePrefix, int base, int depthLimit) {
+			this.base = base;
+			this.depthLimit = Math.max(base, depthLimit);
+			this.prefixes = new String[this.depthLimit + 1];
+			this.counts = new long[this.depthLimit + 1];
+			this.bytes = new long[this.depthLimit + 1];
+			for (int depth = 0; depth <= this.depthLimit; depth++) {
+				children.add(new ArrayList<>());
+			}
+			this.open = base;
+			prefixes[base] = basePrefix;
+		}
+
+		private void add(ObjectSummary object) {
+			String name = object.getName();
+			// the names are sorted, so once a name is outside a prefix no later one is
+			// in it
+			while ((open > base) && !name.startsWith(prefixes[open])) {
+				close();
+			}
+			while (open < depthLimit) {
+				int separator = name.indexOf(pathSeparatorInObjectStorage, prefixes[open].length());
+				if (separator < 0) {
+					break;
+				}
+				open++;
+				prefixes[open] = name.substring(0, separator + pathSeparatorInObjectStorage.length());
+				counts[open] = 0;
+				bytes[open] = 0;
+				children.set(open, new ArrayList<>());
+			}
+			counts[open]++;
+			bytes[open] += object.getSize() == null ? 0 : object.getSize();
+		}
+
+		// the child's totals are always added, the node itself only if it's wanted
+		private void addChild(PrefixUsage child, boolean keep) {
+			if (keep) {
+				children.get(open).add(child);
+			}
+			counts[open] += child.getObjectCount();
+			bytes[open] += child.getTotalBytes();
+		}
+
+		private void close() {
+			PrefixUsage node = new PrefixUsage(prefixes[open], open, counts[open], bytes[open], children.get(open));
+			open--;
+			addChild(node, true);
+		}
+
+		private PrefixUsage finish() {
+			while (open > base) {
+				close();
+			}
+			return new PrefixUsage(prefixes[base], base, counts[base], bytes[base], children.get(base));
+		}
+	}
+}
@@ -0,0 +1,454 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.CopyObjectDetails;
+import com.oracle.bmc.objectstorage.model.RenameObjectDetails;
+import com.oracle.bmc.objectstorage.model.WorkRequest;
+import com.oracle.bmc.objectstorage.model.WorkRequestError;
+import com.oracle.bmc.objectstorage.requests.CopyObjectRequest;
+import com.oracle.bmc.objectstorage.requests.GetWorkRequestRequest;
+import com.oracle.bmc.objectstorage.requests.ListWorkRequestErrorsRequest;
+import com.oracle.bmc.objectstorage.requests.RenameObjectRequest;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copies or renames objects using the server side CopyObject and RenameObject
+ * operations so none of the data passes through this client. Like
+ * BulkObjectDeleter the names are consumed from a stream so the work can start
+ * while the names are still being listed, and the number of requests in flight
+ * is controlled by an AdaptiveConcurrencyLimiter.
+ * 
+ * A CopyObject request returns straight away with a work request that does the
+ * copy in the background, rather than having a thread wait on each of these a
+ * single poller cycles through all of the outstanding work requests. A copy
+ * holds its place in the limiter until its work request has finished, so
+ * parallelism limits the number of copies actually running in the service.
+ * 
+ * Renames are only possible within a bucket and are synchronous.
+ */
+@Slf4j
+public class BulkObjectCopier {
+	/**
+	 * the default maximum number of copies or renames in flight
+	 */
+	public static final int DEFAULT_PARALLELISM = 32;
+	/**
+	 * the default number of times a request is tried before giving up
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 8;
+	/**
+	 * the default time between checks of the outstanding copy work requests
+	 */
+	public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	private final String sourceRegion;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the maximum number of copies or renames in flight
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a request is tried before it's reported as failed
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	/**
+	 * the time between checks of the outstanding copy work requests
+	 */
+	@Getter
+	@Setter
+	private long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+	/**
+	 * the region copies are made to, if null they are made in the same region
+	 */
+	@Getter
+	@Setter
+	private String destinationRegion;
+	/**
+	 * the namespace copies are made to, if null the namespace of the source is
+	 * used
+	 */
+	@Getter
+	@Setter
+	private String destinationNamespace;
+	/**
+	 * if true (the default) existing destination objects are replaced, if false
+	 * they are reported as failures
+	 */
+	@Getter
+	@Setter
+	private boolean overwrite = true;
+
+	/**
+	 * creates a copier for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null, the bucket holding the
+	 *                               source objects
+	 */
+	public BulkObjectCopier(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.sourceRegion = objectStorageProcessor.getRegionName();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * copies the named objects to the destination bucket, returning once all of
+	 * the copies have finished. The stream is closed when this returns
+	 * 
+	 * @param objectNames           - must not be null, the full names of the
+	 *                              objects to copy
+	 * @param destinationBucketName - must not be null, may be the source bucket
+	 * @param nameMapper            - must not be null, gives the destination name
+	 *                              for each source name
+	 * @return a report of what was copied, missing or failed
+	 */
+	public ObjectCopyReport copy(@NonNull Stream<String> objectNames, @NonNull String destinationBucketName,
+			@NonNull UnaryOperator<String> nameMapper) {
+		ObjectCopyReport report = new ObjectCopyReport(ObjectCopyReport.Operation.COPY, bucketName,
+				destinationBucketName);
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		Map<String, PendingCopy> pending = new ConcurrentHashMap<>();
+		AtomicInteger outstanding = new AtomicInteger();
+		AtomicBoolean allSubmitted = new AtomicBoolean();
+		try (objectNames; ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			executor.submit(() -> pollWorkRequests(pending, outstanding, allSubmitted, limiter, report));
+			try {
+				Iterator<String> names = objectNames.iterator();
+				while (names.hasNext()) {
+					String objectName = names.next();
+					String destinationName = nameMapper.apply(objectName);
+					// the slot is released by the poller once the work request has finished
+					limiter.acquire();
+					outstanding.incrementAndGet();
+					executor.submit(() -> {
+						String workRequestId = null;
+						try {
+							workRequestId = startCopyWithRetry(objectName, destinationBucketName, destinationName,
+									limiter, report);
+						} finally {
+							if (workRequestId == null) {
+								finished(outstanding, limiter);
+							} else {
+								pending.put(workRequestId, new PendingCopy(objectName, destinationName));
+							}
+						}
+					});
+				}
+			} finally {
+				// closing the executor waits for the poller which waits for the copies
+				allSubmitted.set(true);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted copying objects from bucket " + bucketName);
+		}
+		report.finished();
+		log.debug(report.toString());
+		return report;
+	}
+
+	/**
+	 * renames the named objects within the bucket, returning once all of the
+	 * renames have finished. The stream is closed when this returns
+	 * 
+	 * @param objectNames - must not be null, the full names of the objects to
+	 *                    rename
+	 * @param nameMapper  - must not be null, gives the new name for each name
+	 * @return a report of what was renamed, missing or failed
+	 */
+	public ObjectCopyReport rename(@NonNull Stream<String> objectNames, @NonNull UnaryOperator<String> nameMapper) {
+		ObjectCopyReport report = new ObjectCopyReport(ObjectCopyReport.Operation.RENAME, bucketName, bucketName);
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		try (objectNames; ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Iterator<String> names = objectNames.iterator();
+			while (names.hasNext()) {
+				String objectName = names.next();
+				String newName = nameMapper.apply(objectName);
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						renameWithRetry(objectName, newName, limiter, report);
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted renaming objects in bucket " + bucketName);
+		}
+		report.finished();
+		log.debug(report.toString());
+		return report;
+	}
+
+	private void finished(AtomicInteger outstanding, AdaptiveConcurrencyLimiter limiter) {
+		outstanding.decrementAndGet();
+		limiter.release();
+	}
+
+	// returns the work request id, or null if the copy could not be started in
+	// which case the report has been updated
+	private String startCopyWithRetry(String objectName, String destinationBucketName, String destinationName,
+			AdaptiveConcurrencyLimiter limiter, ObjectCopyReport report) {
+		CopyObjectDetails.Builder details = CopyObjectDetails.builder().sourceObjectName(objectName)
+				.destinationRegion(destinationRegion == null ? sourceRegion : destinationRegion)
+				.destinationNamespace(destinationNamespace == null ? namespace : destinationNamespace)
+				.destinationBucket(destinationBucketName).destinationObjectName(destinationName);
+		if (!overwrite) {
+			details.destinationObjectIfNoneMatchETag("*");
+		}
+		CopyObjectRequest request = CopyObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+				.copyObjectDetails(details.build()).retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION)
+				.build();
+		for (int attempt = 1;; attempt++) {
+			try {
+				return objectstorageClient.copyObject(request).getOpcWorkRequestId();
+			} catch (BmcException e) {
+				if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+					report.recordMissing(objectName);
+					return null;
+				}
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					log.warn("Can't copy object " + objectName + ", msg is " + e.getLocalizedMessage());
+					report.recordFailed(objectName, e);
+					return null;
+				}
+				if (e.getStatusCode() == TOO_MANY_REQUESTS) {
+					report.recordThrottled();
+				}
+			} catch (RuntimeException e) {
+				log.warn("Can't copy object " + objectName + ", msg is " + e.getLocalizedMessage());
+				report.recordFailed(objectName, e);
+				return null;
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				report.recordFailed(objectName, ie);
+				return null;
+			}
+		}
+	}
+
+	private void pollWorkRequests(Map<String, PendingCopy> pending, AtomicInteger outstanding,
+			AtomicBoolean allSubmitted, AdaptiveConcurrencyLimiter limiter, ObjectCopyReport report) {
+		// one thread checks all of the copies in turn, the copies themselves are done
+		// by the service so there is nothing for a thread per copy to do but wait
+		// only this thread releases the slots of started copies, so whatever goes
+		// wrong here the copies must be taken out of pending and their slots released
+		// or the submit loop waits for a slot forever
+		while (!allSubmitted.get() || (outstanding.get() > 0)) {
+			try {
+				Thread.sleep(pollIntervalMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failPending(pending, outstanding, limiter, report, "Interrupted waiting for copy work request", e);
+				return;
+			}
+			try {
+				for (Map.Entry<String, PendingCopy> entry : pending.entrySet()) {
+					boolean done;
+					try {
+						done = pollWorkRequest(entry.getKey(), entry.getValue(), limiter, report);
+					} catch (Throwable e) {
+						log.warn("Can't check copy work request " + entry.getKey() + " for object "
+								+ entry.getValue().sourceName() + ", msg is " + e.getLocalizedMessage());
+						report.recordFailed(entry.getValue().sourceName(),
+								new IOException("Can't check copy work request " + entry.getKey() + ", msg is "
+										+ e.getLocalizedMessage(), e));
+						done = true;
+					}
+					if (done && (pending.remove(entry.getKey()) != null)) {
+						finished(outstanding, limiter);
+					}
+				}
+			} catch (Throwable e) {
+				failPending(pending, outstanding, limiter, report, "Failed checking copy work request", e);
+			}
+		}
+	}
+
+	private void failPending(Map<String, PendingCopy> pending, AtomicInteger outstanding,
+			AdaptiveConcurrencyLimiter limiter, ObjectCopyReport report, String message, Throwable cause) {
+		log.warn("Reporting " + pending.size() + " copies in progress as failed, msg is "
+				+ cause.getLocalizedMessage());
+		for (String workRequestId : pending.keySet()) {
+			PendingCopy copy = pending.remove(workRequestId);
+			if (copy != null) {
+				report.recordFailed(copy.sourceName(), new IOException(message + " " + workRequestId, cause));
+				finished(outstanding, limiter);
+			}
+		}
+	}
+
+	// returns true if the work request has finished, in which case the report has
+	// been updated
+	private boolean pollWorkRequest(String workRequestId, PendingCopy copy, AdaptiveConcurrencyLimiter limiter,
+			ObjectCopyReport report) {
+		WorkRequest workRequest;
+		try {
+			workRequest = objectstorageClient.getWorkRequest(GetWorkRequestRequest.builder()
+					.workRequestId(workRequestId).retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION)
+					.build()).getWorkRequest();
+		} catch (BmcException e) {
+			if (limiter.retryable(e)) {
+				// we'll look again next time round
+				if (e.getStatusCode() == TOO_MANY_REQUESTS) {
+					report.recordThrottled();
+				}
+				return false;
+			}
+			log.warn("Can't get copy work request " + workRequestId + " for object " + copy.sourceName() + ", msg is "
+					+ e.getLocalizedMessage());
+			report.recordFailed(copy.sourceName(), e);
+			return true;
+		}
+		switch (workRequest.getStatus()) {
+		case Completed:
+			limiter.succeeded();
+			report.recordCompleted(copy.sourceName(), copy.destinationName());
+			return true;
+		case Failed:
+		case Canceled:
+			String errors = workRequestErrors(workRequestId);
+			log.warn("Copy of object " + copy.sourceName() + " to " + copy.destinationName() + " "
+					+ workRequest.getStatus() + ", " + errors);
+			report.recordFailed(copy.sourceName(), new IOException(
+					"Copy work request " + workRequestId + " " + workRequest.getStatus() + ", " + errors));
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private String workRequestErrors(String workRequestId) {
+		try {
+			List<WorkRequestError> errors = objectstorageClient
+					.listWorkRequestErrors(ListWorkRequestErrorsRequest.builder().workRequestId(workRequestId).build())
+					.getItems();
+			if ((errors == null) || errors.isEmpty()) {
+				return "no errors reported";
+			}
+			return errors.stream().map(error -> error.getCode() + ": " + error.getMessage())
+					.collect(Collectors.joining(", "));
+		} catch (BmcException e) {
+			return "can't get errors, msg is " + e.getLocalizedMessage();
+		}
+	}
+
+	private void renameWithRetry(String objectName, String newName, AdaptiveConcurrencyLimiter limiter,
+			ObjectCopyReport report) {
+		RenameObjectDetails.Builder details = RenameObjectDetails.builder().sourceName(objectName).newName(newName);
+		if (!overwrite) {
+			details.newObjIfNoneMatchETag("*");
+		}
+		RenameObjectRequest request = RenameObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+				.renameObjectDetails(details.build()).retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION)
+				.build();
+		for (int attempt = 1;; attempt++) {
+			try {
+				objectstorageClient.renameObject(request);
+				limiter.succeeded();
+				report.recordCompleted(objectName, newName);
+				return;
+			} catch (BmcException e) {
+				if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+					report.recordMissing(objectName);
+					return;
+				}
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					log.warn("Can't rename object " + objectName + " to " + newName + ", msg is "
+							+ e.getLocalizedMessage());
+					report.recordFailed(objectName, e);
+					return;
+				}
+				if (e.getStatusCode() == TOO_MANY_REQUESTS) {
+					report.recordThrottled();
+				}
+			} catch (RuntimeException e) {
+				log.warn("Can't rename object " + objectName + " to " + newName + ", msg is "
+						+ e.getLocalizedMessage());
+				report.recordFailed(objectName, e);
+				return;
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				report.recordFailed(objectName, ie);
+				return;
+			}
+		}
+	}
+
+	private record PendingCopy(String sourceName, String destinationName) {
+	}
+}
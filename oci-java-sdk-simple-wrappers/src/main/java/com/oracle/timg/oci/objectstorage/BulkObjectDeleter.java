@@ -0,0 +1,182 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.DeleteObjectRequest;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes objects in parallel on virtual threads. The names are consumed from a
+ * stream so deletes can start while the names are still being listed, the
+ * stream is only read as fast as the deletes are being made so memory use does
+ * not depend on the number of objects.
+ * 
+ * The number of deletes in flight is controlled by an
+ * AdaptiveConcurrencyLimiter, throttled (429) and server side (5xx) failures
+ * are retried with a backoff, objects that no longer exist are reported as
+ * missing.
+ */
+@Slf4j
+public class BulkObjectDeleter {
+	/**
+	 * the default maximum number of deletes in flight
+	 */
+	public static final int DEFAULT_PARALLELISM = 32;
+	/**
+	 * the default number of times a delete is tried before giving up
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 8;
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the maximum number of deletes in flight
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a delete is tried before it's reported as failed
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	/**
+	 * creates a deleter for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public BulkObjectDeleter(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * deletes the named objects, returning once all of the deletes have finished.
+	 * The stream is closed when this returns
+	 * 
+	 * @param objectNames - must not be null, the full names of the objects to
+	 *                    delete
+	 * @return a report of what was deleted, missing or failed
+	 */
+	public ObjectDeletionReport delete(@NonNull Stream<String> objectNames) {
+		ObjectDeletionReport report = new ObjectDeletionReport(bucketName);
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		try (objectNames; ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Iterator<String> names = objectNames.iterator();
+			while (names.hasNext()) {
+				String objectName = names.next();
+				// waiting here means we only read names as fast as we can delete them
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						deleteWithRetry(objectName, limiter, report);
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+			// closing the executor waits for the deletes in flight
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted deleting objects in bucket " + bucketName);
+		}
+		report.finished();
+		log.debug(report.toString());
+		return report;
+	}
+
+	private void deleteWithRetry(String objectName, AdaptiveConcurrencyLimiter limiter,
+			ObjectDeletionReport report) {
+		// we do our own retries so we can adjust the concurrency when throttled
+		DeleteObjectRequest request = DeleteObjectRequest.builder().bucketName(bucketName).objectName(objectName)
+				.namespaceName(namespace).retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION).build();
+		for (int attempt = 1;; attempt++) {
+			try {
+				objectstorageClient.deleteObject(request);
+				limiter.succeeded();
+				report.recordDeleted(objectName);
+				return;
+			} catch (BmcException e) {
+				if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+					report.recordMissing(objectName);
+					return;
+				}
+				if (e.getStatusCode() == TOO_MANY_REQUESTS) {
+					report.recordThrottled();
+				}
+				// this also reduces the concurrency if we were throttled
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					log.warn("Can't delete object " + objectName + ", msg is " + e.getLocalizedMessage());
+					report.recordFailed(objectName, e);
+					return;
+				}
+				try {
+					limiter.backoff(attempt);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					report.recordFailed(objectName, ie);
+					return;
+				}
+			} catch (RuntimeException e) {
+				log.warn("Can't delete object " + objectName + ", msg is " + e.getLocalizedMessage());
+				report.recordFailed(objectName, e);
+				return;
+			}
+		}
+	}
+}
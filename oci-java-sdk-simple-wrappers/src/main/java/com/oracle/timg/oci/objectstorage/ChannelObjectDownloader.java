@@ -0,0 +1,193 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Downloads an object straight into a channel. The SDK returns the object
+ * contents as an InputStream so one copy out of it can't be avoided, but after
+ * that the data goes directly to the target. For a FileChannel target the copy
+ * is done with transferFrom so the JDK can use the most efficient route into
+ * the file, for any other channel a single reused direct buffer is used so
+ * writing it doesn't need another copy into a temporary direct buffer.
+ */
+@Slf4j
+public class ChannelObjectDownloader {
+	/**
+	 * the default size of the buffer used for each copy
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the most bytes copied in each transfer or buffer
+	 */
+	@Getter
+	@Setter
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	/**
+	 * if true objects with a Content-Encoding of one of the ObjectCompression
+	 * codecs are decompressed as they are written, the number of bytes returned
+	 * is then the uncompressed size
+	 */
+	@Getter
+	@Setter
+	private boolean decompress = false;
+
+	/**
+	 * creates a downloader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public ChannelObjectDownloader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * downloads the object to the target file, creating it or replacing its
+	 * contents. The parent directory of the target must exist
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param target     - must not be null
+	 * @return the number of bytes downloaded
+	 * @throws IOException if the download fails
+	 */
+	public long download(@NonNull String objectName, @NonNull Path target) throws IOException {
+		try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			return download(objectName, channel);
+		}
+	}
+
+	/**
+	 * downloads the object writing it to the target, for a FileChannel the data is
+	 * written from its current position which is moved to the end of the data.
+	 * The caller is responsible for closing the target
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param target     - must not be null, must be in blocking mode
+	 * @return the number of bytes downloaded
+	 * @throws IOException if the download fails
+	 */
+	public long download(@NonNull String objectName, @NonNull WritableByteChannel target) throws IOException {
+		GetObjectResponse response;
+		try {
+			response = objectstorageClient.getObject(GetObjectRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).build());
+		} catch (BmcException e) {
+			throw new IOException("Can't download object " + objectName + " in bucket " + bucketName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+		long start = System.currentTimeMillis();
+		long copied;
+		boolean decompressing = decompress
+				&& (ObjectCompression.forContentEncoding(response.getContentEncoding()) != ObjectCompression.NONE);
+		try (InputStream contents = decompressing
+				? ObjectCompression.decompress(response.getContentEncoding(), response.getInputStream())
+				: response.getInputStream()) {
+			ReadableByteChannel source = Channels.newChannel(contents);
+			// the content length is of the compressed data so can't be used to transfer
+			if ((target instanceof FileChannel fileChannel) && (response.getContentLength() != null)
+					&& !decompressing) {
+				copied = transfer(objectName, source, fileChannel, response.getContentLength());
+			} else {
+				copied = copy(source, target);
+			}
+		}
+		log.debug("Downloaded " + copied + " bytes of object " + objectName + " in bucket " + bucketName + " in "
+				+ (System.currentTimeMillis() - start) + "ms");
+		return copied;
+	}
+
+	private long transfer(String objectName, ReadableByteChannel source, FileChannel target, long length)
+			throws IOException {
+		long position = target.position();
+		long copied = 0;
+		while (copied < length) {
+			long transferred = target.transferFrom(source, position + copied,
+					Math.min(Math.max(1, bufferSize), length - copied));
+			if (transferred == 0) {
+				throw new IOException(
+						"Object " + objectName + " ended after " + copied + " bytes but expected " + length);
+			}
+			copied += transferred;
+		}
+		// transferFrom doesn't move the position
+		target.position(position + copied);
+		return copied;
+	}
+
+	private long copy(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(1, bufferSize));
+		long copied = 0;
+		while (source.read(buffer) != -1) {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				copied += target.write(buffer);
+			}
+			buffer.clear();
+		}
+		return copied;
+	}
+}
@@ -0,0 +1,158 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Describes a file stored as content addressed chunks, the chunks are listed in
+ * order with their SHA-256 hashes (which are also their object names under the
+ * chunk prefix) and lengths.
+ * 
+ * In object storage it's a small text object with a header line, the size,
+ * the chunk prefix and then a line per chunk, so it can be looked at with
+ * standard tools.
+ */
+public class ChunkManifest {
+	private static final String HEADER = "oci-chunk-manifest 1";
+
+	/**
+	 * a chunk of the file
+	 * 
+	 * @param hash   the lower case hex SHA-256 of the chunk
+	 * @param length the length of the chunk
+	 */
+	public record Chunk(String hash, long length) {
+	}
+
+	@Getter
+	private final long size;
+	@Getter
+	private final String chunkPrefix;
+	@Getter
+	private final List<Chunk> chunks;
+
+	/**
+	 * @param chunkPrefix - must not be null, the prefix of the chunk object names
+	 * @param chunks      - must not be null, the chunks in file order
+	 */
+	public ChunkManifest(@NonNull String chunkPrefix, @NonNull List<Chunk> chunks) {
+		this.chunkPrefix = chunkPrefix;
+		this.chunks = Collections.unmodifiableList(new ArrayList<>(chunks));
+		this.size = chunks.stream().mapToLong(chunk -> chunk.length()).sum();
+	}
+
+	/**
+	 * @param chunk - must not be null
+	 * @return the name of the object holding the chunk
+	 */
+	public String chunkObjectName(@NonNull Chunk chunk) {
+		return chunkPrefix + chunk.hash();
+	}
+
+	/**
+	 * @return the manifest in the form stored in object storage
+	 */
+	public byte[] toBytes() {
+		StringBuilder text = new StringBuilder(HEADER).append('\n');
+		text.append("size ").append(size).append('\n');
+		text.append("chunkPrefix ").append(chunkPrefix).append('\n');
+		for (Chunk chunk : chunks) {
+			text.append(chunk.hash()).append(' ').append(chunk.length()).append('\n');
+		}
+		return text.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * reads a manifest in the form written by toBytes
+	 * 
+	 * @param contents - must not be null, this is read to the end but not closed
+	 * @return the manifest
+	 * @throws IOException if the data is not a valid manifest
+	 */
+	public static ChunkManifest read(@NonNull InputStream contents) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(contents, StandardCharsets.UTF_8));
+		if (!HEADER.equals(reader.readLine())) {
+			throw new IOException("Not a chunk manifest");
+		}
+		long size = number(value(reader.readLine(), "size"));
+		String chunkPrefix = value(reader.readLine(), "chunkPrefix");
+		List<Chunk> chunks = new ArrayList<>();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isEmpty()) {
+				continue;
+			}
+			int space = line.indexOf(' ');
+			if (space < 0) {
+				throw new IOException("Invalid chunk line " + line);
+			}
+			chunks.add(new Chunk(line.substring(0, space), number(line.substring(space + 1))));
+		}
+		ChunkManifest manifest = new ChunkManifest(chunkPrefix, chunks);
+		if (manifest.getSize() != size) {
+			throw new IOException("Chunk manifest says the size is " + size + " but the chunks add up to "
+					+ manifest.getSize());
+		}
+		return manifest;
+	}
+
+	private static long number(String text) throws IOException {
+		try {
+			return Long.parseLong(text);
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid number " + text + " in chunk manifest", e);
+		}
+	}
+
+	private static String value(String line, String name) throws IOException {
+		if ((line == null) || !line.startsWith(name + " ")) {
+			throw new IOException("Chunk manifest is missing " + name);
+		}
+		return line.substring(name.length() + 1);
+	}
+}
@@ -0,0 +1,129 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds chunk boundaries from the content of the data rather than at fixed
+ * offsets, so inserting or removing bytes only changes the chunks around the
+ * edit and the rest of the chunks (and their hashes) stay the same.
+ * 
+ * This is the FastCDC approach, a gear rolling hash is updated for each byte
+ * and a boundary is declared when the top bits of the hash are all zero. Below
+ * the average size more bits have to be zero and above it fewer, which keeps
+ * the chunk sizes close to the average. No boundary is looked for before the
+ * minimum size and one is forced at the maximum.
+ * 
+ * The gear table is generated from a fixed seed, it must never change or
+ * previously stored chunks would no longer match.
+ */
+class ContentDefinedChunker {
+	private static final long[] GEAR = new long[256];
+	static {
+		// splitmix64, written out rather than using SplittableRandom so the table
+		// can't change with the JDK
+		long state = 0x4f43492d43444321L;
+		for (int i = 0; i < GEAR.length; i++) {
+			state += 0x9e3779b97f4a7c15L;
+			long value = state;
+			value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+			value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+			GEAR[i] = value ^ (value >>> 31);
+		}
+	}
+
+	private final int minSize;
+	private final int averageSize;
+	private final int maxSize;
+	private final long smallMask;
+	private final long largeMask;
+
+	ContentDefinedChunker(int minSize, int averageSize, int maxSize) {
+		if ((minSize < 64) || (averageSize <= minSize) || (maxSize <= averageSize)) {
+			throw new IllegalArgumentException("Chunk sizes must be at least 64 and min < average < max, they were "
+					+ minSize + ", " + averageSize + ", " + maxSize);
+		}
+		this.minSize = minSize;
+		this.averageSize = averageSize;
+		this.maxSize = maxSize;
+		int bits = 31 - Integer.numberOfLeadingZeros(averageSize);
+		this.smallMask = topBits(bits + 1);
+		this.largeMask = topBits(bits - 1);
+	}
+
+	private static long topBits(int count) {
+		return count <= 0 ? 0 : -1L << (64 - Math.min(63, count));
+	}
+
+	int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * works out the length of the chunk starting at the buffer's position, the
+	 * buffer is not changed
+	 * 
+	 * @param data - the remaining bytes must be at least the max size unless
+	 *             they are the end of the data
+	 * @return the length of the chunk, at most the number of remaining bytes
+	 */
+	int cut(ByteBuffer data) {
+		int start = data.position();
+		int available = data.remaining();
+		if (available <= minSize) {
+			return available;
+		}
+		int end = Math.min(available, maxSize);
+		int normal = Math.min(end, averageSize);
+		long hash = 0;
+		int i = minSize;
+		for (; i < normal; i++) {
+			hash = (hash << 1) + GEAR[data.get(start + i) & 0xff];
+			if ((hash & smallMask) == 0) {
+				return i + 1;
+			}
+		}
+		for (; i < end; i++) {
+			hash = (hash << 1) + GEAR[data.get(start + i) & 0xff];
+			if ((hash & largeMask) == 0) {
+				return i + 1;
+			}
+		}
+		return end;
+	}
+}
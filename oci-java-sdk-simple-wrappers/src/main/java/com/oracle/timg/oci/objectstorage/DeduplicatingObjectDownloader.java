@@ -0,0 +1,272 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts back together a file uploaded by DeduplicatingObjectUploader. The
+ * manifest is read then the chunks are fetched in parallel and written
+ * directly to their places in a preallocated file, a chunk used more than once
+ * in the file is only fetched once. Each chunk is checked against its SHA-256
+ * before it's written.
+ * 
+ * The data is written to a temporary file next to the target which is renamed
+ * into place once all of the chunks are there.
+ */
+@Slf4j
+public class DeduplicatingObjectDownloader {
+	/**
+	 * the default number of chunks being fetched at once
+	 */
+	public static final int DEFAULT_PARALLELISM = 16;
+	/**
+	 * the default number of times a chunk is tried before the download fails
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the maximum number of chunks being fetched at once
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a chunk is tried before the download fails
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	/**
+	 * creates a downloader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public DeduplicatingObjectDownloader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * reads the manifest
+	 * 
+	 * @param objectName - must not be null, the name of the manifest object
+	 * @return the manifest
+	 * @throws IOException if it can't be read or is not a manifest
+	 */
+	public ChunkManifest readManifest(@NonNull String objectName) throws IOException {
+		try (InputStream contents = objectstorageClient.getObject(GetObjectRequest.builder().namespaceName(namespace)
+				.bucketName(bucketName).objectName(objectName).build()).getInputStream()) {
+			return ChunkManifest.read(contents);
+		} catch (BmcException e) {
+			throw new IOException("Can't read chunk manifest " + objectName + " in bucket " + bucketName
+					+ ", msg is " + e.getLocalizedMessage(), e);
+		}
+	}
+
+	/**
+	 * downloads the file to the target, replacing the target if it already exists.
+	 * The parent directory of the target must exist
+	 * 
+	 * @param objectName - must not be null, the name of the manifest object
+	 * @param target     - must not be null
+	 * @return the size of the file
+	 * @throws IOException if the manifest or a chunk can't be read or a chunk does
+	 *                     not match its hash
+	 */
+	public long download(@NonNull String objectName, @NonNull Path target) throws IOException {
+		ChunkManifest manifest = readManifest(objectName);
+		// where each distinct chunk goes in the file
+		Map<String, List<Long>> positions = new LinkedHashMap<>();
+		Map<String, ChunkManifest.Chunk> distinct = new LinkedHashMap<>();
+		long position = 0;
+		for (ChunkManifest.Chunk chunk : manifest.getChunks()) {
+			positions.computeIfAbsent(chunk.hash(), hash -> new ArrayList<>()).add(position);
+			distinct.putIfAbsent(chunk.hash(), chunk);
+			position += chunk.length();
+		}
+		Path downloading = target.resolveSibling(target.getFileName() + RangedObjectDownloader.DOWNLOADING_SUFFIX);
+		long start = System.currentTimeMillis();
+		AtomicReference<IOException> failure = new AtomicReference<>();
+		Set<String> written = ConcurrentHashMap.newKeySet();
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		try {
+			try (FileChannel channel = FileChannel.open(downloading, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				if (manifest.getSize() > 0) {
+					// preallocate so the chunks can be written in any order
+					channel.write(ByteBuffer.wrap(new byte[1]), manifest.getSize() - 1);
+				}
+				try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+					for (ChunkManifest.Chunk chunk : distinct.values()) {
+						if (failure.get() != null) {
+							break;
+						}
+						limiter.acquire();
+						executor.submit(() -> {
+							try {
+								if (failure.get() == null) {
+									ByteBuffer data = fetchChunkWithRetry(manifest, chunk, limiter);
+									for (long chunkPosition : positions.get(chunk.hash())) {
+										ByteBuffer copy = data.duplicate();
+										long writePosition = chunkPosition;
+										while (copy.hasRemaining()) {
+											writePosition += channel.write(copy, writePosition);
+										}
+									}
+									written.add(chunk.hash());
+								}
+							} catch (IOException e) {
+								failure.compareAndSet(null, e);
+							} catch (RuntimeException e) {
+								failure.compareAndSet(null, new IOException("Can't download chunk " + chunk.hash()
+										+ " of " + objectName + ", msg is " + e.getLocalizedMessage(), e));
+							} finally {
+								limiter.release();
+							}
+						});
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failure.compareAndSet(null, new IOException("Interrupted downloading " + objectName, e));
+				}
+				if (failure.get() != null) {
+					throw failure.get();
+				}
+				// a chunk that wasn't written would leave the preallocated zeros in the file
+				if (written.size() != distinct.size()) {
+					throw new IOException("Only " + written.size() + " of the " + distinct.size() + " chunks of "
+							+ objectName + " were written, not replacing " + target);
+				}
+				channel.force(false);
+			}
+			Files.move(downloading, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(downloading);
+			throw e;
+		}
+		log.debug("Downloaded " + objectName + " in bucket " + bucketName + " (" + manifest.getChunks().size()
+				+ " chunks, " + distinct.size() + " distinct) to " + target + " in "
+				+ (System.currentTimeMillis() - start) + "ms");
+		return manifest.getSize();
+	}
+
+	private ByteBuffer fetchChunkWithRetry(ChunkManifest manifest, ChunkManifest.Chunk chunk,
+			AdaptiveConcurrencyLimiter limiter) throws IOException {
+		String chunkObjectName = manifest.chunkObjectName(chunk);
+		GetObjectRequest request = GetObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+				.objectName(chunkObjectName).build();
+		for (int attempt = 1;; attempt++) {
+			try (InputStream contents = objectstorageClient.getObject(request).getInputStream()) {
+				byte[] data = contents.readNBytes((int) chunk.length() + 1);
+				MessageDigest digest = DeduplicatingObjectUploader.sha256();
+				String hash = HexFormat.of().formatHex(digest.digest(data));
+				if ((data.length != chunk.length()) || !hash.equals(chunk.hash())) {
+					// the name is the hash so this is corruption not a version change, it won't
+					// get better by retrying
+					throw new ChunkMismatchException("Chunk " + chunkObjectName + " has " + data.length
+							+ " bytes with hash " + hash + " but expected " + chunk.length() + " bytes");
+				}
+				limiter.succeeded();
+				return ByteBuffer.wrap(data);
+			} catch (BmcException e) {
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					throw new IOException("Can't download chunk " + chunkObjectName + ", msg is "
+							+ e.getLocalizedMessage(), e);
+				}
+			} catch (ChunkMismatchException e) {
+				throw e;
+			} catch (IOException e) {
+				// usually the connection dropping part way through
+				if (attempt >= maxAttempts) {
+					throw e;
+				}
+				log.debug("Retrying chunk " + chunkObjectName + ", msg is " + e.getLocalizedMessage());
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted downloading chunk " + chunkObjectName, e);
+			}
+		}
+	}
+
+	private static class ChunkMismatchException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		private ChunkMismatchException(String message) {
+			super(message);
+		}
+	}
+}
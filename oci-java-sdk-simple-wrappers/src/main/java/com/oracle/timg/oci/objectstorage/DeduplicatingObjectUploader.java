@@ -0,0 +1,329 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads a file as content addressed chunks plus a small manifest, for large
+ * files that change a little between versions (VM images, database dumps and
+ * the like) only the chunks that have changed need to be sent.
+ * 
+ * The file is split with a ContentDefinedChunker so an insert or delete only
+ * changes the chunks around it, each chunk is stored as an object named by its
+ * SHA-256 under the chunk prefix. A HEAD request is made for each chunk and
+ * only the ones that don't exist are uploaded, the upload uses If-None-Match
+ * so two uploads sending the same chunk at the same time don't both write it.
+ * Chunks known to exist are remembered by the uploader so uploading several
+ * versions with the same uploader doesn't check the same chunks again.
+ * 
+ * The chunks are found and hashed on the calling thread while the checks and
+ * uploads of the earlier chunks run on virtual threads. The manifest is written
+ * last at the object name, DeduplicatingObjectDownloader puts the file back
+ * together. Chunks are never deleted by this as other manifests may use them.
+ */
+@Slf4j
+public class DeduplicatingObjectUploader {
+	/**
+	 * the default prefix of the chunk objects
+	 */
+	public static final String DEFAULT_CHUNK_PREFIX = ".chunks/";
+	/**
+	 * the default smallest chunk, only the last chunk of a file can be smaller
+	 */
+	public static final int DEFAULT_MIN_CHUNK_SIZE = 512 * 1024;
+	/**
+	 * the default size chunks are aimed at
+	 */
+	public static final int DEFAULT_AVERAGE_CHUNK_SIZE = 2 * 1024 * 1024;
+	/**
+	 * the default largest chunk
+	 */
+	public static final int DEFAULT_MAX_CHUNK_SIZE = 8 * 1024 * 1024;
+	/**
+	 * the default number of chunk checks or uploads in flight
+	 */
+	public static final int DEFAULT_PARALLELISM = 16;
+	/**
+	 * the default number of times a chunk upload is tried before giving up
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+	/**
+	 * what an upload did
+	 * 
+	 * @param objectName     the name of the manifest object
+	 * @param size           the size of the file
+	 * @param chunkCount     the number of chunks in the file
+	 * @param chunksUploaded the number of chunks that had to be uploaded
+	 * @param bytesUploaded  the number of bytes in the chunks that were uploaded
+	 */
+	public record Result(String objectName, long size, int chunkCount, int chunksUploaded, long bytesUploaded) {
+	}
+
+	private final ObjectStorageProcessor objectStorageProcessor;
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	private final Set<String> knownChunks = ConcurrentHashMap.newKeySet();
+	/**
+	 * the prefix of the chunk objects, files uploaded with the same prefix share
+	 * chunks
+	 */
+	@Getter
+	@Setter
+	private String chunkPrefix = DEFAULT_CHUNK_PREFIX;
+	/**
+	 * the smallest chunk
+	 */
+	@Getter
+	@Setter
+	private int minChunkSize = DEFAULT_MIN_CHUNK_SIZE;
+	/**
+	 * the size chunks are aimed at, changing this (or the min or max) means files
+	 * will chunk differently and share few chunks with ones uploaded before
+	 */
+	@Getter
+	@Setter
+	private int averageChunkSize = DEFAULT_AVERAGE_CHUNK_SIZE;
+	/**
+	 * the largest chunk
+	 */
+	@Getter
+	@Setter
+	private int maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
+	/**
+	 * the maximum number of chunk checks or uploads in flight
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a chunk upload is tried before the upload fails
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	/**
+	 * creates an uploader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace and checks if chunks exist
+	 * @param bucketName             - must not be null
+	 */
+	public DeduplicatingObjectUploader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * uploads the chunks of the file that are not already stored then writes the
+	 * manifest to the object name, replacing any existing object
+	 * 
+	 * @param objectName - must not be null, the name of the manifest object
+	 * @param file       - must not be null
+	 * @return what was uploaded
+	 * @throws IOException if the file can't be read or a chunk or the manifest
+	 *                     can't be uploaded
+	 */
+	public Result upload(@NonNull String objectName, @NonNull Path file) throws IOException {
+		ContentDefinedChunker chunker = new ContentDefinedChunker(minChunkSize, averageChunkSize, maxChunkSize);
+		MessageDigest digest = sha256();
+		List<ChunkManifest.Chunk> chunks = new ArrayList<>();
+		Set<String> submitted = ConcurrentHashMap.newKeySet();
+		Set<String> stored = ConcurrentHashMap.newKeySet();
+		AtomicInteger chunksUploaded = new AtomicInteger();
+		AtomicLong bytesUploaded = new AtomicLong();
+		AtomicReference<IOException> failure = new AtomicReference<>();
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		long start = System.currentTimeMillis();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+				ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			long size = channel.size();
+			long position = 0;
+			while ((position < size) && (failure.get() == null)) {
+				// the window is at least a max chunk unless it's the end of the file, so the
+				// chunker always has enough to work with
+				ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(chunker.getMaxSize(), size - position));
+				int length = chunker.cut(window);
+				ByteBuffer chunkData = window.slice(0, length);
+				digest.update(chunkData.duplicate());
+				String hash = HexFormat.of().formatHex(digest.digest());
+				chunks.add(new ChunkManifest.Chunk(hash, length));
+				position += length;
+				// a chunk that appears more than once in the file is only sent once
+				if (!submitted.add(hash)) {
+					continue;
+				}
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						if (failure.get() == null) {
+							if (storeChunk(hash, chunkData, limiter)) {
+								chunksUploaded.incrementAndGet();
+								bytesUploaded.addAndGet(length);
+							}
+							knownChunks.add(hash);
+							stored.add(hash);
+						}
+					} catch (IOException e) {
+						failure.compareAndSet(null, e);
+					} catch (RuntimeException e) {
+						failure.compareAndSet(null, new IOException(
+								"Can't store chunk " + hash + ", msg is " + e.getLocalizedMessage(), e));
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new IOException("Interrupted uploading " + file, e));
+		}
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		// the manifest must never point at a chunk that isn't in the bucket
+		if (stored.size() != submitted.size()) {
+			throw new IOException("Only " + stored.size() + " of the " + submitted.size() + " chunks of " + file
+					+ " were stored, not writing manifest " + objectName);
+		}
+		ChunkManifest manifest = new ChunkManifest(chunkPrefix, chunks);
+		writeManifest(objectName, manifest);
+		Result result = new Result(objectName, manifest.getSize(), chunks.size(), chunksUploaded.get(),
+				bytesUploaded.get());
+		log.debug("Uploaded " + file + " to " + objectName + " in bucket " + bucketName + " as " + result
+				+ " in " + (System.currentTimeMillis() - start) + "ms");
+		return result;
+	}
+
+	// returns true if the chunk was uploaded, false if it was already there
+	private boolean storeChunk(String hash, ByteBuffer chunkData, AdaptiveConcurrencyLimiter limiter)
+			throws IOException {
+		if (knownChunks.contains(hash)) {
+			return false;
+		}
+		String chunkObjectName = chunkPrefix + hash;
+		if (objectStorageProcessor.probeObject(bucketName, chunkObjectName).exists()) {
+			return false;
+		}
+		// if the check failed just upload it, If-None-Match stops us replacing it
+		for (int attempt = 1;; attempt++) {
+			try {
+				// the body is read by each attempt so needs a new stream each time
+				objectstorageClient.putObject(PutObjectRequest.builder().namespaceName(namespace)
+						.bucketName(bucketName).objectName(chunkObjectName)
+						.contentLength((long) chunkData.remaining()).ifNoneMatch("*")
+						.putObjectBody(new ByteBufferInputStream(chunkData))
+						.retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION).build());
+				limiter.succeeded();
+				objectStorageProcessor.objectWritten(bucketName, chunkObjectName);
+				return true;
+			} catch (BmcException e) {
+				if (e.getStatusCode() == HttpURLConnection.HTTP_PRECON_FAILED) {
+					// someone else stored it first, it's the same data so that's fine
+					return false;
+				}
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					throw new IOException("Can't upload chunk " + chunkObjectName + ", msg is "
+							+ e.getLocalizedMessage(), e);
+				}
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted uploading chunk " + chunkObjectName, e);
+			}
+		}
+	}
+
+	private void writeManifest(String objectName, ChunkManifest manifest) throws IOException {
+		byte[] bytes = manifest.toBytes();
+		try {
+			objectstorageClient.putObject(PutObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+					.objectName(objectName).contentLength((long) bytes.length)
+					.putObjectBody(new ByteArrayInputStream(bytes)).build());
+			objectStorageProcessor.objectWritten(bucketName, objectName);
+		} catch (BmcException e) {
+			throw new IOException("Can't write chunk manifest " + objectName + " in bucket " + bucketName
+					+ ", msg is " + e.getLocalizedMessage(), e);
+		}
+	}
+
+	static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import lombok.Getter;
+
+/**
+ * A fixed size pool of direct byte buffers, the buffers are only allocated
+ * when they are first needed and are then reused. Once all of them are in use
+ * take blocks until one is returned, so the memory used is never more than the
+ * capacity times the buffer size however many callers share the pool
+ */
+class DirectBufferPool {
+	@Getter
+	private final int capacity;
+	@Getter
+	private final int bufferSize;
+	private final LinkedBlockingQueue<ByteBuffer> free = new LinkedBlockingQueue<>();
+	private int allocated = 0;
+
+	DirectBufferPool(int capacity, int bufferSize) {
+		if ((capacity < 1) || (bufferSize < 1)) {
+			throw new IllegalArgumentException(
+					"capacity and buffer size must be at least 1, they were " + capacity + " and " + bufferSize);
+		}
+		this.capacity = capacity;
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * gets a cleared buffer, waiting for one to be returned if they are all in use
+	 * 
+	 * @return
+	 * @throws InterruptedException
+	 */
+	ByteBuffer take() throws InterruptedException {
+		ByteBuffer buffer = free.poll();
+		if (buffer == null) {
+			synchronized (this) {
+				if (allocated < capacity) {
+					allocated++;
+					return ByteBuffer.allocateDirect(bufferSize);
+				}
+			}
+			buffer = free.take();
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * returns a buffer obtained from take to the pool
+	 * 
+	 * @param buffer
+	 */
+	void give(ByteBuffer buffer) {
+		free.add(buffer);
+	}
+}
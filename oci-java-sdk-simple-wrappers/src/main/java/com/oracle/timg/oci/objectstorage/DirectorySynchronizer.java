@@ -0,0 +1,273 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Synchronizes a local directory tree to object storage, only uploading files
+ * that are new or have changed. The remote objects are listed once with their
+ * size, MD5 and modification time and compared with the local files, a file is
+ * unchanged if the size is the same and either the MD5 is the same or, for
+ * objects uploaded using multi part uploads (which don't have a simple MD5) or
+ * if checksums are not being compared, the object was modified after the local
+ * file was.
+ * 
+ * Objects are named in the same way as uploadDirectory, the object prefix
+ * followed by the path separator and the relative path of the file with the
+ * path separator between each directory. Optionally objects under the prefix
+ * that no longer have a local file can be deleted, be careful doing this with
+ * a null prefix as it applies to the whole bucket.
+ * 
+ * Hashing every local file on each run is expensive for large trees, if a
+ * manifest file is set a LocalFileManifest is refreshed before the sync and the
+ * MD5s are taken from it, so only files that have changed since the last run
+ * are hashed.
+ * 
+ * Files are always uploaded without compression, whatever the processors
+ * uploadCompression is, otherwise the sizes and MD5s of the objects would be
+ * those of the compressed data and every file would look changed.
+ */
+@Slf4j
+public class DirectorySynchronizer {
+	/**
+	 * the default number of files being compared or uploaded at once
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	/**
+	 * the fields requested when listing the remote objects
+	 */
+	public static final String SYNC_FIELDS = "name,size,md5,timeModified";
+	private final ObjectStorageProcessor objectStorageProcessor;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String objectPrefix;
+	/**
+	 * if true objects under the prefix that have no local file are deleted
+	 */
+	@Getter
+	@Setter
+	private boolean deleteOrphans = false;
+	/**
+	 * if true (the default) the MD5 of local files is compared with the remote
+	 * one when it's available, if false the sizes and modification times are used
+	 */
+	@Getter
+	@Setter
+	private boolean compareChecksums = true;
+	/**
+	 * the number of files being compared or uploaded at once
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * if not null the LocalFileManifest used to avoid rehashing unchanged files,
+	 * if it's in the directory being synchronized it is not uploaded
+	 */
+	@Getter
+	@Setter
+	private Path manifestFile;
+
+	/**
+	 * creates a synchronizer for the prefix in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, used for the listing and
+	 *                               uploads
+	 * @param bucketName             - must not be null
+	 * @param objectPrefix           - if not null the objects are named under this
+	 */
+	public DirectorySynchronizer(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			String objectPrefix) {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.bucketName = bucketName;
+		this.objectPrefix = objectPrefix;
+	}
+
+	/**
+	 * synchronizes the contents of the local directory to object storage
+	 * 
+	 * @param localDirectory - must not be null, must be a directory
+	 * @return what was uploaded, unchanged, failed and deleted
+	 * @throws IOException if the local directory can't be read
+	 */
+	public SyncReport sync(@NonNull Path localDirectory) throws IOException {
+		if (!Files.isDirectory(localDirectory)) {
+			throw new IOException(localDirectory + " is not a directory");
+		}
+		SyncReport report = new SyncReport(bucketName);
+		String separator = objectStorageProcessor.getPathSeparatorInObjectStorage();
+		String namePrefix = objectPrefix == null ? "" : objectPrefix + separator;
+		TreeMap<String, Path> localFiles = localFiles(localDirectory, namePrefix, separator);
+		LocalFileManifest manifest = null;
+		if (manifestFile != null) {
+			manifest = LocalFileManifest.load(manifestFile).refresh(manifestFile, localDirectory, parallelism);
+			localFiles.values().removeIf(path -> path.toAbsolutePath().normalize()
+					.equals(manifestFile.toAbsolutePath().normalize()));
+		}
+		LocalFileManifest md5Source = manifest;
+		List<String> orphans = new ArrayList<>();
+		Semaphore inFlight = new Semaphore(Math.max(1, parallelism));
+		try (Stream<ObjectSummary> remoteObjects = objectStorageProcessor.streamObjectsInBucket(bucketName,
+				objectPrefix == null ? null : namePrefix, null, null, SYNC_FIELDS);
+				ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			// the listing is only read as fast as we can process it
+			Iterator<ObjectSummary> remote = remoteObjects.iterator();
+			while (remote.hasNext()) {
+				ObjectSummary objectSummary = remote.next();
+				Path localFile = localFiles.remove(objectSummary.getName());
+				if (localFile == null) {
+					if (deleteOrphans) {
+						orphans.add(objectSummary.getName());
+					}
+					continue;
+				}
+				inFlight.acquire();
+				executor.submit(() -> {
+					try {
+						syncFile(objectSummary.getName(), localDirectory, localFile, objectSummary, md5Source,
+								report);
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+			// whatever is left has no remote object yet
+			for (Map.Entry<String, Path> newFile : localFiles.entrySet()) {
+				inFlight.acquire();
+				executor.submit(() -> {
+					try {
+						syncFile(newFile.getKey(), localDirectory, newFile.getValue(), null, md5Source, report);
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted synchronizing " + localDirectory, e);
+		}
+		if (deleteOrphans) {
+			BulkObjectDeleter deleter = new BulkObjectDeleter(objectStorageProcessor, bucketName);
+			deleter.setParallelism(objectStorageProcessor.getDeleteParallelism());
+			report.setOrphanDeletionReport(deleter.delete(orphans.stream()));
+		}
+		report.finished();
+		log.debug(report.toString());
+		return report;
+	}
+
+	private void syncFile(String objectName, Path localDirectory, Path localFile, ObjectSummary remote,
+			LocalFileManifest manifest, SyncReport report) {
+		try {
+			long size = Files.size(localFile);
+			if ((remote != null) && unchanged(localDirectory, localFile, size, remote, manifest)) {
+				report.recordUnchanged();
+				return;
+			}
+			log.debug("Uploading " + (remote == null ? "new" : "changed") + " file " + localFile + " to "
+					+ objectName);
+			// uncompressed so the next sync can compare the object size and MD5 with the file
+			objectStorageProcessor.uploadFile(bucketName, null, objectName, localFile.toFile(),
+					ObjectCompression.NONE);
+			report.recordUploaded(objectName, size);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Can't synchronize " + localFile + " to " + objectName + ", msg is " + e.getLocalizedMessage());
+			report.recordFailed(objectName, e);
+		}
+	}
+
+	private boolean unchanged(Path localDirectory, Path localFile, long size, ObjectSummary remote,
+			LocalFileManifest manifest) throws IOException {
+		if ((remote.getSize() == null) || (remote.getSize() != size)) {
+			return false;
+		}
+		String remoteMd5 = remote.getMd5();
+		// multi part uploads have an MD5 of the part MD5s with the part count
+		// appended which we can't recreate without knowing the part sizes
+		if (compareChecksums && (remoteMd5 != null) && !remoteMd5.contains("-")) {
+			return remoteMd5.equals(localMd5(localDirectory, localFile, size, manifest));
+		}
+		return (remote.getTimeModified() != null)
+				&& (remote.getTimeModified().getTime() >= Files.getLastModifiedTime(localFile).toMillis());
+	}
+
+	private String localMd5(Path localDirectory, Path localFile, long size, LocalFileManifest manifest)
+			throws IOException {
+		if (manifest != null) {
+			LocalFileManifest.Entry entry = manifest.lookup(LocalFileManifest.relativePath(localDirectory, localFile));
+			// the file may have changed since the manifest was refreshed
+			if ((entry != null) && entry.matches(size, Files.getLastModifiedTime(localFile).toMillis(),
+					LocalFileManifest.inode(localFile))) {
+				return entry.md5();
+			}
+		}
+		return RangedObjectDownloader.md5(localFile);
+	}
+
+	private TreeMap<String, Path> localFiles(Path localDirectory, String namePrefix, String separator)
+			throws IOException {
+		try (Stream<Path> paths = Files.walk(localDirectory)) {
+			return paths.filter(path -> Files.isRegularFile(path))
+					.collect(Collectors.toMap(
+							path -> namePrefix + StreamSupport.stream(localDirectory.relativize(path).spliterator(),
+									false).map(element -> element.toString()).collect(Collectors.joining(separator)),
+							path -> path, (first, second) -> first, () -> new TreeMap<>()));
+		}
+	}
+}
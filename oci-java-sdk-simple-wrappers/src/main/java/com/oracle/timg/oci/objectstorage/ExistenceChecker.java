@@ -0,0 +1,209 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+import com.oracle.bmc.objectstorage.requests.HeadBucketRequest;
+import com.oracle.bmc.objectstorage.requests.HeadObjectRequest;
+import com.oracle.bmc.objectstorage.responses.HeadBucketResponse;
+import com.oracle.bmc.objectstorage.responses.HeadObjectResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks if buckets and objects exist using HEAD requests, so nothing but the
+ * headers is transferred and no listing is needed. Only a 404 counts as
+ * missing, any other failure is reported as an error with the exception rather
+ * than being treated as missing (note that object storage also returns 404 for
+ * buckets you aren't allowed to see). The exceptions are not thrown to the
+ * caller.
+ * 
+ * If the negative TTL is set a missing result is remembered for that long and
+ * further checks for the same bucket or object return missing without a
+ * request, this is for probes that are repeated a lot for things that mostly
+ * don't exist. Anything created by someone else during that time won't be seen
+ * until the entry expires, forget can be used to drop an entry early.
+ */
+@Slf4j
+public class ExistenceChecker {
+	// when there are more than this many remembered misses the expired ones are
+	// removed
+	private static final int NEGATIVE_CACHE_SWEEP_SIZE = 100000;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	/**
+	 * how long a missing result is remembered, 0 or less (the default) does not
+	 * remember them
+	 */
+	@Getter
+	@Setter
+	private long negativeTtlMillis = 0;
+	// key to the time the entry expires
+	private final Map<String, Long> misses = new ConcurrentHashMap<>();
+
+	/**
+	 * creates a checker using the processors client and namespace
+	 * 
+	 * @param objectStorageProcessor - must not be null
+	 */
+	public ExistenceChecker(@NonNull ObjectStorageProcessor objectStorageProcessor) {
+		this(objectStorageProcessor.getClient(), objectStorageProcessor.getObjectStorageNamespace());
+	}
+
+	// the processor creates its checker before it can be passed around
+	ExistenceChecker(ObjectStorageClient objectstorageClient, String namespace) {
+		this.objectstorageClient = objectstorageClient;
+		this.namespace = namespace;
+	}
+
+	/**
+	 * checks if the bucket exists
+	 * 
+	 * @param bucketName - must not be null
+	 * @return the result, the metadata is the bucket ETag
+	 */
+	public ProbeResult<String> probeBucket(@NonNull String bucketName) {
+		String key = bucketKey(bucketName);
+		if (rememberedMissing(key)) {
+			return ProbeResult.notFound();
+		}
+		try {
+			HeadBucketResponse response = objectstorageClient.headBucket(
+					HeadBucketRequest.builder().namespaceName(namespace).bucketName(bucketName).build());
+			return ProbeResult.found(response.getETag());
+		} catch (BmcException e) {
+			return failed(key, e);
+		}
+	}
+
+	/**
+	 * checks if the object exists
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full object name
+	 * @return the result, the metadata is a summary built from the object headers
+	 *         (everything but the creation time)
+	 */
+	public ProbeResult<ObjectSummary> probeObject(@NonNull String bucketName, @NonNull String objectName) {
+		String key = objectKey(bucketName, objectName);
+		if (rememberedMissing(key)) {
+			return ProbeResult.notFound();
+		}
+		try {
+			HeadObjectResponse response = objectstorageClient.headObject(HeadObjectRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName).objectName(objectName).build());
+			return ProbeResult.found(ObjectSummary.builder().name(objectName).size(response.getContentLength())
+					.md5(response.getContentMd5()).etag(response.getETag()).timeModified(response.getLastModified())
+					.storageTier(response.getStorageTier()).archivalState(response.getArchivalState()).build());
+		} catch (BmcException e) {
+			return failed(key, e);
+		}
+	}
+
+	/**
+	 * drops any remembered missing result for the bucket
+	 * 
+	 * @param bucketName - must not be null
+	 */
+	public void forget(@NonNull String bucketName) {
+		misses.remove(bucketKey(bucketName));
+	}
+
+	/**
+	 * drops any remembered missing result for the object, call this after
+	 * creating it
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 */
+	public void forget(@NonNull String bucketName, @NonNull String objectName) {
+		misses.remove(objectKey(bucketName, objectName));
+	}
+
+	private <T> ProbeResult<T> failed(String key, BmcException e) {
+		if (e.getStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+			log.debug("Existence check for " + key + " failed with status " + e.getStatusCode() + ", msg is "
+					+ e.getLocalizedMessage());
+			return ProbeResult.failedWith(e);
+		}
+		if (negativeTtlMillis > 0) {
+			long now = System.currentTimeMillis();
+			if (misses.size() > NEGATIVE_CACHE_SWEEP_SIZE) {
+				Iterator<Long> expiries = misses.values().iterator();
+				while (expiries.hasNext()) {
+					if (expiries.next() <= now) {
+						expiries.remove();
+					}
+				}
+			}
+			misses.put(key, now + negativeTtlMillis);
+		}
+		return ProbeResult.notFound();
+	}
+
+	private boolean rememberedMissing(String key) {
+		Long expires = misses.get(key);
+		if (expires == null) {
+			return false;
+		}
+		if (expires > System.currentTimeMillis()) {
+			return true;
+		}
+		misses.remove(key, expires);
+		return false;
+	}
+
+	// the separator can't be in a bucket name so the keys can't clash
+	private static String bucketKey(String bucketName) {
+		return bucketName + "/";
+	}
+
+	private static String objectKey(String bucketName, String objectName) {
+		return bucketName + "/" + objectName;
+	}
+}
@@ -0,0 +1,132 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip compresses the source as it's read, unlike GZIPOutputStream this pulls
+ * the data through so it can be handed straight to an upload without a thread
+ * or a pipe in between. Only one buffer of input is held at a time
+ */
+class GzipCompressingInputStream extends InputStream {
+	// magic, deflate, no flags, no time, no extra flags, unknown OS
+	private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+	private static final int TRAILER_SIZE = 8;
+
+	private final InputStream source;
+	private final byte[] input;
+	private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+	private final CRC32 crc = new CRC32();
+	private int headerPosition = 0;
+	private byte[] trailer;
+	private int trailerPosition = 0;
+	private boolean sourceFinished = false;
+
+	GzipCompressingInputStream(InputStream source, int bufferSize) {
+		this.source = source;
+		this.input = new byte[bufferSize];
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] single = new byte[1];
+		int read;
+		while ((read = read(single, 0, 1)) == 0) {
+			// deflate can produce nothing for a while
+		}
+		return read == -1 ? -1 : single[0] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		if (headerPosition < HEADER.length) {
+			int count = Math.min(length, HEADER.length - headerPosition);
+			System.arraycopy(HEADER, headerPosition, buffer, offset, count);
+			headerPosition += count;
+			return count;
+		}
+		while (!deflater.finished()) {
+			if (deflater.needsInput() && !sourceFinished) {
+				int read = source.read(input);
+				if (read == -1) {
+					sourceFinished = true;
+					deflater.finish();
+				} else if (read > 0) {
+					crc.update(input, 0, read);
+					deflater.setInput(input, 0, read);
+				}
+				continue;
+			}
+			int compressed = deflater.deflate(buffer, offset, length);
+			if (compressed > 0) {
+				return compressed;
+			}
+		}
+		if (trailer == null) {
+			trailer = new byte[TRAILER_SIZE];
+			writeLittleEndian(trailer, 0, crc.getValue());
+			// the size is modulo 2^32
+			writeLittleEndian(trailer, 4, deflater.getBytesRead());
+		}
+		if (trailerPosition >= TRAILER_SIZE) {
+			return -1;
+		}
+		int count = Math.min(length, TRAILER_SIZE - trailerPosition);
+		System.arraycopy(trailer, trailerPosition, buffer, offset, count);
+		trailerPosition += count;
+		return count;
+	}
+
+	private static void writeLittleEndian(byte[] target, int offset, long value) {
+		for (int i = 0; i < 4; i++) {
+			target[offset + i] = (byte) (value >>> (8 * i));
+		}
+	}
+
+	@Override
+	public void close() {
+		// the source belongs to the caller
+		deflater.end();
+	}
+}
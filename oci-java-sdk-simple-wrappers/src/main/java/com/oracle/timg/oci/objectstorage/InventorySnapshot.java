@@ -0,0 +1,502 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A local copy of the names, sizes, modification times and MD5s of the objects
+ * in a bucket (or under a prefix of it) as they were when it was listed, so
+ * jobs that need the inventory can read this rather than listing the bucket
+ * again.
+ * 
+ * The file is a header, the bucket name and prefix, parallel arrays of the
+ * sizes, times and MD5s, a table of block offsets and then the names. The
+ * names are in listing order (the order of their UTF-8 bytes) and front coded,
+ * each one is stored as the number of bytes it shares with the one before and
+ * the bytes that differ. Every BLOCK_SIZE names the full name is stored so a
+ * lookup is a binary search over the blocks followed by decoding at most a
+ * block of names. Like LocalFileManifest the file is memory mapped when loaded
+ * rather than read into the heap.
+ * 
+ * MD5s that are not a plain MD5 (such as the multi part form) are recorded as
+ * unknown.
+ */
+public class InventorySnapshot {
+	private static final int MAGIC = 0x4f53494e;
+	private static final int VERSION = 1;
+	// magic (4) version (4) count (4) block count (4) snapshot time (8) bucket
+	// length (4) prefix length (4) names length (8)
+	private static final int HEADER_SIZE = 40;
+	private static final int BLOCK_SIZE = 16;
+	private static final int MD5_LENGTH = 16;
+	private static final int MAX_NAME_BYTES = 0xffff;
+	private static final long UNKNOWN = -1;
+
+	private final MappedByteBuffer mapped;
+	@Getter
+	private final int entryCount;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the prefix that was listed, empty if it was the whole bucket
+	 */
+	@Getter
+	private final String prefix;
+	/**
+	 * when the listing started, changes after this may not be in the snapshot
+	 */
+	@Getter
+	private final long snapshotTime;
+	private final int sizesStart;
+	private final int timesStart;
+	private final int md5sStart;
+	private final int blocksStart;
+	private final int namesStart;
+
+	private InventorySnapshot(MappedByteBuffer mapped) {
+		this.mapped = mapped;
+		this.entryCount = mapped.getInt(8);
+		int blockCount = mapped.getInt(12);
+		this.snapshotTime = mapped.getLong(16);
+		int bucketLength = mapped.getInt(24);
+		int prefixLength = mapped.getInt(28);
+		this.bucketName = string(HEADER_SIZE, bucketLength);
+		this.prefix = string(HEADER_SIZE + bucketLength, prefixLength);
+		this.sizesStart = arraysStart(bucketLength, prefixLength);
+		this.timesStart = sizesStart + (Long.BYTES * entryCount);
+		this.md5sStart = timesStart + (Long.BYTES * entryCount);
+		this.blocksStart = md5sStart + (MD5_LENGTH * entryCount);
+		this.namesStart = blocksStart + (Integer.BYTES * blockCount);
+	}
+
+	// the arrays start on the first 8 byte boundary after the bucket name and prefix
+	private static int arraysStart(int bucketLength, int prefixLength) {
+		return (HEADER_SIZE + bucketLength + prefixLength + Long.BYTES - 1) & -Long.BYTES;
+	}
+
+	private String string(int offset, int length) {
+		byte[] bytes = new byte[length];
+		mapped.get(offset, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * loads a snapshot written by BucketInventoryExporter
+	 * 
+	 * @param snapshotFile - must not be null
+	 * @return the snapshot
+	 * @throws IOException if the file can't be read or is not a snapshot
+	 */
+	public static InventorySnapshot load(@NonNull Path snapshotFile) throws IOException {
+		try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot " + snapshotFile + " is too large to map");
+			}
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException(snapshotFile + " is not an inventory snapshot");
+			}
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (mapped.getInt(0) != MAGIC) {
+				throw new IOException(snapshotFile + " is not an inventory snapshot");
+			}
+			if (mapped.getInt(4) != VERSION) {
+				throw new IOException("Unsupported inventory snapshot version " + mapped.getInt(4));
+			}
+			return new InventorySnapshot(mapped);
+		}
+	}
+
+	/**
+	 * @param objectName - must not be null, the full object name
+	 * @return the object as it was when the snapshot was taken, or null if it
+	 *         wasn't in the snapshot
+	 */
+	public ObjectSummary lookup(@NonNull String objectName) {
+		byte[] key = objectName.getBytes(StandardCharsets.UTF_8);
+		int index = lowerBound(key);
+		if (index >= entryCount) {
+			return null;
+		}
+		Cursor cursor = new Cursor();
+		cursor.seek(index);
+		return cursor.compareTo(key) == 0 ? cursor.summary() : null;
+	}
+
+	/**
+	 * @param namePrefix - if null or empty all of the objects are returned
+	 * @return the objects with names starting with the prefix in name order, the
+	 *         names are the full object names
+	 */
+	public Stream<ObjectSummary> stream(String namePrefix) {
+		int[] range = range(namePrefix);
+		return stream(range[0], range[1]);
+	}
+
+	/**
+	 * @param namePrefix - if null or empty all of the objects are counted
+	 * @return the number of objects with names starting with the prefix
+	 */
+	public int count(String namePrefix) {
+		int[] range = range(namePrefix);
+		return range[1] - range[0];
+	}
+
+	/**
+	 * @param namePrefix - if null or empty the whole snapshot
+	 * @return the first index with the prefix and the index after the last one,
+	 *         the same if there are none
+	 */
+	int[] range(String namePrefix) {
+		if ((namePrefix == null) || namePrefix.isEmpty()) {
+			return new int[] { 0, entryCount };
+		}
+		return range(namePrefix.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param key - must not be null or empty, the UTF-8 bytes of the prefix
+	 * @return the first index with the prefix and the index after the last one,
+	 *         the same if there are none
+	 */
+	int[] range(byte[] key) {
+		// the first name after all of those with the prefix is at or after the prefix
+		// with its last byte incremented, 0xff bytes carry
+		int length = key.length;
+		while ((length > 0) && (key[length - 1] == (byte) 0xff)) {
+			length--;
+		}
+		int end = entryCount;
+		if (length > 0) {
+			byte[] after = Arrays.copyOf(key, length);
+			after[length - 1]++;
+			end = lowerBound(after);
+		}
+		return new int[] { lowerBound(key), end };
+	}
+
+	/**
+	 * @param from - the first index to return
+	 * @param to   - the index after the last one to return
+	 * @return the objects between the indexes in name order
+	 */
+	Stream<ObjectSummary> stream(int from, int to) {
+		Iterator<ObjectSummary> iterator = new Iterator<>() {
+			private final Cursor cursor = new Cursor();
+			private int next = from;
+
+			@Override
+			public boolean hasNext() {
+				return next < to;
+			}
+
+			@Override
+			public ObjectSummary next() {
+				if (next >= to) {
+					throw new NoSuchElementException();
+				}
+				if (next == from) {
+					cursor.seek(from);
+				} else {
+					cursor.next();
+				}
+				next++;
+				return cursor.summary();
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliterator(iterator, Math.max(0, to - from),
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED), false);
+	}
+
+	// the index of the first name that is the same as or after the key
+	private int lowerBound(byte[] key) {
+		int blockCount = (entryCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		Cursor cursor = new Cursor();
+		// find the last block whose first (and fully stored) name is not after the key
+		int low = 0;
+		int high = blockCount - 1;
+		int block = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			cursor.seek(middle * BLOCK_SIZE);
+			if (cursor.compareTo(key) <= 0) {
+				block = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		if (block < 0) {
+			return 0;
+		}
+		int end = Math.min(entryCount, (block + 1) * BLOCK_SIZE);
+		cursor.seek(block * BLOCK_SIZE);
+		for (int index = block * BLOCK_SIZE; index < end; index++) {
+			if (index > block * BLOCK_SIZE) {
+				cursor.next();
+			}
+			if (cursor.compareTo(key) >= 0) {
+				return index;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * decodes the names in order, starting from the beginning of a block
+	 */
+	private class Cursor {
+		private byte[] name = new byte[256];
+		private int length;
+		private int position;
+		private int index;
+
+		private void seek(int target) {
+			int block = target / BLOCK_SIZE;
+			position = namesStart + mapped.getInt(blocksStart + (Integer.BYTES * block));
+			index = (block * BLOCK_SIZE) - 1;
+			do {
+				next();
+			} while (index < target);
+		}
+
+		private void next() {
+			int shared = mapped.getChar(position);
+			int suffix = mapped.getChar(position + 2);
+			if (name.length < shared + suffix) {
+				name = Arrays.copyOf(name, Math.max(shared + suffix, name.length * 2));
+			}
+			mapped.get(position + 4, name, shared, suffix);
+			length = shared + suffix;
+			position += 4 + suffix;
+			index++;
+		}
+
+		private int compareTo(byte[] key) {
+			return Arrays.compareUnsigned(name, 0, length, key, 0, key.length);
+		}
+
+		private ObjectSummary summary() {
+			long size = mapped.getLong(sizesStart + (Long.BYTES * index));
+			long modified = mapped.getLong(timesStart + (Long.BYTES * index));
+			byte[] md5 = new byte[MD5_LENGTH];
+			mapped.get(md5sStart + (MD5_LENGTH * index), md5);
+			boolean md5Known = false;
+			for (byte b : md5) {
+				md5Known |= b != 0;
+			}
+			return ObjectSummary.builder().name(new String(name, 0, length, StandardCharsets.UTF_8))
+					.size(size == UNKNOWN ? null : size).timeModified(modified == UNKNOWN ? null : new Date(modified))
+					.md5(md5Known ? Base64.getEncoder().encodeToString(md5) : null).build();
+		}
+	}
+
+	/**
+	 * writes a snapshot, the objects must be added in listing order. Each section
+	 * is written to its own file as the objects are added and they are joined at
+	 * the end, so memory use does not depend on the number of objects. The
+	 * snapshot replaces the file once it is complete
+	 */
+	static class Writer implements Closeable {
+		private final Path snapshotFile;
+		private final String bucketName;
+		private final String prefix;
+		private final long snapshotTime;
+		private final Path[] sectionFiles;
+		private final DataOutputStream names;
+		private final DataOutputStream sizes;
+		private final DataOutputStream times;
+		private final DataOutputStream md5s;
+		private int[] blockOffsets = new int[1024];
+		private byte[] previous = new byte[0];
+		private int count = 0;
+		private long namesLength = 0;
+
+		Writer(Path snapshotFile, String bucketName, String prefix, long snapshotTime) throws IOException {
+			this.snapshotFile = snapshotFile;
+			this.bucketName = bucketName;
+			this.prefix = prefix == null ? "" : prefix;
+			this.snapshotTime = snapshotTime;
+			this.sectionFiles = new Path[] { section("names"), section("sizes"), section("times"), section("md5s") };
+			this.names = open(sectionFiles[0]);
+			this.sizes = open(sectionFiles[1]);
+			this.times = open(sectionFiles[2]);
+			this.md5s = open(sectionFiles[3]);
+		}
+
+		private Path section(String name) {
+			return snapshotFile.resolveSibling(snapshotFile.getFileName() + ".new." + name);
+		}
+
+		private static DataOutputStream open(Path file) throws IOException {
+			return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1024 * 1024));
+		}
+
+		void add(ObjectSummary object) throws IOException {
+			byte[] name = object.getName().getBytes(StandardCharsets.UTF_8);
+			if (name.length > MAX_NAME_BYTES) {
+				throw new IllegalArgumentException("Object name " + object.getName() + " is too long");
+			}
+			if ((count > 0) && (Arrays.compareUnsigned(previous, name) >= 0)) {
+				throw new IllegalArgumentException(
+						"Object " + object.getName() + " is not after " + new String(previous, StandardCharsets.UTF_8));
+			}
+			int shared = 0;
+			if (count % BLOCK_SIZE == 0) {
+				if (blockOffsets.length == count / BLOCK_SIZE) {
+					blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+				}
+				blockOffsets[count / BLOCK_SIZE] = (int) namesLength;
+			} else {
+				int mismatch = Arrays.mismatch(previous, name);
+				shared = mismatch < 0 ? name.length : Math.min(mismatch, name.length);
+			}
+			names.writeChar(shared);
+			names.writeChar(name.length - shared);
+			names.write(name, shared, name.length - shared);
+			namesLength += 4 + name.length - shared;
+			sizes.writeLong(object.getSize() == null ? UNKNOWN : object.getSize());
+			times.writeLong(object.getTimeModified() == null ? UNKNOWN : object.getTimeModified().getTime());
+			md5s.write(md5Bytes(object.getMd5()));
+			previous = name;
+			count++;
+		}
+
+		private static byte[] md5Bytes(String md5) {
+			if (md5 != null) {
+				try {
+					byte[] bytes = Base64.getDecoder().decode(md5);
+					if (bytes.length == MD5_LENGTH) {
+						return bytes;
+					}
+				} catch (IllegalArgumentException e) {
+					// not a plain MD5, recorded as unknown
+				}
+			}
+			return new byte[MD5_LENGTH];
+		}
+
+		/**
+		 * joins the sections into the snapshot file and loads it
+		 * 
+		 * @return the snapshot
+		 * @throws IOException
+		 */
+		InventorySnapshot finish() throws IOException {
+			closeSections();
+			byte[] bucketBytes = bucketName.getBytes(StandardCharsets.UTF_8);
+			byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+			int blockCount = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+			long total = arraysStart(bucketBytes.length, prefixBytes.length)
+					+ ((2L * Long.BYTES + MD5_LENGTH) * count) + ((long) Integer.BYTES * blockCount) + namesLength;
+			if (total > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot of " + count + " objects is too large to map");
+			}
+			Path writing = section("snapshot");
+			try (DataOutputStream output = open(writing)) {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeInt(count);
+				output.writeInt(blockCount);
+				output.writeLong(snapshotTime);
+				output.writeInt(bucketBytes.length);
+				output.writeInt(prefixBytes.length);
+				output.writeLong(namesLength);
+				output.write(bucketBytes);
+				output.write(prefixBytes);
+				for (int i = HEADER_SIZE + bucketBytes.length + prefixBytes.length; i < arraysStart(bucketBytes.length,
+						prefixBytes.length); i++) {
+					output.write(0);
+				}
+				Files.copy(sectionFiles[1], output);
+				Files.copy(sectionFiles[2], output);
+				Files.copy(sectionFiles[3], output);
+				for (int block = 0; block < blockCount; block++) {
+					output.writeInt(blockOffsets[block]);
+				}
+				Files.copy(sectionFiles[0], output);
+			}
+			Files.move(writing, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return load(snapshotFile);
+		}
+
+		private void closeSections() throws IOException {
+			names.close();
+			sizes.close();
+			times.close();
+			md5s.close();
+		}
+
+		/**
+		 * removes the section files, if finish was not called the snapshot file is
+		 * left as it was
+		 */
+		@Override
+		public void close() throws IOException {
+			closeSections();
+			for (Path sectionFile : sectionFiles) {
+				Files.deleteIfExists(sectionFile);
+			}
+			Files.deleteIfExists(section("snapshot"));
+		}
+	}
+}
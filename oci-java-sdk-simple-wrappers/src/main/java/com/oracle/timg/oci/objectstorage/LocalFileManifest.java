@@ -0,0 +1,364 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An on disk record of the size, modification time, inode and MD5 of each file
+ * in a directory tree, used to avoid hashing files that have not changed since
+ * the last time they were looked at. Entries are keyed by the path relative to
+ * the root of the tree with / as the separator.
+ * 
+ * The file is a header, a table of fixed size records sorted by path and the
+ * UTF-8 bytes of the paths. It is memory mapped when loaded and looked up with
+ * a binary search, so a manifest with millions of entries is usable as soon as
+ * it's opened without having to be read into the heap.
+ * 
+ * Manifests are never changed in place, refresh writes a new one and renames
+ * it over the old so a crash leaves either the old or the new manifest.
+ */
+@Slf4j
+public class LocalFileManifest {
+	/**
+	 * the default number of files being hashed at once by refresh
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	private static final int MAGIC = 0x4f534d46;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+	// path offset (8) path length (4) spare (4) size (8) modified (8) inode (8)
+	// md5 (16)
+	private static final int RECORD_SIZE = 56;
+	private static final int MD5_LENGTH = 16;
+	private static final LocalFileManifest EMPTY = new LocalFileManifest(null, 0);
+
+	private final MappedByteBuffer mapped;
+	@Getter
+	private final int entryCount;
+
+	/**
+	 * the details recorded for a file, the MD5 is in the base64 form used by
+	 * object storage
+	 */
+	public record Entry(String path, long size, long modified, long inode, String md5) {
+		/**
+		 * @return true if the file still has the same size, modification time and
+		 *         (if known for both) inode, so the MD5 can be trusted
+		 */
+		public boolean matches(long currentSize, long currentModified, long currentInode) {
+			return (size == currentSize) && (modified == currentModified)
+					&& ((inode == 0) || (currentInode == 0) || (inode == currentInode));
+		}
+	}
+
+	private LocalFileManifest(MappedByteBuffer mapped, int entryCount) {
+		this.mapped = mapped;
+		this.entryCount = entryCount;
+	}
+
+	/**
+	 * loads the manifest, if the file does not exist or is not a valid manifest
+	 * an empty manifest is returned
+	 * 
+	 * @param manifestFile - must not be null
+	 * @return the manifest
+	 * @throws IOException
+	 */
+	public static LocalFileManifest load(@NonNull Path manifestFile) throws IOException {
+		if (!Files.exists(manifestFile)) {
+			return EMPTY;
+		}
+		try (FileChannel channel = FileChannel.open(manifestFile, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE) {
+				return EMPTY;
+			}
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Manifest " + manifestFile + " is too large to map");
+			}
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if ((mapped.getInt(0) != MAGIC) || (mapped.getInt(4) != VERSION)) {
+				log.warn(manifestFile + " is not a manifest this version understands, ignoring it");
+				return EMPTY;
+			}
+			return new LocalFileManifest(mapped, mapped.getInt(8));
+		}
+	}
+
+	/**
+	 * finds the entry for the path
+	 * 
+	 * @param path - must not be null, relative to the root with / as the separator
+	 * @return the entry or null if there isn't one
+	 */
+	public Entry lookup(@NonNull String path) {
+		byte[] key = path.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = entryCount - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compareToPath(middle, key);
+			if (comparison < 0) {
+				low = middle + 1;
+			} else if (comparison > 0) {
+				high = middle - 1;
+			} else {
+				return entry(middle, path);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * walks the tree under root in parallel and writes a new manifest for it,
+	 * files whose entry in this manifest still matches keep their MD5, all others
+	 * are hashed. The new manifest replaces the file it is written to
+	 * 
+	 * @param manifestFile - must not be null, where to write the new manifest
+	 * @param root         - must not be null, the directory to walk
+	 * @param parallelism  - the maximum number of files being hashed at once
+	 * @return the new manifest
+	 * @throws IOException
+	 */
+	public LocalFileManifest refresh(@NonNull Path manifestFile, @NonNull Path root, int parallelism)
+			throws IOException {
+		ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+		ConcurrentLinkedQueue<IOException> failures = new ConcurrentLinkedQueue<>();
+		Semaphore hashing = new Semaphore(Math.max(1, parallelism));
+		Path absoluteManifest = manifestFile.toAbsolutePath().normalize();
+		long start = System.currentTimeMillis();
+		// each directory is listed in its own task, tasks are added while the walk is
+		// in progress so we count them to know when the walk is done
+		Walk walk = new Walk(root, absoluteManifest, hashing, entries, failures);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			walkDirectory(walk, root, executor);
+			walk.done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted walking " + root, e);
+		}
+		if (!failures.isEmpty()) {
+			IOException failure = failures.peek();
+			failures.stream().skip(1).forEach(suppressed -> failure.addSuppressed(suppressed));
+			throw failure;
+		}
+		List<Entry> sorted = new ArrayList<>(entries);
+		sorted.sort((first, second) -> Arrays.compareUnsigned(first.path.getBytes(StandardCharsets.UTF_8),
+				second.path.getBytes(StandardCharsets.UTF_8)));
+		write(manifestFile, sorted);
+		log.debug("Refreshed manifest " + manifestFile + " with " + sorted.size() + " entries in "
+				+ (System.currentTimeMillis() - start) + "ms");
+		return load(manifestFile);
+	}
+
+	private void walkDirectory(Walk walk, Path directory, ExecutorService executor) {
+		walk.outstanding.incrementAndGet();
+		executor.submit(() -> {
+			try (DirectoryStream<Path> contents = Files.newDirectoryStream(directory)) {
+				for (Path path : contents) {
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class,
+							LinkOption.NOFOLLOW_LINKS);
+					if (attributes.isDirectory()) {
+						walkDirectory(walk, path, executor);
+					} else if (attributes.isRegularFile()
+							&& !path.toAbsolutePath().normalize().equals(walk.manifestFile)) {
+						walk.hashing.acquire();
+						walk.outstanding.incrementAndGet();
+						executor.submit(() -> {
+							try {
+								walk.entries.add(describe(walk.root, path, attributes));
+							} catch (IOException e) {
+								walk.failures.add(e);
+							} finally {
+								walk.hashing.release();
+								walk.taskDone();
+							}
+						});
+					}
+				}
+			} catch (IOException e) {
+				walk.failures.add(e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				walk.failures.add(new IOException("Interrupted walking " + directory, e));
+			} finally {
+				walk.taskDone();
+			}
+		});
+	}
+
+	/**
+	 * the state of a walk, a task always adds its children before finishing so the
+	 * count of outstanding tasks only reaches zero once the whole tree is done
+	 */
+	private record Walk(Path root, Path manifestFile, Semaphore hashing, ConcurrentLinkedQueue<Entry> entries,
+			ConcurrentLinkedQueue<IOException> failures, AtomicLong outstanding, CountDownLatch done) {
+		private Walk(Path root, Path manifestFile, Semaphore hashing, ConcurrentLinkedQueue<Entry> entries,
+				ConcurrentLinkedQueue<IOException> failures) {
+			this(root, manifestFile, hashing, entries, failures, new AtomicLong(), new CountDownLatch(1));
+		}
+
+		private void taskDone() {
+			if (outstanding.decrementAndGet() == 0) {
+				done.countDown();
+			}
+		}
+	}
+
+	private Entry describe(Path root, Path file, BasicFileAttributes attributes) throws IOException {
+		String relativePath = relativePath(root, file);
+		long size = attributes.size();
+		long modified = attributes.lastModifiedTime().toMillis();
+		long inode = inode(file);
+		Entry previous = lookup(relativePath);
+		if ((previous != null) && previous.matches(size, modified, inode)) {
+			return previous;
+		}
+		return new Entry(relativePath, size, modified, inode, RangedObjectDownloader.md5(file));
+	}
+
+	/**
+	 * the key used for a file in the manifest
+	 * 
+	 * @param root - must not be null
+	 * @param file - must not be null, must be under the root
+	 * @return the path of the file relative to the root with / as the separator
+	 */
+	public static String relativePath(@NonNull Path root, @NonNull Path file) {
+		StringBuilder relativePath = new StringBuilder();
+		for (Path element : root.relativize(file)) {
+			if (relativePath.length() > 0) {
+				relativePath.append('/');
+			}
+			relativePath.append(element.toString());
+		}
+		return relativePath.toString();
+	}
+
+	/**
+	 * @param file - must not be null
+	 * @return the inode of the file, or 0 if the file system does not have them
+	 */
+	public static long inode(@NonNull Path file) {
+		try {
+			Object inode = Files.getAttribute(file, "unix:ino", LinkOption.NOFOLLOW_LINKS);
+			return inode instanceof Long value ? value : 0;
+		} catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+			return 0;
+		}
+	}
+
+	private static void write(Path manifestFile, List<Entry> entries) throws IOException {
+		Path writing = manifestFile.resolveSibling(manifestFile.getFileName() + ".new");
+		List<byte[]> paths = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			paths.add(entry.path.getBytes(StandardCharsets.UTF_8));
+		}
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(writing), 1024 * 1024))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(entries.size());
+			output.writeInt(0);
+			long pathOffset = HEADER_SIZE + ((long) RECORD_SIZE * entries.size());
+			for (int i = 0; i < entries.size(); i++) {
+				Entry entry = entries.get(i);
+				output.writeLong(pathOffset);
+				output.writeInt(paths.get(i).length);
+				output.writeInt(0);
+				output.writeLong(entry.size);
+				output.writeLong(entry.modified);
+				output.writeLong(entry.inode);
+				output.write(Base64.getDecoder().decode(entry.md5));
+				pathOffset += paths.get(i).length;
+			}
+			for (byte[] path : paths) {
+				output.write(path);
+			}
+		}
+		Files.move(writing, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private int compareToPath(int index, byte[] key) {
+		int record = HEADER_SIZE + (index * RECORD_SIZE);
+		int pathOffset = (int) mapped.getLong(record);
+		int pathLength = mapped.getInt(record + 8);
+		int common = Math.min(pathLength, key.length);
+		for (int i = 0; i < common; i++) {
+			int comparison = Byte.compareUnsigned(mapped.get(pathOffset + i), key[i]);
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+		return Integer.compare(pathLength, key.length);
+	}
+
+	private Entry entry(int index, String path) {
+		int record = HEADER_SIZE + (index * RECORD_SIZE);
+		byte[] md5 = new byte[MD5_LENGTH];
+		mapped.get(record + 40, md5);
+		return new Entry(path, mapped.getLong(record + 16), mapped.getLong(record + 24), mapped.getLong(record + 32),
+				Base64.getEncoder().encodeToString(md5));
+	}
+}
@@ -0,0 +1,446 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A read through cache of object contents on local disk, intended for objects
+ * that are read over and over again like models, lookup tables and
+ * configuration.
+ * 
+ * Each cached object is keyed by bucket, object name and ETag. When an object
+ * is read and a copy is cached a conditional GET is made with If-None-Match
+ * set to the cached ETag, if the object has not changed object storage
+ * returns 304 with no data and the cached copy is used, otherwise the new
+ * contents replace it. Setting revalidateAfterMillis skips the revalidation
+ * for copies that were checked recently. If several threads read the same
+ * object at once only one of them fetches or revalidates it, the others wait
+ * for that and use the result.
+ * 
+ * The total size of the cached contents is kept under the budget by removing
+ * the least recently used objects when a new one is added (an object larger
+ * than the whole budget is kept until the next one is added). A small
+ * properties file is stored with each object so the cache survives restarts,
+ * after a restart the least recently used order is the order the objects were
+ * last fetched in and every copy is revalidated on its first read.
+ */
+@Slf4j
+public class LocalObjectCache {
+	/**
+	 * the default budget for the cached contents
+	 */
+	public static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+	private static final String DATA_SUFFIX = ".data";
+	private static final String META_SUFFIX = ".meta";
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final Path directory;
+	@Getter
+	private final long maxBytes;
+	/**
+	 * copies that were fetched or revalidated less than this long ago are used
+	 * without checking with object storage, 0 (the default) checks on every read
+	 */
+	@Getter
+	@Setter
+	private long revalidateAfterMillis = 0;
+	// access ordered so iterating starts with the least recently used, guarded by
+	// this
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long cachedBytes = 0;
+	private final Map<String, CompletableFuture<Entry>> fetches = new ConcurrentHashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong revalidations = new AtomicLong();
+
+	/**
+	 * creates a cache in the directory, anything already cached there is reused
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param directory              - must not be null, created if needed. This
+	 *                               should not be shared with anything else
+	 * @param maxBytes               - the budget for the cached contents
+	 * @throws IOException if the directory can't be created or read
+	 */
+	public LocalObjectCache(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull Path directory,
+			long maxBytes) throws IOException {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		Files.createDirectories(directory);
+		loadExisting();
+	}
+
+	/**
+	 * opens the cached contents of the object, fetching or revalidating it first
+	 * as needed
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 * @return the contents, the caller is responsible for closing the stream
+	 * @throws IOException if the local copy can't be written or read, errors from
+	 *                     object storage are thrown as they are by the SDK
+	 */
+	public InputStream get(@NonNull String bucketName, @NonNull String objectName) throws IOException {
+		return get(bucketName, objectName, false);
+	}
+
+	/**
+	 * opens the cached contents of the object in the same way as get, the copy
+	 * is kept as it is stored so compressed objects take less space in the cache
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 * @param decompress - if true and the object's Content-Encoding is one of the
+	 *                   ObjectCompression codecs the contents are decompressed as
+	 *                   they are read
+	 * @return the contents, the caller is responsible for closing the stream
+	 * @throws IOException if the local copy can't be written or read
+	 */
+	public InputStream get(@NonNull String bucketName, @NonNull String objectName, boolean decompress)
+			throws IOException {
+		Entry entry = fetch(bucketName, objectName);
+		InputStream contents;
+		try {
+			contents = Files.newInputStream(entry.file());
+		} catch (NoSuchFileException e) {
+			// evicted between being fetched and being opened, only possible with a very
+			// small budget or lots of threads, so just try once more
+			log.debug("Cached copy of " + objectName + " was evicted before it could be opened, fetching again");
+			entry = fetch(bucketName, objectName);
+			contents = Files.newInputStream(entry.file());
+		}
+		return decompress ? ObjectCompression.decompress(entry.contentEncoding(), contents) : contents;
+	}
+
+	/**
+	 * removes any cached copy of the object
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 */
+	public void invalidate(@NonNull String bucketName, @NonNull String objectName) {
+		Entry removed;
+		synchronized (this) {
+			removed = entries.remove(key(bucketName, objectName));
+			if (removed != null) {
+				cachedBytes -= removed.size();
+			}
+		}
+		if (removed != null) {
+			delete(removed);
+		}
+	}
+
+	/**
+	 * @return the total size of the cached contents
+	 */
+	public synchronized long getCachedBytes() {
+		return cachedBytes;
+	}
+
+	/**
+	 * @return the number of reads that used a cached copy (including ones that
+	 *         were revalidated)
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of reads that had to fetch the contents
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of conditional requests that confirmed a cached copy
+	 */
+	public long getRevalidations() {
+		return revalidations.get();
+	}
+
+	private Entry fetch(String bucketName, String objectName) throws IOException {
+		String key = key(bucketName, objectName);
+		Entry cached;
+		synchronized (this) {
+			cached = entries.get(key);
+		}
+		if ((cached != null) && ((System.currentTimeMillis() - cached.validated()) < revalidateAfterMillis)) {
+			hits.incrementAndGet();
+			return cached;
+		}
+		CompletableFuture<Entry> ours = new CompletableFuture<>();
+		CompletableFuture<Entry> running = fetches.putIfAbsent(key, ours);
+		if (running != null) {
+			return await(running, objectName);
+		}
+		try {
+			Entry result = load(bucketName, objectName, key, cached);
+			ours.complete(result);
+			return result;
+		} catch (IOException | RuntimeException e) {
+			ours.completeExceptionally(e);
+			throw e;
+		} finally {
+			fetches.remove(key, ours);
+		}
+	}
+
+	private Entry await(CompletableFuture<Entry> running, String objectName) throws IOException {
+		try {
+			Entry result = running.get();
+			hits.incrementAndGet();
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted waiting for " + objectName + " to be fetched", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IOException("Fetching " + objectName + " failed, msg is " + e.getCause().getLocalizedMessage(),
+					e.getCause());
+		}
+	}
+
+	private Entry load(String bucketName, String objectName, String key, Entry cached) throws IOException {
+		GetObjectRequest.Builder request = GetObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+				.objectName(objectName);
+		if (cached != null) {
+			request.ifNoneMatch(cached.eTag());
+		}
+		GetObjectResponse response = objectstorageClient.getObject(request.build());
+		if ((cached != null) && response.isNotModified()) {
+			Entry revalidated = new Entry(key, bucketName, objectName, cached.eTag(), cached.contentEncoding(),
+					cached.file(), cached.size(), System.currentTimeMillis());
+			synchronized (this) {
+				// only if it hasn't been replaced or evicted while we were checking
+				if (entries.get(key) == cached) {
+					entries.put(key, revalidated);
+				}
+			}
+			hits.incrementAndGet();
+			revalidations.incrementAndGet();
+			return revalidated;
+		}
+		misses.incrementAndGet();
+		String fileName = fileName(bucketName, objectName, response.getETag());
+		Path file = directory.resolve(fileName + DATA_SUFFIX);
+		Path temp = directory.resolve(fileName + TEMP_SUFFIX);
+		long size;
+		try (InputStream contents = response.getInputStream()) {
+			size = Files.copy(contents, temp, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		Entry added = new Entry(key, bucketName, objectName, response.getETag(), response.getContentEncoding(),
+				file, size, System.currentTimeMillis());
+		writeMeta(added);
+		log.debug("Cached " + size + " bytes of object " + objectName + " in bucket " + bucketName);
+		add(added);
+		return added;
+	}
+
+	private void add(Entry added) {
+		List<Entry> evicted = new ArrayList<>();
+		synchronized (this) {
+			Entry replaced = entries.put(added.key(), added);
+			if (replaced != null) {
+				cachedBytes -= replaced.size();
+				if (!replaced.file().equals(added.file())) {
+					evicted.add(replaced);
+				}
+			}
+			cachedBytes += added.size();
+			Iterator<Entry> leastRecentFirst = entries.values().iterator();
+			while ((cachedBytes > maxBytes) && leastRecentFirst.hasNext()) {
+				Entry candidate = leastRecentFirst.next();
+				if (candidate != added) {
+					leastRecentFirst.remove();
+					cachedBytes -= candidate.size();
+					evicted.add(candidate);
+				}
+			}
+		}
+		// on most systems readers that already have the file open can carry on
+		for (Entry entry : evicted) {
+			delete(entry);
+		}
+	}
+
+	private void delete(Entry entry) {
+		try {
+			Files.deleteIfExists(metaFile(entry.file()));
+			Files.deleteIfExists(entry.file());
+		} catch (IOException e) {
+			log.debug("Can't remove cached copy " + entry.file() + ", msg is " + e.getLocalizedMessage());
+		}
+	}
+
+	private void writeMeta(Entry entry) throws IOException {
+		Properties meta = new Properties();
+		meta.setProperty("bucket", entry.bucketName());
+		meta.setProperty("object", entry.objectName());
+		meta.setProperty("etag", entry.eTag());
+		meta.setProperty("size", Long.toString(entry.size()));
+		if (entry.contentEncoding() != null) {
+			meta.setProperty("contentEncoding", entry.contentEncoding());
+		}
+		try (OutputStream output = Files.newOutputStream(metaFile(entry.file()))) {
+			meta.store(output, null);
+		}
+	}
+
+	private void loadExisting() throws IOException {
+		List<Path> metaFiles = new ArrayList<>();
+		Set<Path> others = new HashSet<>();
+		try (DirectoryStream<Path> contents = Files.newDirectoryStream(directory)) {
+			for (Path path : contents) {
+				(path.getFileName().toString().endsWith(META_SUFFIX) ? metaFiles : others).add(path);
+			}
+		}
+		// oldest first so they end up least recently used
+		metaFiles.sort(Comparator.comparingLong(path -> lastModified(path)));
+		for (Path metaFile : metaFiles) {
+			String name = metaFile.getFileName().toString();
+			Path dataFile = metaFile.resolveSibling(name.substring(0, name.length() - META_SUFFIX.length())
+					+ DATA_SUFFIX);
+			Properties meta = new Properties();
+			try (InputStream input = Files.newInputStream(metaFile)) {
+				meta.load(input);
+				long size = Long.parseLong(meta.getProperty("size"));
+				if (Files.size(dataFile) == size) {
+					Entry entry = new Entry(key(meta.getProperty("bucket"), meta.getProperty("object")),
+							meta.getProperty("bucket"), meta.getProperty("object"), meta.getProperty("etag"),
+							meta.getProperty("contentEncoding"), dataFile, size, 0);
+					Entry replaced = entries.put(entry.key(), entry);
+					cachedBytes += size - (replaced == null ? 0 : replaced.size());
+					others.remove(dataFile);
+					continue;
+				}
+			} catch (IOException | RuntimeException e) {
+				log.debug("Ignoring unreadable cache entry " + metaFile + ", msg is " + e.getLocalizedMessage());
+			}
+			Files.deleteIfExists(metaFile);
+		}
+		// anything else is left over from a fetch that didn't finish or is an
+		// older version that was superseded
+		for (Path other : others) {
+			String name = other.getFileName().toString();
+			if (name.endsWith(DATA_SUFFIX) || name.endsWith(TEMP_SUFFIX)) {
+				Files.deleteIfExists(other);
+			}
+		}
+		log.debug("Loaded " + entries.size() + " cached objects totalling " + cachedBytes + " bytes from "
+				+ directory);
+	}
+
+	private static long lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static Path metaFile(Path dataFile) {
+		String name = dataFile.getFileName().toString();
+		return dataFile.resolveSibling(name.substring(0, name.length() - DATA_SUFFIX.length()) + META_SUFFIX);
+	}
+
+	private static String key(String bucketName, String objectName) {
+		return bucketName + "/" + objectName;
+	}
+
+	// object names can be long and contain anything so hash them
+	private static String fileName(String bucketName, String objectName, String eTag) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((bucketName + "\n" + objectName + "\n" + eTag).getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private record Entry(String key, String bucketName, String objectName, String eTag, String contentEncoding,
+			Path file, long size, long validated) {
+	}
+}
@@ -0,0 +1,117 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The codecs that can be used to compress objects as they are uploaded, the
+ * codec is recorded as the Content-Encoding of the object so it can be undone
+ * when the object is read (and so other HTTP clients know what it is).
+ * 
+ * Only gzip is supported as it's the one the JDK provides, adding others (e.g.
+ * zstd) would need an extra library.
+ */
+public enum ObjectCompression {
+	/**
+	 * the data is stored as it is
+	 */
+	NONE(null),
+	/**
+	 * the data is gzip compressed
+	 */
+	GZIP("gzip");
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * the Content-Encoding recorded on the object, null for NONE
+	 */
+	@Getter
+	private final String contentEncoding;
+
+	private ObjectCompression(String contentEncoding) {
+		this.contentEncoding = contentEncoding;
+	}
+
+	/**
+	 * wraps the source so reading from the result gives the compressed data,
+	 * closing the result does not close the source
+	 * 
+	 * @param source - must not be null
+	 * @return the compressed stream, or the source for NONE
+	 */
+	public InputStream compress(@NonNull InputStream source) {
+		return this == GZIP ? new GzipCompressingInputStream(source, BUFFER_SIZE) : source;
+	}
+
+	/**
+	 * @param contentEncoding - may be null
+	 * @return the codec for the Content-Encoding of an object, NONE if it is not
+	 *         set or is not one of these
+	 */
+	public static ObjectCompression forContentEncoding(String contentEncoding) {
+		if (contentEncoding != null) {
+			for (ObjectCompression compression : values()) {
+				if (contentEncoding.trim().equalsIgnoreCase(compression.contentEncoding)) {
+					return compression;
+				}
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * wraps the stream of an object's contents so reading from the result gives
+	 * the uncompressed data
+	 * 
+	 * @param contentEncoding - the Content-Encoding of the object, may be null
+	 * @param contents        - must not be null
+	 * @return the uncompressed stream, or contents if the encoding is not one of
+	 *         these codecs
+	 * @throws IOException if the compressed data can't be read
+	 */
+	public static InputStream decompress(String contentEncoding, @NonNull InputStream contents)
+			throws IOException {
+		return forContentEncoding(contentEncoding) == GZIP ? new GZIPInputStream(contents, BUFFER_SIZE) : contents;
+	}
+}
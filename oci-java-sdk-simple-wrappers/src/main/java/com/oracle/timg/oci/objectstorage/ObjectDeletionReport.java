@@ -0,0 +1,152 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * The results of a bulk delete, the names are the full object names. Objects
+ * that had already gone by the time they were deleted are reported as missing
+ * rather than as failures.
+ */
+public class ObjectDeletionReport {
+	private final ConcurrentLinkedQueue<String> deleted = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<String> missing = new ConcurrentLinkedQueue<>();
+	private final Map<String, Exception> failed = new ConcurrentHashMap<>();
+	private final AtomicLong throttledCount = new AtomicLong();
+	@Getter
+	private final String bucketName;
+	private final long startTime = System.currentTimeMillis();
+	@Getter
+	private long durationMillis;
+
+	ObjectDeletionReport(String bucketName) {
+		this.bucketName = bucketName;
+	}
+
+	void recordDeleted(String objectName) {
+		deleted.add(objectName);
+	}
+
+	void recordMissing(String objectName) {
+		missing.add(objectName);
+	}
+
+	void recordFailed(String objectName, Exception cause) {
+		failed.put(objectName, cause);
+	}
+
+	void recordThrottled() {
+		throttledCount.incrementAndGet();
+	}
+
+	void finished() {
+		durationMillis = System.currentTimeMillis() - startTime;
+	}
+
+	/**
+	 * @return the names of the objects that were deleted, sorted
+	 */
+	public List<String> getDeletedNames() {
+		return sorted(deleted);
+	}
+
+	/**
+	 * @return the names of the objects that did not exist when the delete was
+	 *         made, sorted
+	 */
+	public List<String> getMissingNames() {
+		return sorted(missing);
+	}
+
+	/**
+	 * @return the names of the objects that could not be deleted and the
+	 *         exception for the last attempt, in name order
+	 */
+	public Map<String, Exception> getFailures() {
+		return Collections.unmodifiableMap(new TreeMap<>(failed));
+	}
+
+	public long getDeletedCount() {
+		return deleted.size();
+	}
+
+	public long getMissingCount() {
+		return missing.size();
+	}
+
+	public long getFailedCount() {
+		return failed.size();
+	}
+
+	/**
+	 * @return the number of times a delete was throttled by the service and had
+	 *         to be retried
+	 */
+	public long getThrottledCount() {
+		return throttledCount.get();
+	}
+
+	/**
+	 * @return true if nothing failed, missing objects are not a failure
+	 */
+	public boolean isSuccessful() {
+		return failed.isEmpty();
+	}
+
+	private List<String> sorted(ConcurrentLinkedQueue<String> names) {
+		List<String> result = new ArrayList<>(names);
+		Collections.sort(result);
+		return Collections.unmodifiableList(result);
+	}
+
+	@Override
+	public String toString() {
+		return "Deleted " + getDeletedCount() + ", missing " + getMissingCount() + ", failed " + getFailedCount()
+				+ ", throttled " + getThrottledCount() + " times in bucket " + bucketName + " in " + durationMillis
+				+ "ms";
+	}
+}
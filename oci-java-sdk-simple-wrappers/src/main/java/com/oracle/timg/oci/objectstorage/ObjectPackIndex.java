@@ -0,0 +1,250 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The index of a set of pack objects, for each packed file it holds the pack
+ * the file is in along with the offset and length of its data in the pack.
+ * Files that were too large to pack are also listed so the index describes the
+ * whole of what was uploaded. The entries are sorted by name so a name or
+ * prefix is found with a binary search.
+ * 
+ * Each pack is recorded with the ETag it had when it was uploaded, readers use
+ * this with If-Match so if a pack is replaced after the index was read they get
+ * an error rather than someone else's data.
+ * 
+ * In object storage the index is a gzipped stream of a header, the pack names
+ * and ETags and then the entries.
+ */
+public class ObjectPackIndex {
+	private static final int MAGIC = 0x4f535049;
+	private static final int VERSION = 1;
+	/**
+	 * the pack number of files that were uploaded as their own objects
+	 */
+	public static final int UNPACKED = -1;
+
+	/**
+	 * a pack object and the ETag it had when it was uploaded
+	 */
+	public record Pack(String objectName, String eTag) {
+	}
+
+	/**
+	 * where a packed file's data is
+	 * 
+	 * @param name     the name the file was packed as, relative to the pack prefix
+	 * @param pack     the index of the pack in getPacks, or UNPACKED if the file
+	 *                 is its own object named as the name under the prefix
+	 * @param offset   the position of the data in the pack
+	 * @param length   the length of the data
+	 * @param modified the modification time of the file when it was packed
+	 */
+	public record Entry(String name, int pack, long offset, long length, long modified) {
+		/**
+		 * @return true if the data is in a pack, false if the file is its own object
+		 */
+		public boolean isPacked() {
+			return pack != UNPACKED;
+		}
+	}
+
+	@Getter
+	private final List<Pack> packs;
+	private final Entry[] entries;
+
+	/**
+	 * creates an index, the entries are sorted by name
+	 * 
+	 * @param packs   - must not be null
+	 * @param entries - must not be null, the pack numbers must be valid indexes
+	 *                into packs or UNPACKED
+	 */
+	public ObjectPackIndex(@NonNull List<Pack> packs, @NonNull List<Entry> entries) {
+		this.packs = Collections.unmodifiableList(new ArrayList<>(packs));
+		this.entries = entries.toArray(new Entry[0]);
+		Arrays.sort(this.entries, Comparator.comparing(entry -> entry.name()));
+		for (Entry entry : this.entries) {
+			if ((entry.pack() < UNPACKED) || (entry.pack() >= packs.size())) {
+				throw new IllegalArgumentException("Entry " + entry.name() + " refers to pack " + entry.pack()
+						+ " but there are only " + packs.size() + " packs");
+			}
+		}
+	}
+
+	/**
+	 * @return the number of packed files
+	 */
+	public int size() {
+		return entries.length;
+	}
+
+	/**
+	 * @return all of the entries in name order
+	 */
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(Arrays.asList(entries));
+	}
+
+	/**
+	 * @param name - must not be null
+	 * @return the entry for the name or null if it's not in the index
+	 */
+	public Entry lookup(@NonNull String name) {
+		int position = search(name);
+		return position < 0 ? null : entries[position];
+	}
+
+	/**
+	 * @param prefix - if null or empty all of the entries are returned
+	 * @return the entries with names starting with the prefix, in name order
+	 */
+	public List<Entry> entriesWithPrefix(String prefix) {
+		if ((prefix == null) || prefix.isEmpty()) {
+			return getEntries();
+		}
+		int start = search(prefix);
+		if (start < 0) {
+			start = -(start + 1);
+		}
+		int end = start;
+		while ((end < entries.length) && entries[end].name().startsWith(prefix)) {
+			end++;
+		}
+		return Collections.unmodifiableList(Arrays.asList(entries).subList(start, end));
+	}
+
+	/**
+	 * @param entry - must not be null
+	 * @return the pack holding the entry's data, null if the entry is unpacked
+	 */
+	public Pack packOf(@NonNull Entry entry) {
+		return entry.isPacked() ? packs.get(entry.pack()) : null;
+	}
+
+	private int search(String name) {
+		int low = 0;
+		int high = entries.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int compare = entries[middle].name().compareTo(name);
+			if (compare < 0) {
+				low = middle + 1;
+			} else if (compare > 0) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * @return the index in the form stored in object storage
+	 * @throws IOException
+	 */
+	public byte[] toBytes() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(bytes))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(packs.size());
+			for (Pack pack : packs) {
+				output.writeUTF(pack.objectName());
+				output.writeUTF(pack.eTag() == null ? "" : pack.eTag());
+			}
+			output.writeInt(entries.length);
+			for (Entry entry : entries) {
+				output.writeUTF(entry.name());
+				output.writeInt(entry.pack());
+				output.writeLong(entry.offset());
+				output.writeLong(entry.length());
+				output.writeLong(entry.modified());
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * reads an index in the form written by toBytes
+	 * 
+	 * @param contents - must not be null, this is read to the end of the index but
+	 *                 not closed
+	 * @return the index
+	 * @throws IOException if the data is not a valid index
+	 */
+	public static ObjectPackIndex read(@NonNull InputStream contents) throws IOException {
+		DataInputStream input = new DataInputStream(new GZIPInputStream(contents));
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not a pack index");
+		}
+		int version = input.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported pack index version " + version);
+		}
+		int packCount = input.readInt();
+		List<Pack> packs = new ArrayList<>(packCount);
+		for (int i = 0; i < packCount; i++) {
+			String objectName = input.readUTF();
+			String eTag = input.readUTF();
+			packs.add(new Pack(objectName, eTag.isEmpty() ? null : eTag));
+		}
+		int entryCount = input.readInt();
+		List<Entry> entries = new ArrayList<>(entryCount);
+		for (int i = 0; i < entryCount; i++) {
+			entries.add(new Entry(input.readUTF(), input.readInt(), input.readLong(), input.readLong(),
+					input.readLong()));
+		}
+		return new ObjectPackIndex(packs, entries);
+	}
+}
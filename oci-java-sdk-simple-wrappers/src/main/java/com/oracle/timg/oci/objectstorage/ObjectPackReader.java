@@ -0,0 +1,400 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.model.Range;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads files written by ObjectPackWriter. The index is loaded when the reader
+ * is created, a single file is then read with a range request for just its
+ * bytes in the pack. Unpacking many files combines the entries that are close
+ * together in a pack into one range request, so unpacking a whole tree takes
+ * about one request per pack rather than one per file.
+ * 
+ * The range requests use If-Match with the pack ETag recorded in the index, if
+ * a pack has been replaced since the index was read the read fails rather than
+ * returning the wrong data.
+ */
+@Slf4j
+public class ObjectPackReader {
+	/**
+	 * the default number of range requests in flight when unpacking
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	/**
+	 * the default largest gap between entries in a pack that are fetched in the
+	 * same request, the bytes in the gap are read and thrown away
+	 */
+	public static final long DEFAULT_MAX_GAP = 1024L * 1024;
+	/**
+	 * the default most bytes fetched by one request when unpacking, larger runs
+	 * are split so they can be fetched in parallel
+	 */
+	public static final long DEFAULT_MAX_RANGE_SIZE = 64L * 1024 * 1024;
+	/**
+	 * the default number of times a range request is tried before giving up
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private final ObjectStorageProcessor objectStorageProcessor;
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String packPrefix;
+	@Getter
+	private final ObjectPackIndex index;
+	/**
+	 * the maximum number of range requests in flight when unpacking
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the largest gap between entries that are fetched in one request
+	 */
+	@Getter
+	@Setter
+	private long maxGap = DEFAULT_MAX_GAP;
+	/**
+	 * the most bytes fetched by one request when unpacking
+	 */
+	@Getter
+	@Setter
+	private long maxRangeSize = DEFAULT_MAX_RANGE_SIZE;
+	/**
+	 * the number of times a range request is tried before its files are reported
+	 * as failed
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	/**
+	 * creates a reader for the packs under the prefix, loading the index
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 * @param packPrefix             - the prefix the packs were written with, may
+	 *                               be null
+	 * @throws IOException if the index can't be read
+	 */
+	public ObjectPackReader(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			String packPrefix) throws IOException {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+		this.packPrefix = packPrefix;
+		String indexObjectName = ObjectPackWriter.objectName(objectStorageProcessor, packPrefix,
+				ObjectPackWriter.INDEX_OBJECT_NAME);
+		try (InputStream contents = objectstorageClient.getObject(GetObjectRequest.builder().namespaceName(namespace)
+				.bucketName(bucketName).objectName(indexObjectName).build()).getInputStream()) {
+			this.index = ObjectPackIndex.read(contents);
+		} catch (BmcException e) {
+			throw new IOException("Can't read pack index " + indexObjectName + " in bucket " + bucketName
+					+ ", msg is " + e.getLocalizedMessage(), e);
+		}
+	}
+
+	/**
+	 * opens a packed (or large unpacked) file, the caller must close the stream
+	 * 
+	 * @param name - must not be null, the name relative to the pack prefix
+	 * @return the contents
+	 * @throws IOException if the name is not in the index or can't be read
+	 */
+	public InputStream open(@NonNull String name) throws IOException {
+		ObjectPackIndex.Entry entry = index.lookup(name);
+		if (entry == null) {
+			throw new IOException("No entry for " + name + " in the pack index");
+		}
+		if (entry.length() == 0) {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+		return fetch(entry, entry.offset(), entry.offset() + entry.length() - 1);
+	}
+
+	/**
+	 * reads the whole of a packed (or large unpacked) file into memory
+	 * 
+	 * @param name - must not be null, the name relative to the pack prefix
+	 * @return the contents
+	 * @throws IOException if the name is not in the index or can't be read
+	 */
+	public byte[] read(@NonNull String name) throws IOException {
+		try (InputStream contents = open(name)) {
+			return contents.readAllBytes();
+		}
+	}
+
+	/**
+	 * writes the files with names starting with the prefix into the directory,
+	 * creating sub directories as needed and setting the modification times to
+	 * those recorded in the index
+	 * 
+	 * @param namePrefix     - if null or empty all of the files are unpacked
+	 * @param localDirectory - must not be null, created if needed
+	 * @return the result for each file
+	 * @throws IOException if the directory can't be created
+	 */
+	public TransferReport unpack(String namePrefix, @NonNull Path localDirectory) throws IOException {
+		TransferReport report = new TransferReport(TransferReport.Direction.DOWNLOAD, bucketName);
+		Files.createDirectories(localDirectory);
+		Map<Integer, List<ObjectPackIndex.Entry>> byPack = new TreeMap<>();
+		List<ObjectPackIndex.Entry> unpacked = new ArrayList<>();
+		for (ObjectPackIndex.Entry entry : index.entriesWithPrefix(namePrefix)) {
+			if (entry.isPacked()) {
+				byPack.computeIfAbsent(entry.pack(), pack -> new ArrayList<>()).add(entry);
+			} else {
+				unpacked.add(entry);
+			}
+		}
+		List<List<ObjectPackIndex.Entry>> runs = new ArrayList<>();
+		for (List<ObjectPackIndex.Entry> entries : byPack.values()) {
+			entries.sort(Comparator.comparingLong(entry -> entry.offset()));
+			List<ObjectPackIndex.Entry> run = new ArrayList<>();
+			for (ObjectPackIndex.Entry entry : entries) {
+				if (!run.isEmpty()) {
+					long runStart = run.get(0).offset();
+					ObjectPackIndex.Entry last = run.get(run.size() - 1);
+					long runEnd = last.offset() + last.length();
+					if ((entry.offset() - runEnd > maxGap)
+							|| (entry.offset() + entry.length() - runStart > maxRangeSize)) {
+						runs.add(run);
+						run = new ArrayList<>();
+					}
+				}
+				run.add(entry);
+			}
+			if (!run.isEmpty()) {
+				runs.add(run);
+			}
+		}
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (List<ObjectPackIndex.Entry> run : runs) {
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						unpackRunWithRetry(run, localDirectory, limiter, report);
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+			for (ObjectPackIndex.Entry entry : unpacked) {
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						downloadUnpacked(entry, localDirectory, report);
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted unpacking to " + localDirectory, e);
+		}
+		return report.finished();
+	}
+
+	private InputStream fetch(ObjectPackIndex.Entry entry, long start, long end) throws IOException {
+		ObjectPackIndex.Pack pack = index.packOf(entry);
+		String objectName = pack == null ? ObjectPackWriter.objectName(objectStorageProcessor, packPrefix, entry.name())
+				: pack.objectName();
+		try {
+			return objectstorageClient.getObject(GetObjectRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).range(new Range(start, end))
+					.ifMatch(pack == null ? null : pack.eTag()).build()).getInputStream();
+		} catch (BmcException e) {
+			if (e.getStatusCode() == HttpURLConnection.HTTP_PRECON_FAILED) {
+				throw new IOException("Pack " + objectName + " has changed since the index was read", e);
+			}
+			throw new IOException("Can't read " + entry.name() + " from object " + objectName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+	}
+
+	private void unpackRunWithRetry(List<ObjectPackIndex.Entry> run, Path localDirectory,
+			AdaptiveConcurrencyLimiter limiter, TransferReport report) {
+		ObjectPackIndex.Entry first = run.get(0);
+		ObjectPackIndex.Entry last = run.get(run.size() - 1);
+		long runStart = first.offset();
+		long runEnd = last.offset() + last.length() - 1;
+		long start = System.currentTimeMillis();
+		for (int attempt = 1;; attempt++) {
+			try {
+				if (runEnd < runStart) {
+					// nothing but empty files
+					for (ObjectPackIndex.Entry entry : run) {
+						writeEntry(entry, InputStream.nullInputStream(), localDirectory);
+					}
+				} else {
+					try (InputStream contents = fetch(first, runStart, runEnd)) {
+						long position = runStart;
+						for (ObjectPackIndex.Entry entry : run) {
+							contents.skipNBytes(entry.offset() - position);
+							writeEntry(entry, contents, localDirectory);
+							position = entry.offset() + entry.length();
+						}
+					}
+				}
+				limiter.succeeded();
+				long duration = System.currentTimeMillis() - start;
+				for (ObjectPackIndex.Entry entry : run) {
+					report.recordTransferred(entry.name(), localFile(localDirectory, entry.name()).toString(),
+							entry.length(), duration, null);
+				}
+				return;
+			} catch (IOException e) {
+				// a dropped connection is worth another go, a service error only if it's
+				// throttling or a server side problem
+				boolean retryable = !(e.getCause() instanceof BmcException cause) || limiter.retryable(cause);
+				if (!retryable || (attempt >= maxAttempts)) {
+					runFailed(run, start, e, report);
+					return;
+				}
+			} catch (RuntimeException e) {
+				// otherwise it would be lost in the task and the files left out of the report
+				runFailed(run, start, e, report);
+				return;
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (ObjectPackIndex.Entry entry : run) {
+					report.recordFailed(entry.name(), null, System.currentTimeMillis() - start, "Interrupted");
+				}
+				return;
+			}
+		}
+	}
+
+	private void runFailed(List<ObjectPackIndex.Entry> run, long start, Exception e, TransferReport report) {
+		log.warn("Can't unpack " + run.size() + " files from pack " + index.packOf(run.get(0)).objectName()
+				+ ", msg is " + e.getLocalizedMessage());
+		long duration = System.currentTimeMillis() - start;
+		for (ObjectPackIndex.Entry entry : run) {
+			report.recordFailed(entry.name(), null, duration, e.getLocalizedMessage());
+		}
+	}
+
+	private void downloadUnpacked(ObjectPackIndex.Entry entry, Path localDirectory, TransferReport report) {
+		long start = System.currentTimeMillis();
+		try {
+			Path target = localFile(localDirectory, entry.name());
+			Files.createDirectories(target.getParent());
+			long bytes = new ChannelObjectDownloader(objectStorageProcessor, bucketName).download(
+					ObjectPackWriter.objectName(objectStorageProcessor, packPrefix, entry.name()), target);
+			Files.setLastModifiedTime(target, FileTime.fromMillis(entry.modified()));
+			report.recordTransferred(entry.name(), target.toString(), bytes, System.currentTimeMillis() - start,
+					null);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Can't download " + entry.name() + ", msg is " + e.getLocalizedMessage());
+			report.recordFailed(entry.name(), null, System.currentTimeMillis() - start, e.getLocalizedMessage());
+		}
+	}
+
+	private void writeEntry(ObjectPackIndex.Entry entry, InputStream contents, Path localDirectory)
+			throws IOException {
+		Path target = localFile(localDirectory, entry.name());
+		Files.createDirectories(target.getParent());
+		byte[] buffer = new byte[COPY_BUFFER_SIZE];
+		try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			long remaining = entry.length();
+			while (remaining > 0) {
+				int read = contents.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read == -1) {
+					throw new IOException("Pack ended part way through " + entry.name());
+				}
+				ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+				while (data.hasRemaining()) {
+					channel.write(data);
+				}
+				remaining -= read;
+			}
+		}
+		Files.setLastModifiedTime(target, FileTime.fromMillis(entry.modified()));
+	}
+
+	private Path localFile(Path localDirectory, String name) throws IOException {
+		Path target = localDirectory;
+		for (String element : name.split(Pattern.quote(objectStorageProcessor.getPathSeparatorInObjectStorage()))) {
+			target = target.resolve(element);
+		}
+		target = target.normalize();
+		// don't let a name in the index write outside of the directory
+		if (!target.startsWith(localDirectory.normalize())) {
+			throw new IOException("Entry " + name + " is outside of " + localDirectory);
+		}
+		return target;
+	}
+}
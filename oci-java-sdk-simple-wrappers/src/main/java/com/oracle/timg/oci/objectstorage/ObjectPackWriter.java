@@ -0,0 +1,416 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads a directory tree with the small files bundled into a few large pack
+ * objects rather than one object per file, when there are lots of tiny files
+ * the time taken is dominated by the per request overhead so this makes a big
+ * difference. Files larger than the small file threshold are uploaded as
+ * normal objects.
+ * 
+ * Once the packs have been uploaded an ObjectPackIndex is written recording
+ * where each file is (including the large files), the index is written last
+ * so it only ever refers to packs that are complete. Files in packs that
+ * failed to upload are left out of the index and reported as failed.
+ * ObjectPackReader reads the files back.
+ * 
+ * The names are the paths relative to the directory using the object storage
+ * path separator, the packs, index and large files are all put under the
+ * prefix.
+ */
+@Slf4j
+public class ObjectPackWriter {
+	/**
+	 * the default size a pack is filled to, it may be larger if a file is larger
+	 * than the space left
+	 */
+	public static final long DEFAULT_PACK_SIZE = 128L * 1024 * 1024;
+	/**
+	 * the default size above which files are uploaded as their own objects
+	 */
+	public static final long DEFAULT_SMALL_FILE_THRESHOLD = 4L * 1024 * 1024;
+	/**
+	 * the default number of packs and large files being uploaded at once
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+	/**
+	 * the default number of times a pack upload is tried before giving up
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	/**
+	 * the name of the index object under the prefix
+	 */
+	public static final String INDEX_OBJECT_NAME = ".pack-index";
+	/**
+	 * the start of the names of the pack objects under the prefix
+	 */
+	public static final String PACK_OBJECT_NAME_PREFIX = ".pack-";
+
+	private final ObjectStorageProcessor objectStorageProcessor;
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String packPrefix;
+	/**
+	 * the size a pack is filled to
+	 */
+	@Getter
+	@Setter
+	private long packSize = DEFAULT_PACK_SIZE;
+	/**
+	 * files larger than this are uploaded as their own objects
+	 */
+	@Getter
+	@Setter
+	private long smallFileThreshold = DEFAULT_SMALL_FILE_THRESHOLD;
+	/**
+	 * the maximum number of packs and large files being uploaded at once
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a pack upload is tried before its files are reported as
+	 * failed
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	/**
+	 * creates a writer for packs in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace and uploads the large files
+	 * @param bucketName             - must not be null
+	 * @param packPrefix             - if not null the packs, index and large files
+	 *                               are put under this
+	 */
+	public ObjectPackWriter(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			String packPrefix) {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+		this.packPrefix = packPrefix;
+	}
+
+	/**
+	 * @param objectStorageProcessor - must not be null
+	 * @param packPrefix             - may be null
+	 * @param name                   - must not be null
+	 * @return the full object name of the name under the prefix
+	 */
+	static String objectName(ObjectStorageProcessor objectStorageProcessor, String packPrefix, String name) {
+		return packPrefix == null ? name
+				: packPrefix + objectStorageProcessor.getPathSeparatorInObjectStorage() + name;
+	}
+
+	/**
+	 * packs and uploads the files in the directory tree then writes the index,
+	 * replacing any existing index under the prefix
+	 * 
+	 * @param localDirectory - must not be null and must be a directory
+	 * @return the result for each file, the object name for packed files is the
+	 *         name under the prefix and the MD5 is not set
+	 * @throws IOException if the directory can't be read or the index can't be
+	 *                     written
+	 */
+	public TransferReport pack(@NonNull Path localDirectory) throws IOException {
+		TransferReport report = new TransferReport(TransferReport.Direction.UPLOAD, bucketName);
+		List<PackedFile> smallFiles = new ArrayList<>();
+		List<PackedFile> largeFiles = new ArrayList<>();
+		List<Path> paths;
+		try (Stream<Path> walk = Files.walk(localDirectory)) {
+			paths = walk.filter(path -> Files.isRegularFile(path)).sorted().toList();
+		}
+		for (Path path : paths) {
+			PackedFile file = new PackedFile(path, relativeName(localDirectory, path), Files.size(path),
+					Files.getLastModifiedTime(path).toMillis());
+			(file.length() > smallFileThreshold ? largeFiles : smallFiles).add(file);
+		}
+		List<List<PackedFile>> packContents = new ArrayList<>();
+		List<PackedFile> current = new ArrayList<>();
+		long currentSize = 0;
+		for (PackedFile file : smallFiles) {
+			if (!current.isEmpty() && (currentSize + file.length() > packSize)) {
+				packContents.add(current);
+				current = new ArrayList<>();
+				currentSize = 0;
+			}
+			current.add(file);
+			currentSize += file.length();
+		}
+		if (!current.isEmpty()) {
+			packContents.add(current);
+		}
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		List<Future<ObjectPackIndex.Pack>> packUploads = new ArrayList<>();
+		Queue<PackedFile> uploadedLargeFiles = new ConcurrentLinkedQueue<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int packNumber = 0; packNumber < packContents.size(); packNumber++) {
+				String packObjectName = objectName(objectStorageProcessor, packPrefix,
+						PACK_OBJECT_NAME_PREFIX + String.format("%06d", packNumber));
+				List<PackedFile> files = packContents.get(packNumber);
+				limiter.acquire();
+				packUploads.add(executor.submit(() -> {
+					try {
+						return uploadPackWithRetry(packObjectName, files, limiter, report);
+					} finally {
+						limiter.release();
+					}
+				}));
+			}
+			for (PackedFile file : largeFiles) {
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						if (uploadLargeFile(file, report)) {
+							uploadedLargeFiles.add(file);
+						}
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted packing " + localDirectory, e);
+		}
+		// only the packs that made it go in the index
+		List<ObjectPackIndex.Pack> packs = new ArrayList<>();
+		List<ObjectPackIndex.Entry> entries = new ArrayList<>();
+		for (int packNumber = 0; packNumber < packUploads.size(); packNumber++) {
+			Future<ObjectPackIndex.Pack> upload = packUploads.get(packNumber);
+			ObjectPackIndex.Pack pack = upload.state() == Future.State.SUCCESS ? upload.resultNow() : null;
+			if (pack == null) {
+				continue;
+			}
+			long offset = 0;
+			for (PackedFile file : packContents.get(packNumber)) {
+				entries.add(new ObjectPackIndex.Entry(file.name(), packs.size(), offset, file.length(),
+						file.modified()));
+				offset += file.length();
+			}
+			packs.add(pack);
+		}
+		for (PackedFile file : uploadedLargeFiles) {
+			entries.add(new ObjectPackIndex.Entry(file.name(), ObjectPackIndex.UNPACKED, 0, file.length(),
+					file.modified()));
+		}
+		writeIndex(new ObjectPackIndex(packs, entries));
+		log.debug("Indexed " + entries.size() + " files in " + packs.size() + " packs in bucket " + bucketName
+				+ " under " + packPrefix);
+		return report.finished();
+	}
+
+	private String relativeName(Path localDirectory, Path path) {
+		return StreamSupport.stream(localDirectory.relativize(path).spliterator(), false)
+				.map(element -> element.toString())
+				.collect(Collectors.joining(objectStorageProcessor.getPathSeparatorInObjectStorage()));
+	}
+
+	// returns null if the pack could not be uploaded, in which case its files
+	// have been reported as failed
+	private ObjectPackIndex.Pack uploadPackWithRetry(String packObjectName, List<PackedFile> files,
+			AdaptiveConcurrencyLimiter limiter, TransferReport report) {
+		long packLength = files.stream().mapToLong(file -> file.length()).sum();
+		long start = System.currentTimeMillis();
+		String error = null;
+		for (int attempt = 1; error == null; attempt++) {
+			try (InputStream contents = new PackInputStream(files.iterator())) {
+				String eTag = objectstorageClient.putObject(PutObjectRequest.builder().namespaceName(namespace)
+						.bucketName(bucketName).objectName(packObjectName).contentLength(packLength)
+						.putObjectBody(contents).retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION)
+						.build()).getETag();
+				limiter.succeeded();
+				objectStorageProcessor.objectWritten(bucketName, packObjectName);
+				long duration = System.currentTimeMillis() - start;
+				for (PackedFile file : files) {
+					report.recordTransferred(objectName(objectStorageProcessor, packPrefix, file.name()),
+							file.path().toString(), file.length(), duration, null);
+				}
+				return new ObjectPackIndex.Pack(packObjectName, eTag);
+			} catch (BmcException e) {
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					error = "Can't upload pack " + packObjectName + ", msg is " + e.getLocalizedMessage();
+				}
+			} catch (IOException e) {
+				// a local file problem won't get better by trying again
+				error = "Can't read files for pack " + packObjectName + ", msg is " + e.getLocalizedMessage();
+			} catch (RuntimeException e) {
+				error = "Can't upload pack " + packObjectName + ", msg is " + e.getLocalizedMessage();
+			}
+			if (error == null) {
+				try {
+					limiter.backoff(attempt);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					error = "Interrupted uploading pack " + packObjectName;
+				}
+			}
+		}
+		log.warn(error);
+		long duration = System.currentTimeMillis() - start;
+		for (PackedFile file : files) {
+			report.recordFailed(objectName(objectStorageProcessor, packPrefix, file.name()), file.path().toString(),
+					duration, error);
+		}
+		return null;
+	}
+
+	private boolean uploadLargeFile(PackedFile file, TransferReport report) {
+		String fullObjectName = objectName(objectStorageProcessor, packPrefix, file.name());
+		long start = System.currentTimeMillis();
+		try {
+			String md5 = objectStorageProcessor.uploadFile(bucketName, packPrefix, file.name(), file.path());
+			report.recordTransferred(fullObjectName, file.path().toString(), file.length(),
+					System.currentTimeMillis() - start, md5);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			// the task's Future isn't read so anything not caught here would be lost
+			log.warn("Problem uploading " + file.path() + ", msg is " + e.getLocalizedMessage());
+			report.recordFailed(fullObjectName, file.path().toString(), System.currentTimeMillis() - start,
+					e.getLocalizedMessage());
+			return false;
+		}
+	}
+
+	private void writeIndex(ObjectPackIndex index) throws IOException {
+		String indexObjectName = objectName(objectStorageProcessor, packPrefix, INDEX_OBJECT_NAME);
+		byte[] bytes = index.toBytes();
+		try {
+			objectstorageClient.putObject(PutObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+					.objectName(indexObjectName).contentLength((long) bytes.length)
+					.putObjectBody(new ByteArrayInputStream(bytes)).build());
+			objectStorageProcessor.objectWritten(bucketName, indexObjectName);
+		} catch (BmcException e) {
+			throw new IOException("Can't write pack index " + indexObjectName + " in bucket " + bucketName
+					+ ", msg is " + e.getLocalizedMessage(), e);
+		}
+	}
+
+	private record PackedFile(Path path, String name, long length, long modified) {
+	}
+
+	/**
+	 * reads the files one after the other, exactly the length seen when the files
+	 * were listed is read from each so the offsets in the index stay right
+	 */
+	private static class PackInputStream extends InputStream {
+		private final Iterator<PackedFile> files;
+		private FileChannel channel;
+		private InputStream current;
+
+		private PackInputStream(Iterator<PackedFile> files) {
+			this.files = files;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] single = new byte[1];
+			return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			while (true) {
+				if (current != null) {
+					int read = current.read(buffer, offset, length);
+					if (read != -1) {
+						return read;
+					}
+					closeCurrent();
+				}
+				if (!files.hasNext()) {
+					return -1;
+				}
+				PackedFile file = files.next();
+				channel = FileChannel.open(file.path(), StandardOpenOption.READ);
+				current = new FileRangeInputStream(channel, 0, file.length());
+			}
+		}
+
+		private void closeCurrent() throws IOException {
+			current = null;
+			if (channel != null) {
+				channel.close();
+				channel = null;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			closeCurrent();
+		}
+	}
+}
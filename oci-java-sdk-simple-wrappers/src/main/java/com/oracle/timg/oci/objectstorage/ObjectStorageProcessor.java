@@ -40,13 +40,23 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import com.oracle.bmc.identity.model.Compartment;
 import com.oracle.bmc.model.BmcException;
@@ -54,6 +64,7 @@ import com.oracle.bmc.objectstorage.ObjectStorageClient;
 import com.oracle.bmc.objectstorage.model.Bucket;
 import com.oracle.bmc.objectstorage.model.BucketSummary;
 import com.oracle.bmc.objectstorage.model.CreateBucketDetails;
+import com.oracle.bmc.objectstorage.model.ListObjects;
 import com.oracle.bmc.objectstorage.model.ObjectSummary;
 import com.oracle.bmc.objectstorage.requests.CreateBucketRequest;
 import com.oracle.bmc.objectstorage.requests.DeleteBucketRequest;
@@ -62,6 +73,7 @@ import com.oracle.bmc.objectstorage.requests.GetBucketRequest;
 import com.oracle.bmc.objectstorage.requests.GetNamespaceMetadataRequest;
 import com.oracle.bmc.objectstorage.requests.GetNamespaceRequest;
 import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.requests.HeadObjectRequest;
 import com.oracle.bmc.objectstorage.requests.ListBucketsRequest;
 import com.oracle.bmc.objectstorage.requests.ListObjectsRequest;
 import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
@@ -70,6 +82,8 @@ import com.oracle.bmc.objectstorage.responses.DeleteObjectResponse;
 import com.oracle.bmc.objectstorage.responses.GetBucketResponse;
 import com.oracle.bmc.objectstorage.responses.GetNamespaceResponse;
 import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+import com.oracle.bmc.objectstorage.responses.ListBucketsResponse;
+import com.oracle.bmc.objectstorage.responses.ListObjectsResponse;
 import com.oracle.bmc.objectstorage.responses.PutObjectResponse;
 import com.oracle.bmc.objectstorage.transfer.DownloadConfiguration;
 import com.oracle.bmc.objectstorage.transfer.DownloadManager;
@@ -78,6 +92,9 @@ import com.oracle.bmc.objectstorage.transfer.UploadManager;
 import com.oracle.bmc.objectstorage.transfer.UploadManager.UploadRequest;
 import com.oracle.bmc.objectstorage.transfer.UploadManager.UploadResponse;
 import com.oracle.timg.oci.authentication.AuthenticationProcessor;
+import com.oracle.timg.oci.cache.ETagCache;
+import com.oracle.timg.oci.cache.ETagged;
+import com.oracle.timg.oci.paginators.PrefetchingPaginator;
 
 import lombok.Getter;
 import lombok.NonNull;
@@ -97,11 +114,114 @@ public class ObjectStorageProcessor {
 	private final AuthenticationProcessor authProcessor;
 	private final ObjectStorageClient objectstorageClient;
 	private final String namespace;
+	// the region the client is currently using
+	@Getter
+	private String regionName;
 	private String s3CompatibilityCompartmentOCID;
 	public final String DEFAULT_PATH_SEPARATOR_IN_OBJECT_STORAGE = "/";
 	@Getter
 	@Setter
 	private String pathSeparatorInObjectStorage = DEFAULT_PATH_SEPARATOR_IN_OBJECT_STORAGE;
+	// the number of pages the stream methods fetch in the background ahead of the
+	// page being processed, 0 or less fetches pages only when they are needed
+	@Getter
+	@Setter
+	private int pageReadAhead = PrefetchingPaginator.DEFAULT_READ_AHEAD;
+	// the maximum number of deletes in flight for the bulk delete methods
+	@Getter
+	@Setter
+	private int deleteParallelism = BulkObjectDeleter.DEFAULT_PARALLELISM;
+	// the maximum number of server side copies or renames in flight and how often
+	// the copy work requests are checked
+	@Getter
+	@Setter
+	private int copyParallelism = BulkObjectCopier.DEFAULT_PARALLELISM;
+	@Getter
+	@Setter
+	private long copyPollIntervalMillis = BulkObjectCopier.DEFAULT_POLL_INTERVAL_MILLIS;
+	// the size of each range and the number of ranges in flight for
+	// downloadFileInParts
+	@Getter
+	@Setter
+	private long rangedDownloadPartSize = RangedObjectDownloader.DEFAULT_PART_SIZE;
+	@Getter
+	@Setter
+	private int rangedDownloadParallelism = RangedObjectDownloader.DEFAULT_PARALLELISM;
+	// where the journals for the resumable transfers are kept, if null they are
+	// kept next to the local file
+	@Getter
+	@Setter
+	private Path transferJournalDirectory;
+	// the number of downloads in flight for downloadObject and the parallel
+	// downloadFilesCreatePath
+	@Getter
+	@Setter
+	private int treeDownloadParallelism = TreeDownloader.DEFAULT_PARALLELISM;
+	// if true uploadFile (and so the directory and bulk uploads) uses the
+	// AdaptiveObjectUploader rather than the SDK upload manager
+	@Getter
+	@Setter
+	private boolean adaptiveUploads = false;
+	@Getter
+	@Setter
+	private int adaptiveUploadMaxParallelism = AdaptiveObjectUploader.DEFAULT_MAX_PARALLELISM;
+	// if set the parts of multi part uploads are sent using this rather than the
+	// SDK default executor, it is not shut down by the processor
+	@Getter
+	@Setter
+	private ExecutorService uploadExecutor;
+	// the buffers used by putObjectStreaming, these are shared by all streaming
+	// uploads so the memory used is at most the pool size times the part size
+	@Getter
+	@Setter
+	private int streamingUploadPartSize = StreamingObjectUploader.DEFAULT_PART_SIZE;
+	@Getter
+	@Setter
+	private int streamingUploadPoolSize = StreamingObjectUploader.DEFAULT_POOL_SIZE;
+	private DirectBufferPool streamingUploadPool;
+	// the block size and number of cached blocks for openObjectChannel
+	@Getter
+	@Setter
+	private int objectChannelBlockSize = SeekableObjectChannel.DEFAULT_BLOCK_SIZE;
+	@Getter
+	@Setter
+	private int objectChannelCacheBlocks = SeekableObjectChannel.DEFAULT_CACHE_BLOCKS;
+	// the size packs are filled to and the size above which files are uploaded as
+	// their own objects by uploadDirectoryPacked
+	@Getter
+	@Setter
+	private long packSize = ObjectPackWriter.DEFAULT_PACK_SIZE;
+	@Getter
+	@Setter
+	private long packSmallFileThreshold = ObjectPackWriter.DEFAULT_SMALL_FILE_THRESHOLD;
+	// where the chunks of deduplicated uploads are kept, files uploaded with the
+	// same prefix share chunks
+	@Getter
+	@Setter
+	private String deduplicationChunkPrefix = DeduplicatingObjectUploader.DEFAULT_CHUNK_PREFIX;
+	// if not NONE putObject, putObjectStreaming and uploadFile compress the data
+	// as it's uploaded and record the codec as the Content-Encoding, note that the
+	// object sizes and MD5s are then those of the compressed data. syncDirectory
+	// always uploads uncompressed so it can compare them with the local files
+	@Getter
+	@Setter
+	private ObjectCompression uploadCompression = ObjectCompression.NONE;
+	// if true getObject and downloadFile decompress objects with a
+	// Content-Encoding of one of the ObjectCompression codecs
+	@Getter
+	@Setter
+	private boolean decompressDownloads = true;
+	// if set getObject reads through this local disk cache
+	@Getter
+	@Setter
+	private LocalObjectCache objectCache;
+	// the bucket details returned by getBucket, revalidated with If-None-Match
+	@Getter
+	private final ETagCache<Bucket> bucketCache = new ETagCache<>();
+	// used by the exists and probe methods, set its negative TTL to remember
+	// missing buckets and objects for a short time
+	@Getter
+	private final ExistenceChecker existenceChecker;
 
 	/**
 	 * creates an instance whihc will use the provided AuthenticationProcessor for
@@ -111,13 +231,14 @@ public class ObjectStorageProcessor {
 	 */
 	public ObjectStorageProcessor(AuthenticationProcessor authProcessor) {
 		this.authProcessor = authProcessor;
-
+		this.regionName = authProcessor.getRegionName();
 		objectstorageClient = ObjectStorageClient.builder().region(authProcessor.getRegionName())
 				.build(authProcessor.getProvider());
 		// get the namespace
 		GetNamespaceResponse namespaceResponse = objectstorageClient
 				.getNamespace(GetNamespaceRequest.builder().build());
 		namespace = namespaceResponse.getValue();
+		existenceChecker = new ExistenceChecker(objectstorageClient, namespace);
 	}
 
 	/**
@@ -128,6 +249,7 @@ public class ObjectStorageProcessor {
 	 */
 	public void setRegion(@NonNull String regionName) {
 		objectstorageClient.setRegion(regionName);
+		this.regionName = regionName;
 	}
 
 	/**
@@ -224,25 +346,76 @@ public class ObjectStorageProcessor {
 	 */
 	public Map<String, BucketSummary> mapBucketsInCompartment(@NonNull String compartmentOCID) {
 		Map<String, BucketSummary> bucketMap = new HashMap<>();
+		streamBucketsInCompartment(compartmentOCID).forEach(summary -> bucketMap.put(summary.getName(), summary));
+		return bucketMap;
+	}
+
+	/**
+	 * get a stream of the buckets in the compartment with the specified ocid, the
+	 * bucket summaries are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param compartmentOCID - must not be null
+	 * @return a stream of zero or more bucket summaries
+	 */
+	public Stream<BucketSummary> streamBucketsInCompartment(@NonNull String compartmentOCID) {
 		ListBucketsRequest listBucketsRequest = ListBucketsRequest.builder().namespaceName(namespace)
 				.compartmentId(compartmentOCID).build();
-
-		Iterable<BucketSummary> BucketSummaryIterator = objectstorageClient.getPaginators()
-				.listBucketsRecordIterator(listBucketsRequest);
-		for (BucketSummary summary : BucketSummaryIterator) {
-			bucketMap.put(summary.getName(), summary);
-		}
-		return bucketMap;
+		Iterable<ListBucketsResponse> bucketPages = objectstorageClient.getPaginators()
+				.listBucketsResponseIterator(listBucketsRequest);
+		return PrefetchingPaginator.stream(bucketPages, response -> response.getItems(), pageReadAhead);
 	}
 
 	/**
-	 * Test to see if the bucket names exists in any compartment
+	 * Test to see if the bucket names exists in any compartment, this uses a HEAD
+	 * request so no bucket details are transferred
 	 * 
 	 * @param bucketName - must not be null
 	 * @return true if it exists, false if not
+	 * @throws BmcException if the check failed for a reason other than the bucket
+	 *                      not being found (e.g. throttling or authentication)
 	 */
 	public boolean bucketExists(@NonNull String bucketName) {
-		return getBucket(bucketName) != null;
+		return existenceChecker.probeBucket(bucketName).existsOrThrow();
+	}
+
+	/**
+	 * Checks if the bucket exists using a HEAD request without throwing
+	 * exceptions
+	 * 
+	 * @see ExistenceChecker
+	 * @param bucketName - must not be null
+	 * @return if the bucket exists (with its ETag), is missing or the check failed
+	 *         (with the exception)
+	 */
+	public ProbeResult<String> probeBucket(@NonNull String bucketName) {
+		return existenceChecker.probeBucket(bucketName);
+	}
+
+	/**
+	 * Test to see if the object exists, this uses a HEAD request
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full object name
+	 * @return true if it exists, false if not
+	 * @throws BmcException if the check failed for a reason other than the object
+	 *                      not being found (e.g. throttling or authentication)
+	 */
+	public boolean objectExists(@NonNull String bucketName, @NonNull String objectName) {
+		return existenceChecker.probeObject(bucketName, objectName).existsOrThrow();
+	}
+
+	/**
+	 * Checks if the object exists using a HEAD request without throwing
+	 * exceptions
+	 * 
+	 * @see ExistenceChecker
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full object name
+	 * @return if the object exists (with its details), is missing or the check
+	 *         failed (with the exception)
+	 */
+	public ProbeResult<ObjectSummary> probeObject(@NonNull String bucketName, @NonNull String objectName) {
+		return existenceChecker.probeObject(bucketName, objectName);
 	}
 
 	/**
@@ -252,11 +425,30 @@ public class ObjectStorageProcessor {
 	 * @return null if no bucket exists with that name, bucket details otherwise
 	 */
 	public Bucket getBucket(@NonNull String bucketName) {
-		GetBucketRequest request = GetBucketRequest.builder().bucketName(bucketName).namespaceName(namespace).build();
+		ETagged<Bucket> bucket = getBucketWithETag(bucketName);
+		return bucket == null ? null : bucket.value();
+	}
+
+	/**
+	 * Gets the details of the bucket in any compartment along with its ETag (which
+	 * can be used as If-Match for updates). If the bucket has been read before the
+	 * request is made with If-None-Match and if the bucket hasn't changed the
+	 * previous details are returned without being transferred again
+	 * 
+	 * @see ETagCache
+	 * @param bucketName - must not be null
+	 * @return null if no bucket exists with that name, bucket details and ETag
+	 *         otherwise
+	 */
+	public ETagged<Bucket> getBucketWithETag(@NonNull String bucketName) {
 		try {
-			GetBucketResponse response = objectstorageClient.getBucket(request);
-			return response.getBucket();
+			return bucketCache.get(bucketName, cachedETag -> {
+				GetBucketResponse response = objectstorageClient.getBucket(GetBucketRequest.builder()
+						.bucketName(bucketName).namespaceName(namespace).ifNoneMatch(cachedETag).build());
+				return response.isNotModified() ? null : new ETagged<>(response.getBucket(), response.getETag());
+			});
 		} catch (BmcException e) {
+			bucketCache.invalidate(bucketName);
 			return null;
 		}
 	}
@@ -286,6 +478,7 @@ public class ObjectStorageProcessor {
 		CreateBucketRequest request = CreateBucketRequest.builder().namespaceName(namespace)
 				.createBucketDetails(buildDetails).build();
 		Bucket bucket = objectstorageClient.createBucket(request).getBucket();
+		existenceChecker.forget(bucketName);
 		log.debug("Created bucket " + bucket.getName() + " with OCID " + bucket.getId() + " in compartment "
 				+ bucket.getCompartmentId());
 		return bucket;
@@ -311,6 +504,7 @@ public class ObjectStorageProcessor {
 		DeleteBucketRequest request = DeleteBucketRequest.builder().bucketName(bucketName).namespaceName(namespace)
 				.build();
 		DeleteBucketResponse response = objectstorageClient.deleteBucket(request);
+		bucketCache.invalidate(bucketName);
 		log.debug("delete bucket request for name " + bucketName + " has response code "
 				+ response.get__httpStatusCode__());
 		return response.get__httpStatusCode__() == HttpURLConnection.HTTP_OK;
@@ -379,6 +573,10 @@ public class ObjectStorageProcessor {
 	 * returns a set of all prefixes (i.e. object names with last part of the name
 	 * removed)
 	 * 
+	 * This uses the object storage delimiter support to walk the prefix tree a
+	 * level at a time, so only the prefixes are held in memory, not the names of
+	 * every object in the bucket
+	 * 
 	 * @see the pathSeparatorInObjectStorage related methods to set tghe prexix
 	 *      separator, but default / is used
 	 * @param bucketName         - must not be null
@@ -393,38 +591,107 @@ public class ObjectStorageProcessor {
 	 */
 	public Set<String> listPrefixesInBucket(@NonNull String bucketName, String startPrefix,
 			boolean includePrefixPaths) {
-		Collection<String> objectNames = listObjectNamesInBucket(bucketName, startPrefix);
 		Set<String> results = new TreeSet<>();
 		if (includePrefixPaths) {
 			results.add(pathSeparatorInObjectStorage);
 		}
-		for (String objectName : objectNames) {
-			int lastDelim = objectName.lastIndexOf(pathSeparatorInObjectStorage);
-			if (lastDelim >= 0) {
-				String fullPrefix = objectName.substring(0, lastDelim);
-				if (includePrefixPaths) {
-					String partPrefix = "";
-					String prefixElements[] = fullPrefix.split(pathSeparatorInObjectStorage);
-					boolean doneFirst = false;
-					for (String prefixPath : prefixElements) {
-						if (doneFirst) {
-							partPrefix = partPrefix + pathSeparatorInObjectStorage + prefixPath;
-							results.add(partPrefix);
-						} else {
-							partPrefix = prefixPath;
-							if (partPrefix.length() > 0) {
-								results.add(partPrefix);
-							}
-							doneFirst = true;
-						}
-					}
-				} else {
-					results.add(fullPrefix);
-				}
-			}
+		// objects directly under the start prefix have no prefix of their own
+		walkPrefixesInBucket(bucketName, startPrefix, true, !includePrefixPaths)
+				.filter(prefix -> !prefix.equals(startPrefix)).map(prefix -> {
+					// remove the start prefix and the trailing separator to match the names
+					// returned by listObjectNamesInBucket
+					String relativePrefix = startPrefix == null ? prefix : prefix.substring(startPrefix.length());
+					return relativePrefix.endsWith(pathSeparatorInObjectStorage) ? relativePrefix.substring(0,
+							relativePrefix.length() - pathSeparatorInObjectStorage.length()) : relativePrefix;
+				}).filter(prefix -> !includePrefixPaths || prefix.length() > 0).forEach(results::add);
+		return results;
+	}
+
+	/**
+	 * returns a stream of the prefixes directly under the parent prefix (i.e. one
+	 * "directory" level). The prefixes are retrieved from object storage a page at
+	 * a time as the stream is consumed.
+	 * 
+	 * The returned prefixes are the full prefix names as reported by object storage
+	 * including the parent prefix and the trailing path separator e.g. a parent
+	 * prefix of department/ may return department/project1/ and
+	 * department/project2/
+	 * 
+	 * Note that object storage currently only supports / as a delimiter, so this
+	 * will only work as expected if the pathSeparatorInObjectStorage is the default
+	 * 
+	 * @param bucketName   - must not be null
+	 * @param parentPrefix - if null the top level prefixes in the bucket are
+	 *                     returned
+	 * @return a stream of zero or more prefixes
+	 */
+	public Stream<String> streamPrefixesInBucket(@NonNull String bucketName, String parentPrefix) {
+		return streamPrefixesInBucket(bucketName, parentPrefix, false);
+	}
 
+	/**
+	 * returns a stream of the prefixes under the parent prefix, if recursive is
+	 * true then the prefixes of all levels under the parent are returned (depth
+	 * first, each prefix is followed by the prefixes under it). The prefix tree is
+	 * walked on demand as the stream is consumed, only the page currently being
+	 * processed for each level is held in memory, so this can be used on buckets
+	 * with very large numbers of objects
+	 * 
+	 * @see #streamPrefixesInBucket(String, String)
+	 * @param bucketName   - must not be null
+	 * @param parentPrefix - if null the walk starts at the top of the bucket
+	 * @param recursive    - if true the prefixes at all levels are returned, if
+	 *                     false only those immediately under the parent prefix
+	 * @return a stream of zero or more prefixes
+	 */
+	public Stream<String> streamPrefixesInBucket(@NonNull String bucketName, String parentPrefix,
+			boolean recursive) {
+		return walkPrefixesInBucket(bucketName, parentPrefix, recursive, false);
+	}
+
+	/**
+	 * walks the prefix tree using the delimiter support in list objects.
+	 * 
+	 * @param bucketName         - must not be null
+	 * @param parentPrefix       - where to start, null for the top of the bucket
+	 * @param recursive          - if true walk all levels
+	 * @param objectPrefixesOnly - if true only return prefixes that directly
+	 *                           contain at least one object, each prefix is
+	 *                           returned after the prefixes under it as we only
+	 *                           know if it contains objects once its level has
+	 *                           been fully listed
+	 * @return
+	 */
+	private Stream<String> walkPrefixesInBucket(@NonNull String bucketName, String parentPrefix, boolean recursive,
+			boolean objectPrefixesOnly) {
+		ListObjectsRequest.Builder listObjectsBuilder = ListObjectsRequest.builder().bucketName(bucketName)
+				.namespaceName(namespace).delimiter(pathSeparatorInObjectStorage).fields("name");
+		if (parentPrefix != null) {
+			listObjectsBuilder.prefix(parentPrefix);
 		}
-		return results;
+		Iterable<ListObjectsResponse> pages = objectstorageClient.getPaginators()
+				.listObjectsResponseIterator(listObjectsBuilder.build());
+		AtomicBoolean containsObjects = new AtomicBoolean(false);
+		Stream<String> childPrefixes = PrefetchingPaginator.streamPages(pages, pageReadAhead).flatMap(page -> {
+			ListObjects listObjects = page.getListObjects();
+			if ((listObjects.getObjects() != null) && !listObjects.getObjects().isEmpty()) {
+				containsObjects.set(true);
+			}
+			return listObjects.getPrefixes() == null ? Stream.empty() : listObjects.getPrefixes().stream();
+		});
+		if (recursive) {
+			childPrefixes = childPrefixes.flatMap(childPrefix -> Stream.concat(
+					objectPrefixesOnly ? Stream.empty() : Stream.of(childPrefix),
+					walkPrefixesInBucket(bucketName, childPrefix, true, objectPrefixesOnly)));
+		}
+		if (objectPrefixesOnly) {
+			// the filter is only evaluated once the child prefixes have been consumed, by
+			// which time we know if there were any objects at this level, objects at the
+			// top of the bucket have no prefix
+			childPrefixes = Stream.concat(childPrefixes,
+					Stream.ofNullable(parentPrefix).filter(prefix -> containsObjects.get()));
+		}
+		return childPrefixes;
 	}
 
 	/**
@@ -469,6 +736,76 @@ public class ObjectStorageProcessor {
 	public Map<String, ObjectSummary> mapObjectsInBucket(@NonNull String bucketName, String prefix, String start,
 			String end) {
 		Map<String, ObjectSummary> objectSummaries = new HashMap<>();
+		streamObjectsInBucket(bucketName, prefix, start, end).forEach(objectSummary -> objectSummaries.put(
+				prefix == null ? objectSummary.getName() : objectSummary.getName().substring(prefix.length()),
+				objectSummary));
+		return objectSummaries;
+	}
+
+	/**
+	 * get a stream of all of the objects summaries in the bucket, the summaries
+	 * are retrieved a page at a time as the stream is consumed so this can be used
+	 * on buckets with very large numbers of objects
+	 * 
+	 * @param bucketName - must not be null
+	 * @return stream of the object summaries in name order
+	 */
+	public Stream<ObjectSummary> streamObjectsInBucket(@NonNull String bucketName) {
+		return streamObjectsInBucket(bucketName, null);
+	}
+
+	/**
+	 * get a stream of the objects summaries in the bucket under the prefix, the
+	 * summaries are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param bucketName - must not be null
+	 * @param prefix     - only objects with a matching prefix will be returned, if
+	 *                   null all objects will be returned.
+	 * @return stream of the object summaries in name order, unlike the map methods
+	 *         the prefix is not removed from the object names
+	 */
+	public Stream<ObjectSummary> streamObjectsInBucket(@NonNull String bucketName, String prefix) {
+		return streamObjectsInBucket(bucketName, prefix, null, null);
+	}
+
+	/**
+	 * get a stream of the objects optionally under the prefix, optionally with the
+	 * name including or after the start, optionally with the name before the end.
+	 * The summaries are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param bucketName - must be non null
+	 * @param prefix     - if not null the prefix will be applied as a filter
+	 * @param start      - if not null then only objects with a name which are the
+	 *                   same as or greater than the start will be returned
+	 * @param end        - if not null then only objects with a name which are the
+	 *                   less than than the start will be returned
+	 * @return stream of the object summaries in name order, unlike the map methods
+	 *         the prefix is not removed from the object names
+	 */
+	public Stream<ObjectSummary> streamObjectsInBucket(@NonNull String bucketName, String prefix, String start,
+			String end) {
+		return streamObjectsInBucket(bucketName, prefix, start, end, null);
+	}
+
+	/**
+	 * get a stream of the objects optionally under the prefix, optionally with the
+	 * name including or after the start, optionally with the name before the end.
+	 * By default object storage only returns the name of each object, the fields
+	 * parameter requests others in the same listing
+	 * 
+	 * @param bucketName - must be non null
+	 * @param prefix     - if not null the prefix will be applied as a filter
+	 * @param start      - if not null then only objects with a name which are the
+	 *                   same as or greater than the start will be returned
+	 * @param end        - if not null then only objects with a name which are the
+	 *                   less than than the start will be returned
+	 * @param fields     - if not null a comma separated list of the fields to
+	 *                   return e.g. name,size,md5,timeModified
+	 * @return stream of the object summaries in name order, unlike the map methods
+	 *         the prefix is not removed from the object names
+	 */
+	public Stream<ObjectSummary> streamObjectsInBucket(@NonNull String bucketName, String prefix, String start,
+			String end, String fields) {
 		ListObjectsRequest.Builder listObjectsBuilder = ListObjectsRequest.builder().bucketName(bucketName)
 				.namespaceName(namespace);
 		if (prefix != null) {
@@ -480,64 +817,309 @@ public class ObjectStorageProcessor {
 		if (end != null) {
 			listObjectsBuilder.end(end);
 		}
-		Iterable<ObjectSummary> objectSummaryIterator = objectstorageClient.getPaginators()
-				.listObjectsRecordIterator(listObjectsBuilder.build());
-		for (ObjectSummary objectSummary : objectSummaryIterator) {
-			objectSummaries.put(
-					prefix == null ? objectSummary.getName() : objectSummary.getName().substring(prefix.length()),
-					objectSummary);
+		if (fields != null) {
+			listObjectsBuilder.fields(fields);
 		}
-		return objectSummaries;
+		Iterable<ListObjectsResponse> objectPages = objectstorageClient.getPaginators()
+				.listObjectsResponseIterator(listObjectsBuilder.build());
+		return PrefetchingPaginator.stream(objectPages, response -> response.getListObjects().getObjects(),
+				pageReadAhead);
 	}
 
 	/**
-	 * get the details of an object
+	 * get a stream of the objects optionally under the prefix, the name keyspace
+	 * is split into ranges which are listed in parallel and the results merged
+	 * back into name order. Use this for very large buckets, for small ones the
+	 * extra requests needed to split the keyspace will make it slower than
+	 * streamObjectsInBucket
 	 * 
+	 * @see PartitionedObjectLister
 	 * @param bucketName - must not be null
-	 * @param prefix     - if non null will be applied to the object name when
-	 *                   searching
+	 * @param prefix     - if not null the prefix will be applied as a filter
+	 * @return stream of the object summaries in name order, the prefix is not
+	 *         removed from the object names
+	 */
+	public Stream<ObjectSummary> streamObjectsInBucketInParallel(@NonNull String bucketName, String prefix) {
+		return streamObjectsInBucketInParallel(bucketName, prefix, null, PartitionedObjectLister.DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * get a stream of the objects optionally under the prefix, the name keyspace
+	 * is split into ranges using the top level prefixes or sampled names and up to
+	 * parallelism ranges are listed at once, the results are merged back into
+	 * name order
+	 * 
+	 * @see PartitionedObjectLister
+	 * @param bucketName  - must not be null
+	 * @param prefix      - if not null the prefix will be applied as a filter
+	 * @param fields      - if not null the fields to return for each object e.g.
+	 *                    name,size,md5 by default only the name is returned
+	 * @param parallelism - the maximum number of ranges to list at once
+	 * @return stream of the object summaries in name order, the prefix is not
+	 *         removed from the object names
+	 */
+	public Stream<ObjectSummary> streamObjectsInBucketInParallel(@NonNull String bucketName, String prefix,
+			String fields, int parallelism) {
+		PartitionedObjectLister lister = new PartitionedObjectLister(this, bucketName, prefix);
+		lister.setFields(fields);
+		lister.setParallelism(parallelism);
+		return lister.stream();
+	}
+
+	/**
+	 * get the number of objects and bytes under each prefix, down to the default
+	 * depth. Only the name and size of each object are listed and the listing is
+	 * not kept so this works for buckets too large for the map methods
+	 * 
+	 * @see BucketUsageAggregator
+	 * @param bucketName - must not be null
+	 * @param prefix     - if not null only objects under this are counted
+	 * @return the root of the rollup tree
+	 */
+	public PrefixUsage getBucketUsage(@NonNull String bucketName, String prefix) {
+		return getBucketUsage(bucketName, prefix, BucketUsageAggregator.DEFAULT_MAX_DEPTH,
+				BucketUsageAggregator.DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * get the number of objects and bytes under each prefix, the prefixes
+	 * directly under the one provided are listed in parallel
+	 * 
+	 * @see BucketUsageAggregator
+	 * @param bucketName  - must not be null
+	 * @param prefix      - if not null only objects under this are counted
+	 * @param maxDepth    - the number of levels below the prefix to have nodes for
+	 *                    in the tree, 0 for just the totals
+	 * @param parallelism - the maximum number of prefixes to list at once
+	 * @return the root of the rollup tree
+	 */
+	public PrefixUsage getBucketUsage(@NonNull String bucketName, String prefix, int maxDepth, int parallelism) {
+		BucketUsageAggregator aggregator = new BucketUsageAggregator(this, bucketName);
+		aggregator.setMaxDepth(maxDepth);
+		aggregator.setParallelism(parallelism);
+		return aggregator.aggregate(prefix);
+	}
+
+	/**
+	 * lists the objects optionally under the prefix into a local snapshot file
+	 * which can be queried instead of listing the bucket again
+	 * 
+	 * @see BucketInventoryExporter
+	 * @param bucketName   - must not be null
+	 * @param prefix       - if not null only objects under this are included
+	 * @param snapshotFile - must not be null, replaced once the snapshot is
+	 *                     complete
+	 * @return the snapshot
+	 * @throws IOException
+	 */
+	public InventorySnapshot exportBucketInventory(@NonNull String bucketName, String prefix,
+			@NonNull Path snapshotFile) throws IOException {
+		return new BucketInventoryExporter(this, bucketName).export(prefix, snapshotFile);
+	}
+
+	/**
+	 * brings a snapshot file up to date by listing again only the prefixes that
+	 * have changed since it was taken, the rest is copied from the old snapshot
+	 * 
+	 * @see BucketInventoryExporter
+	 * @param snapshotFile    - must not be null, an existing snapshot which is
+	 *                        replaced by the refreshed one
+	 * @param changedPrefixes - the prefixes that may have changed since the
+	 *                        snapshot was taken, if null the whole snapshot is
+	 *                        listed again
+	 * @return the refreshed snapshot
+	 * @throws IOException
+	 */
+	public InventorySnapshot refreshBucketInventory(@NonNull Path snapshotFile, Collection<String> changedPrefixes)
+			throws IOException {
+		InventorySnapshot previous = InventorySnapshot.load(snapshotFile);
+		return new BucketInventoryExporter(this, previous.getBucketName()).refresh(previous, changedPrefixes,
+				snapshotFile);
+	}
+
+	/**
+	 * get the details of an object using a HEAD request, the summary has
+	 * everything apart from the creation time
+	 * 
+	 * @param bucketName - must not be null
+	 * @param prefix     - if non null will be applied to the object name before
+	 *                   looking for it
 	 * @param objectName - must not be null
 	 * @return object summary or null if not found
+	 * @throws BmcException if the check failed for a reason other than the object
+	 *                      not being found
 	 */
 	public ObjectSummary getObjectSummary(@NonNull String bucketName, String prefix, @NonNull String objectName) {
-		Map<String, ObjectSummary> summaries = mapObjectsInBucket(bucketName, prefix, objectName, objectName);
-		return summaries.get(objectName);
+		ProbeResult<ObjectSummary> result = existenceChecker.probeObject(bucketName,
+				prefix == null ? objectName : prefix + objectName);
+		result.existsOrThrow();
+		return result.metadata();
 	}
 
-	public long deleteObjectsInBucket(@NonNull String bucketName) {
+	/**
+	 * delete all of the objects in the bucket, this must be done before the bucket
+	 * itself can be deleted
+	 * 
+	 * @see #deleteObjectsInBucket(String, String)
+	 * @param bucketName - must not be null
+	 * @return a report of the deleted, missing and failed object names
+	 */
+	public ObjectDeletionReport deleteObjectsInBucket(@NonNull String bucketName) {
 		return deleteObjectsInBucket(bucketName, null);
 	}
 
-	public long deleteObjectsInBucket(@NonNull String bucketName, String prefix) {
-		Map<String, ObjectSummary> objectsToDelete = mapObjectsInBucket(bucketName, prefix);
-		return deleteObjects(bucketName, prefix, objectsToDelete.keySet());
+	/**
+	 * delete all of the objects in the bucket under the prefix. The deletes start
+	 * as soon as the first page of names has been listed and up to
+	 * deleteParallelism are made at once on virtual threads, if the service
+	 * throttles the requests the number in flight is reduced
+	 * 
+	 * @param bucketName - must not be null
+	 * @param prefix     - if not null only objects starting with this are deleted
+	 * @return a report of the deleted, missing and failed object names, the names
+	 *         include the prefix
+	 */
+	public ObjectDeletionReport deleteObjectsInBucket(@NonNull String bucketName, String prefix) {
+		return bulkObjectDeleter(bucketName)
+				.delete(streamObjectsInBucket(bucketName, prefix).map(objectSummary -> objectSummary.getName()));
 	}
 
 	/**
-	 * delete the objects with the names in the object males list
+	 * delete the objects with the names in the object names list, up to
+	 * deleteParallelism are deleted at once
 	 * 
 	 * @param bucketName  - must not be null
 	 * @param objectNames - must not be null
-	 * @return n umber of deleted objects
+	 * @return a report of the deleted, missing and failed object names
 	 */
-	public long deleteObjects(@NonNull String bucketName, @NonNull Collection<String> objectNames) {
-		return deleteObjects(bucketName, null, objectNames);
+	public ObjectDeletionReport deleteObjects(@NonNull String bucketName, @NonNull Collection<String> objectNames) {
+		return bulkObjectDeleter(bucketName).delete(objectNames.stream());
+	}
+
+	private BulkObjectDeleter bulkObjectDeleter(String bucketName) {
+		BulkObjectDeleter deleter = new BulkObjectDeleter(this, bucketName);
+		deleter.setParallelism(deleteParallelism);
+		return deleter;
 	}
 
 	/**
-	 * delete the objects with the names in the object males list, if non null the
-	 * prefix will be applied to the name
+	 * copy all of the objects under the source prefix to the destination bucket in
+	 * the same region, the source prefix is replaced by the destination prefix in
+	 * the new names. The copies are done by the service so the data does not pass
+	 * through this client, up to copyParallelism are in progress at once
 	 * 
-	 * @param bucketName  - must not be null
-	 * @param prefix      - if non null will be applied to the object name when
-	 *                    deleting
-	 * @param objectNames - must not be null
-	 * @return n umber of deleted objects
+	 * @param sourceBucketName      - must not be null
+	 * @param sourcePrefix          - if not null only objects starting with this
+	 *                              are copied
+	 * @param destinationBucketName - must not be null, may be the same as the
+	 *                              source bucket if the prefixes differ
+	 * @param destinationPrefix     - if not null replaces the source prefix
+	 * @return a report of the copied, missing and failed object names
+	 */
+	public ObjectCopyReport copyObjects(@NonNull String sourceBucketName, String sourcePrefix,
+			@NonNull String destinationBucketName, String destinationPrefix) {
+		return copyObjectsToRegion(sourceBucketName, sourcePrefix, regionName, destinationBucketName,
+				destinationPrefix);
+	}
+
+	/**
+	 * copy all of the objects under the source prefix to the destination bucket in
+	 * another region, the source prefix is replaced by the destination prefix in
+	 * the new names
+	 * 
+	 * @param sourceBucketName      - must not be null
+	 * @param sourcePrefix          - if not null only objects starting with this
+	 *                              are copied
+	 * @param destinationRegionName - must not be null, the region id e.g.
+	 *                              us-ashburn-1
+	 * @param destinationBucketName - must not be null
+	 * @param destinationPrefix     - if not null replaces the source prefix
+	 * @return a report of the copied, missing and failed object names
+	 */
+	public ObjectCopyReport copyObjectsToRegion(@NonNull String sourceBucketName, String sourcePrefix,
+			@NonNull String destinationRegionName, @NonNull String destinationBucketName, String destinationPrefix) {
+		BulkObjectCopier copier = bulkObjectCopier(sourceBucketName);
+		copier.setDestinationRegion(destinationRegionName);
+		boolean sameBucket = destinationRegionName.equals(regionName)
+				&& destinationBucketName.equals(sourceBucketName);
+		ObjectCopyReport report = copier.copy(
+				sourceObjectNames(sourceBucketName, sourcePrefix, sameBucket, destinationPrefix),
+				destinationBucketName, prefixReplacer(sourcePrefix, destinationPrefix));
+		if (destinationRegionName.equals(regionName)) {
+			report.getCompleted().values().forEach(objectName -> objectWritten(destinationBucketName, objectName));
+		}
+		return report;
+	}
+
+	/**
+	 * copy the named objects to the destination bucket in the same region keeping
+	 * their names
+	 * 
+	 * @param sourceBucketName      - must not be null
+	 * @param objectNames           - must not be null
+	 * @param destinationBucketName - must not be null
+	 * @return a report of the copied, missing and failed object names
+	 */
+	public ObjectCopyReport copyObjects(@NonNull String sourceBucketName, @NonNull Collection<String> objectNames,
+			@NonNull String destinationBucketName) {
+		ObjectCopyReport report = bulkObjectCopier(sourceBucketName).copy(objectNames.stream(),
+				destinationBucketName, objectName -> objectName);
+		report.getCompleted().values().forEach(objectName -> objectWritten(destinationBucketName, objectName));
+		return report;
+	}
+
+	/**
+	 * rename all of the objects under the source prefix so they are under the
+	 * destination prefix instead, this is done by the service without copying the
+	 * data. Up to copyParallelism renames are made at once. If one prefix starts
+	 * with the other all of the source names are listed before any are renamed so
+	 * the renamed objects aren't renamed again
+	 * 
+	 * @param bucketName        - must not be null
+	 * @param sourcePrefix      - if not null only objects starting with this are
+	 *                          renamed
+	 * @param destinationPrefix - if not null replaces the source prefix
+	 * @return a report of the renamed, missing and failed object names
 	 */
+	public ObjectCopyReport renameObjects(@NonNull String bucketName, String sourcePrefix,
+			String destinationPrefix) {
+		ObjectCopyReport report = bulkObjectCopier(bucketName).rename(
+				sourceObjectNames(bucketName, sourcePrefix, true, destinationPrefix),
+				prefixReplacer(sourcePrefix, destinationPrefix));
+		report.getCompleted().forEach((oldName, newName) -> {
+			existenceChecker.forget(bucketName, oldName);
+			objectWritten(bucketName, newName);
+		});
+		return report;
+	}
+
+	private BulkObjectCopier bulkObjectCopier(String bucketName) {
+		BulkObjectCopier copier = new BulkObjectCopier(this, bucketName);
+		copier.setParallelism(copyParallelism);
+		copier.setPollIntervalMillis(copyPollIntervalMillis);
+		return copier;
+	}
 
-	private long deleteObjects(@NonNull String bucketName, String prefix, @NonNull Collection<String> objectNames) {
-		return objectNames.stream().map(objectName -> deleteObject(bucketName, prefix, objectName))
-				.filter(deleteResp -> deleteResp).count();
+	// the listing is lazy, so if the new names can be under the source prefix in
+	// the same bucket they would turn up in later pages and be processed again
+	// (e.g. logs/ to logs/archive/), in that case the names that exist now are
+	// collected before anything is created
+	private Stream<String> sourceObjectNames(String bucketName, String sourcePrefix, boolean sameBucket,
+			String destinationPrefix) {
+		Stream<String> objectNames = streamObjectsInBucket(bucketName, sourcePrefix)
+				.map(objectSummary -> objectSummary.getName());
+		String source = sourcePrefix == null ? "" : sourcePrefix;
+		String destination = destinationPrefix == null ? "" : destinationPrefix;
+		if (sameBucket && (destination.startsWith(source) || source.startsWith(destination))) {
+			return objectNames.toList().stream();
+		}
+		return objectNames;
+	}
+
+	private UnaryOperator<String> prefixReplacer(String sourcePrefix, String destinationPrefix) {
+		int sourcePrefixLength = sourcePrefix == null ? 0 : sourcePrefix.length();
+		String newPrefix = destinationPrefix == null ? "" : destinationPrefix;
+		return objectName -> newPrefix + objectName.substring(sourcePrefixLength);
 	}
 
 	/**
@@ -590,12 +1172,67 @@ public class ObjectStorageProcessor {
 	// IMPORTANT, the caller is responsible for closing the stream
 	// returns null if the bucket / object name is not valid
 	public InputStream getObject(@NonNull String bucketName, @NonNull String objectName) {
+		if (objectCache != null) {
+			try {
+				return objectCache.get(bucketName, objectName, decompressDownloads);
+			} catch (IOException e) {
+				log.warn("Problem using the object cache for " + objectName + ", reading it directly, msg is "
+						+ e.getLocalizedMessage());
+			}
+		}
 		GetObjectResponse getResponse = objectstorageClient.getObject(GetObjectRequest.builder()
 				.namespaceName(namespace).bucketName(bucketName).objectName(objectName).build());
 		// stream contents should match the file uploaded
+		if (decompressDownloads) {
+			try {
+				return ObjectCompression.decompress(getResponse.getContentEncoding(), getResponse.getInputStream());
+			} catch (IOException e) {
+				log.warn("Can't decompress object " + objectName + ", msg is " + e.getLocalizedMessage());
+				return null;
+			}
+		}
 		return getResponse.getInputStream();
 	}
 
+	/**
+	 * Turns on a local disk cache for getObject, objects read through it are kept
+	 * in the directory (least recently used ones being removed to keep within
+	 * maxBytes) and only downloaded again if they have changed. If there's a
+	 * problem with the local disk getObject falls back to reading the object
+	 * directly
+	 * 
+	 * @see LocalObjectCache
+	 * @param directory - must not be null, created if needed, anything already
+	 *                  cached there is reused
+	 * @param maxBytes  - the budget for the cached contents
+	 * @return the cache, this can be used to change its settings or to invalidate
+	 *         objects
+	 * @throws IOException if the directory can't be created or read
+	 */
+	public LocalObjectCache enableObjectCache(@NonNull Path directory, long maxBytes) throws IOException {
+		objectCache = new LocalObjectCache(this, directory, maxBytes);
+		return objectCache;
+	}
+
+	/**
+	 * Opens a read only SeekableByteChannel over the object, only the blocks of
+	 * the object that are read are fetched (using range requests) so reading the
+	 * end of a large file or a few scattered parts of it doesn't need the whole
+	 * object to be downloaded. Sequential reads fetch progressively larger ranges
+	 * ahead of the position.
+	 * 
+	 * @see SeekableObjectChannel
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 * @return the channel, the caller is responsible for closing it
+	 * @throws IOException if the object can't be found
+	 */
+	public SeekableObjectChannel openObjectChannel(@NonNull String bucketName, @NonNull String objectName)
+			throws IOException {
+		return new SeekableObjectChannel(this, bucketName, objectName, objectChannelBlockSize,
+				objectChannelCacheBlocks);
+	}
+
 	// IMPORTANT, the caller is responsible for closing the stream
 	// will transfer the data from the current position in the input
 	// stream up to the end of the stream
@@ -614,9 +1251,22 @@ public class ObjectStorageProcessor {
 	 * @return the version id of the object
 	 */
 	public String putObject(@NonNull String bucketName, @NonNull String objectName, @NonNull InputStream contents) {
+		if (uploadCompression != ObjectCompression.NONE) {
+			// the compressed length isn't known so this has to be a streaming upload,
+			// which doesn't return the version
+			try {
+				putCompressed(bucketName, objectName, contents);
+				return objectstorageClient.headObject(HeadObjectRequest.builder().namespaceName(namespace)
+						.bucketName(bucketName).objectName(objectName).build()).getVersionId();
+			} catch (IOException e) {
+				log.warn("Can't upload compressed object " + objectName + ", msg is " + e.getLocalizedMessage());
+				return null;
+			}
+		}
 		PutObjectResponse putResponse = objectstorageClient
 				.putObject(PutObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
 						.objectName(objectName).putObjectBody(contents).build());
+		objectWritten(bucketName, objectName);
 		if (putResponse.get__httpStatusCode__() != HttpURLConnection.HTTP_OK) {
 			return null;
 		} else {
@@ -624,6 +1274,96 @@ public class ObjectStorageProcessor {
 		}
 	}
 
+	/**
+	 * Uploads the provided input stream to the object as a multi part upload
+	 * without needing to know its length, the data is read into a pool of buffers
+	 * and each is uploaded as a part as soon as it is full. If there is less than
+	 * one part of data it's sent with a single put. Reading waits when all of the
+	 * buffers are being uploaded. The caller is responsible for closing the
+	 * stream, the data from the current position to the end of the stream is
+	 * uploaded
+	 * 
+	 * @see StreamingObjectUploader
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 * @param contents   - must not be null
+	 * @return MD5 hash of the content (the multi part MD5 for large uploads)
+	 * @throws IOException if reading the stream or the upload failed
+	 */
+	public String putObjectStreaming(@NonNull String bucketName, @NonNull String objectName,
+			@NonNull InputStream contents) throws IOException {
+		if (uploadCompression != ObjectCompression.NONE) {
+			return putCompressed(bucketName, objectName, contents);
+		}
+		return objectWritten(bucketName, objectName,
+				new StreamingObjectUploader(this, bucketName, streamingUploadPool()).upload(objectName, contents));
+	}
+
+	/**
+	 * Uploads the provided channel to the object in the same way as the input
+	 * stream version of putObjectStreaming. The caller is responsible for closing
+	 * the channel
+	 * 
+	 * @see StreamingObjectUploader
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null
+	 * @param contents   - must not be null and in blocking mode
+	 * @return MD5 hash of the content (the multi part MD5 for large uploads)
+	 * @throws IOException if reading the channel or the upload failed
+	 */
+	public String putObjectStreaming(@NonNull String bucketName, @NonNull String objectName,
+			@NonNull ReadableByteChannel contents) throws IOException {
+		if (uploadCompression != ObjectCompression.NONE) {
+			return putCompressed(bucketName, objectName, Channels.newInputStream(contents));
+		}
+		return objectWritten(bucketName, objectName,
+				new StreamingObjectUploader(this, bucketName, streamingUploadPool()).upload(objectName, contents));
+	}
+
+	// compresses the contents as they are read into the streaming upload buffers,
+	// so memory use is bounded by the pool whatever the size of the data
+	private String putCompressed(String bucketName, String objectName, InputStream contents) throws IOException {
+		return putCompressed(bucketName, objectName, contents, uploadCompression);
+	}
+
+	private String putCompressed(String bucketName, String objectName, InputStream contents,
+			ObjectCompression compression) throws IOException {
+		StreamingObjectUploader uploader = new StreamingObjectUploader(this, bucketName, streamingUploadPool());
+		uploader.setContentEncoding(compression.getContentEncoding());
+		String md5;
+		try (InputStream compressed = compression.compress(contents)) {
+			md5 = uploader.upload(objectName, compressed);
+		}
+		return objectWritten(bucketName, objectName, md5);
+	}
+
+	/**
+	 * drops anything remembered about the object that a write makes out of date,
+	 * every upload path calls this once the object has been written
+	 * 
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full object name
+	 */
+	void objectWritten(@NonNull String bucketName, @NonNull String objectName) {
+		existenceChecker.forget(bucketName, objectName);
+	}
+
+	// for the upload methods that return what the upload returned
+	private <T> T objectWritten(String bucketName, String objectName, T result) {
+		objectWritten(bucketName, objectName);
+		return result;
+	}
+
+	// the pool is replaced if the settings have changed, uploads already using the
+	// old one carry on with it
+	private synchronized DirectBufferPool streamingUploadPool() {
+		if ((streamingUploadPool == null) || (streamingUploadPool.getBufferSize() != streamingUploadPartSize)
+				|| (streamingUploadPool.getCapacity() != streamingUploadPoolSize)) {
+			streamingUploadPool = new DirectBufferPool(streamingUploadPoolSize, streamingUploadPartSize);
+		}
+		return streamingUploadPool;
+	}
+
 	/**
 	 * Uploads the provided file to the object storage, triggering a multi part
 	 * upload if it's optimal. Note that the object name here shoudl include all
@@ -644,8 +1384,28 @@ public class ObjectStorageProcessor {
 	// upload a file, note that this does not do any checksumming at this time.
 	public String uploadFile(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
 			@NonNull File localFile) throws IOException {
+		return uploadFile(bucketName, objectPrefix, objectName, localFile, uploadCompression);
+	}
+
+	// the compression is passed in so callers that compare sizes or MD5s with the
+	// local file can upload without it
+	String uploadFile(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
+			@NonNull File localFile, @NonNull ObjectCompression compression) throws IOException {
 		String fullObjectName = objectPrefix == null ? objectName
 				: objectPrefix + pathSeparatorInObjectStorage + objectName;
+		if (compression != ObjectCompression.NONE) {
+			log.debug("Compressed upload of " + localFile.getPath() + " to bucket " + bucketName + " object name "
+					+ fullObjectName);
+			try (InputStream contents = Files.newInputStream(localFile.toPath())) {
+				return putCompressed(bucketName, fullObjectName, contents, compression);
+			}
+		}
+		if (adaptiveUploads) {
+			log.debug("Adaptive upload of " + localFile.getPath() + " to bucket " + bucketName + " object name "
+					+ fullObjectName);
+			return objectWritten(bucketName, fullObjectName,
+					adaptiveObjectUploader(bucketName).upload(fullObjectName, localFile.toPath()));
+		}
 		// share the upload manager and allow lazy instantiation, synchrnonize to allow
 		// for parallel operation(s)
 		synchronized (this) {
@@ -658,13 +1418,131 @@ public class ObjectStorageProcessor {
 		}
 		PutObjectRequest putObjectRequest = PutObjectRequest.builder().bucketName(bucketName).namespaceName(namespace)
 				.objectName(fullObjectName).build();
-		UploadRequest uploadRequest = UploadRequest.builder(localFile).allowOverwrite(true).build(putObjectRequest);
+		UploadRequest uploadRequest = UploadRequest.builder(localFile).allowOverwrite(true)
+				.parallelUploadExecutorService(uploadExecutor).build(putObjectRequest);
 		log.debug("Uploading " + localFile.getPath() + " to bucket " + bucketName + " object names " + fullObjectName);
 		UploadResponse uploadResponse = uploadManager.upload(uploadRequest);
+		objectWritten(bucketName, fullObjectName);
 		String uploadedMD5 = uploadResponse.getContentMd5();
 		return uploadedMD5 == null ? uploadResponse.getMultipartMd5() : uploadedMD5;
 	}
 
+	/**
+	 * Uploads the provided file as a multi part upload, recording the upload and
+	 * the parts sent in a journal. If the upload is interrupted calling this again
+	 * for the same unchanged file will only send the parts that object storage
+	 * does not already have. Note that like uploadFile the path separator is
+	 * placed between the prefix and the name
+	 * 
+	 * @see ResumableObjectUploader
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - if provided will be applied to the object name
+	 * @param objectName   - must not be null
+	 * @param localFile    - must not be null
+	 * @return MD5 hash of the content (the multi part MD5 for large files)
+	 * @throws IOException if the upload failed, it can be resumed by calling this
+	 *                     again
+	 */
+	public String uploadFileResumable(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
+			@NonNull File localFile) throws IOException {
+		String fullObjectName = objectPrefix == null ? objectName
+				: objectPrefix + pathSeparatorInObjectStorage + objectName;
+		ResumableObjectUploader uploader = new ResumableObjectUploader(this, bucketName);
+		return objectWritten(bucketName, fullObjectName,
+				uploader.upload(fullObjectName, localFile.toPath(), TransferJournal.locate(transferJournalDirectory,
+						localFile.toPath(), "upload", namespace + "/" + bucketName + "/" + fullObjectName)));
+	}
+
+	/**
+	 * Uploads the file using the AdaptiveObjectUploader, each part is read from a
+	 * memory mapping of the file so there are no intermediate copies of the data.
+	 * Note that like uploadFile the path separator is placed between the prefix
+	 * and the name
+	 * 
+	 * @see AdaptiveObjectUploader
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - if provided will be applied to the object name
+	 * @param objectName   - must not be null
+	 * @param localFile    - must not be null
+	 * @return MD5 hash of the content (the multi part MD5 for large files)
+	 * @throws IOException
+	 */
+	public String uploadFile(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
+			@NonNull Path localFile) throws IOException {
+		String fullObjectName = objectPrefix == null ? objectName
+				: objectPrefix + pathSeparatorInObjectStorage + objectName;
+		if (uploadCompression != ObjectCompression.NONE) {
+			try (InputStream contents = Files.newInputStream(localFile)) {
+				return putCompressed(bucketName, fullObjectName, contents);
+			}
+		}
+		return objectWritten(bucketName, fullObjectName,
+				adaptiveObjectUploader(bucketName).upload(fullObjectName, localFile));
+	}
+
+	/**
+	 * Uploads the whole of the channel (from byte 0 to its size) in the same way
+	 * as the Path version of uploadFile. The channel position is not used or
+	 * changed and the caller is responsible for closing it
+	 * 
+	 * @see AdaptiveObjectUploader
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full object name
+	 * @param source     - must not be null and must be readable
+	 * @return MD5 hash of the content (the multi part MD5 for large files)
+	 * @throws IOException
+	 */
+	public String uploadFile(@NonNull String bucketName, @NonNull String objectName, @NonNull FileChannel source)
+			throws IOException {
+		if (uploadCompression != ObjectCompression.NONE) {
+			return putCompressed(bucketName, objectName, new FileRangeInputStream(source, 0, source.size()));
+		}
+		return objectWritten(bucketName, objectName, adaptiveObjectUploader(bucketName).upload(objectName, source));
+	}
+
+	/**
+	 * Uploads the file as content addressed chunks with a manifest at the object
+	 * name, only the chunks that are not already in the bucket under
+	 * deduplicationChunkPrefix are sent. Use this for large files that change a
+	 * little between versions, downloadFileDeduplicated reads them back
+	 * 
+	 * @see DeduplicatingObjectUploader
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full name of the manifest object
+	 * @param localFile  - must not be null
+	 * @return the number of chunks and bytes that had to be uploaded
+	 * @throws IOException
+	 */
+	public DeduplicatingObjectUploader.Result uploadFileDeduplicated(@NonNull String bucketName,
+			@NonNull String objectName, @NonNull Path localFile) throws IOException {
+		DeduplicatingObjectUploader uploader = new DeduplicatingObjectUploader(this, bucketName);
+		uploader.setChunkPrefix(deduplicationChunkPrefix);
+		return uploader.upload(objectName, localFile);
+	}
+
+	/**
+	 * Opens a writer that batches records into objects named with the prefix and
+	 * the time they were written, the objects are uploaded in the background. The
+	 * writer must be closed (or flushed) to be sure the records are in object
+	 * storage
+	 * 
+	 * @see RollingObjectWriter
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - if not null the start of each object name
+	 * @return the writer, its settings can be changed before the first record is
+	 *         written
+	 */
+	public RollingObjectWriter openRollingWriter(@NonNull String bucketName, String objectPrefix) {
+		return new RollingObjectWriter(this, bucketName, objectPrefix);
+	}
+
+	private AdaptiveObjectUploader adaptiveObjectUploader(String bucketName) {
+		AdaptiveObjectUploader uploader = new AdaptiveObjectUploader(this, bucketName);
+		uploader.setMaxParallelism(adaptiveUploadMaxParallelism);
+		uploader.setExecutor(uploadExecutor);
+		return uploader;
+	}
+
 	/**
 	 * Upload all files in the localStartingPoint directory. The path name
 	 * represented by localStartingPoint will be removed from the object name in
@@ -687,19 +1565,54 @@ public class ObjectStorageProcessor {
 	 * @param objectPrefix       - if provided will be applied to all uploaded
 	 *                           objects
 	 * @param localStartingPoint - must not be null and must be a directory
-	 * @return the relative file names and their MD5 checksums
+	 * @return the uploaded objects with their sizes and MD5 checksums and any
+	 *         failures
 	 * @throws IOException
 	 */
-	public String uploadDirectory(@NonNull String bucketName, String objectPrefix, @NonNull File localStartingPoint)
-			throws IOException {
+	public TransferReport uploadDirectory(@NonNull String bucketName, String objectPrefix,
+			@NonNull File localStartingPoint) throws IOException {
+		TransferReport report = new TransferReport(TransferReport.Direction.UPLOAD, bucketName);
+		uploadDirectory(bucketName, objectPrefix, localStartingPoint, report);
+		return report.finished();
+	}
+
+	private void uploadDirectory(String bucketName, String objectPrefix, File localStartingPoint,
+			TransferReport report) {
 		// get all of the objects within it
 		File[] dirEntries = localStartingPoint.listFiles();
-		String res = "";
+		if (dirEntries == null) {
+			report.recordFailed(objectPrefix, localStartingPoint.getPath(), 0, "Can't list directory");
+			return;
+		}
 		for (File dirEntry : dirEntries) {
 			log.debug("Uploading from directory " + localStartingPoint + " object " + dirEntry.getName());
-			res += uploadObject(bucketName, objectPrefix, dirEntry) + "\n";
+			uploadObject(bucketName, objectPrefix, dirEntry, report);
 		}
-		return res;
+	}
+
+	/**
+	 * Packed version of uploadDirectory for trees with lots of small files, the
+	 * small files are bundled into large pack objects with an index object
+	 * recording where each one is, files above packSmallFileThreshold are uploaded
+	 * as their own objects. Everything is put under the prefix, use
+	 * openPackReader, getPackedObject or downloadDirectoryPacked to read the files
+	 * back
+	 * 
+	 * @see ObjectPackWriter
+	 * @param bucketName         - must not be null
+	 * @param objectPrefix       - if provided the packs, index and large files are
+	 *                           put under this
+	 * @param localStartingPoint - must not be null and must be a directory
+	 * @return the result for each file
+	 * @throws IOException if the directory can't be read or the index can't be
+	 *                     written
+	 */
+	public TransferReport uploadDirectoryPacked(@NonNull String bucketName, String objectPrefix,
+			@NonNull File localStartingPoint) throws IOException {
+		ObjectPackWriter writer = new ObjectPackWriter(this, bucketName, objectPrefix);
+		writer.setPackSize(packSize);
+		writer.setSmallFileThreshold(packSmallFileThreshold);
+		return writer.pack(localStartingPoint.toPath());
 	}
 
 	/**
@@ -713,10 +1626,11 @@ public class ObjectStorageProcessor {
 	 * @param parallelUploads     - if true then each of the localStarting points is
 	 *                            uploaded in parallel (or at least as parallel as
 	 *                            the object storage system supports
-	 * @return the relative file names and their MD5 checksums
+	 * @return the uploaded objects with their sizes and MD5 checksums and any
+	 *         failures
 	 * @throws IOException
 	 */
-	public String uploadObjects(@NonNull String bucketName, String objectPrefix,
+	public TransferReport uploadObjects(@NonNull String bucketName, String objectPrefix,
 			@NonNull Collection<File> localStartingPoints) throws IOException {
 		return uploadObjects(bucketName, objectPrefix, localStartingPoints, false);
 	}
@@ -732,20 +1646,16 @@ public class ObjectStorageProcessor {
 	 * @param parallelUploads     - if true then each of the localStarting points is
 	 *                            uploaded in parallel (or at least as parallel as
 	 *                            the object storage system supports
-	 * @return the relative file names and their MD5 checksums
+	 * @return the uploaded objects with their sizes and MD5 checksums and any
+	 *         failures
 	 * @throws IOException
 	 */
-	public String uploadObjects(@NonNull String bucketName, String objectPrefix,
+	public TransferReport uploadObjects(@NonNull String bucketName, String objectPrefix,
 			@NonNull Collection<File> localStartingPoints, boolean parallelUploads) throws IOException {
-		return (parallelUploads ? localStartingPoints.parallelStream() : localStartingPoints.stream())
-				.map(localStartingPoint -> {
-					try {
-						return uploadObject(bucketName, objectPrefix, localStartingPoint);
-					} catch (IOException e) {
-						return "Problem  uploading to bucket " + bucketName + " wth prefix " + objectPrefix
-								+ "  from local start " + localStartingPoint.getPath();
-					}
-				}).collect(Collectors.joining("\n"));
+		TransferReport report = new TransferReport(TransferReport.Direction.UPLOAD, bucketName);
+		(parallelUploads ? localStartingPoints.parallelStream() : localStartingPoints.stream())
+				.forEach(localStartingPoint -> uploadObject(bucketName, objectPrefix, localStartingPoint, report));
+		return report.finished();
 	}
 
 	/**
@@ -755,27 +1665,94 @@ public class ObjectStorageProcessor {
 	 * @param objectPrefix       - if provided will be applied to all uploaded
 	 *                           objects
 	 * @param localStartingPoint - must not be null and must be a file or directory
-	 * @return the relative file names and their MD5 checksums
+	 * @return the uploaded objects with their sizes and MD5 checksums and any
+	 *         failures
 	 * @throws IOException
 	 */
 
-	public String uploadObject(@NonNull String bucketName, String objectPrefix, @NonNull File localStartingPoint)
-			throws IOException {
+	public TransferReport uploadObject(@NonNull String bucketName, String objectPrefix,
+			@NonNull File localStartingPoint) throws IOException {
+		TransferReport report = new TransferReport(TransferReport.Direction.UPLOAD, bucketName);
+		uploadObject(bucketName, objectPrefix, localStartingPoint, report);
+		return report.finished();
+	}
+
+	private void uploadObject(String bucketName, String objectPrefix, File localStartingPoint,
+			TransferReport report) {
+		String objectName = objectPrefix == null ? localStartingPoint.getName()
+				: objectPrefix + pathSeparatorInObjectStorage + localStartingPoint.getName();
 		// build a full list of the local directories
 		if (!localStartingPoint.canRead()) {
-			return "Can't read " + localStartingPoint.getPath();
+			report.recordSkipped(objectName, localStartingPoint.getPath(),
+					"Can't read " + localStartingPoint.getPath());
 		} else if (localStartingPoint.isFile()) {
-			return localStartingPoint.getName() + " "
-					+ uploadFile(bucketName, objectPrefix, localStartingPoint.getName(), localStartingPoint);
+			long start = System.currentTimeMillis();
+			try {
+				String md5 = uploadFile(bucketName, objectPrefix, localStartingPoint.getName(), localStartingPoint);
+				report.recordTransferred(objectName, localStartingPoint.getPath(), localStartingPoint.length(),
+						System.currentTimeMillis() - start, md5);
+			} catch (IOException | BmcException e) {
+				log.warn("Problem uploading " + localStartingPoint.getPath() + ", msg is " + e.getLocalizedMessage());
+				report.recordFailed(objectName, localStartingPoint.getPath(), System.currentTimeMillis() - start,
+						e.getLocalizedMessage());
+			}
 		} else if (localStartingPoint.isDirectory()) {
-			return localStartingPoint.getName() + " directory\n" + uploadDirectory(bucketName,
-					objectPrefix + pathSeparatorInObjectStorage + localStartingPoint.getName(), localStartingPoint);
+			uploadDirectory(bucketName, objectPrefix + pathSeparatorInObjectStorage + localStartingPoint.getName(),
+					localStartingPoint, report);
 		} else {
-			return "while " + localStartingPoint.getPath()
-					+ " is readable it's not a file or a directory, don't know what to do with it.";
+			report.recordSkipped(objectName, localStartingPoint.getPath(), "while " + localStartingPoint.getPath()
+					+ " is readable it's not a file or a directory, don't know what to do with it.");
 		}
 	}
 
+	/**
+	 * Incremental version of uploadDirectory, lists the objects under the prefix
+	 * once (requesting their size, MD5 and modification time) and only uploads
+	 * local files that are new or have changed. Objects are named the same way as
+	 * uploadDirectory
+	 * 
+	 * @see DirectorySynchronizer
+	 * @param bucketName     - must not be null
+	 * @param objectPrefix   - if provided will be applied to all uploaded objects
+	 * @param localDirectory - must not be null and must be a directory
+	 * @param deleteOrphans  - if true objects under the prefix that have no local
+	 *                       file are deleted, if the prefix is null this applies to
+	 *                       the whole bucket
+	 * @return what was uploaded, unchanged, failed and deleted
+	 * @throws IOException if the local directory can't be read
+	 */
+	public SyncReport syncDirectory(@NonNull String bucketName, String objectPrefix, @NonNull File localDirectory,
+			boolean deleteOrphans) throws IOException {
+		return syncDirectory(bucketName, objectPrefix, localDirectory, deleteOrphans, null);
+	}
+
+	/**
+	 * Incremental version of uploadDirectory that keeps a manifest of the local
+	 * files sizes, modification times and MD5s between runs, so only files that
+	 * have changed since the last run need to be hashed to compare them with the
+	 * objects
+	 * 
+	 * @see DirectorySynchronizer
+	 * @see LocalFileManifest
+	 * @param bucketName     - must not be null
+	 * @param objectPrefix   - if provided will be applied to all uploaded objects
+	 * @param localDirectory - must not be null and must be a directory
+	 * @param deleteOrphans  - if true objects under the prefix that have no local
+	 *                       file are deleted, if the prefix is null this applies to
+	 *                       the whole bucket
+	 * @param manifestFile   - if not null where the manifest is kept, it is
+	 *                       created if needed and is not uploaded
+	 * @return what was uploaded, unchanged, failed and deleted
+	 * @throws IOException if the local directory can't be read
+	 */
+	public SyncReport syncDirectory(@NonNull String bucketName, String objectPrefix, @NonNull File localDirectory,
+			boolean deleteOrphans, File manifestFile) throws IOException {
+		DirectorySynchronizer synchronizer = new DirectorySynchronizer(this, bucketName, objectPrefix);
+		synchronizer.setDeleteOrphans(deleteOrphans);
+		synchronizer.setManifestFile(manifestFile == null ? null : manifestFile.toPath());
+		return synchronizer.sync(localDirectory.toPath());
+	}
+
 	/**
 	 * Downloads the specified object into the provided localFile
 	 * 
@@ -817,6 +1794,12 @@ public class ObjectStorageProcessor {
 			GetObjectResponse response = downloadManager.downloadObjectToFile(request, localFile);
 			log.debug("download object " + fullObjectName + " in bucket " + bucketName + " to " + localFile.getPath()
 					+ " has response code " + response.get__httpStatusCode__());
+			if (decompressDownloads && (ObjectCompression
+					.forContentEncoding(response.getContentEncoding()) != ObjectCompression.NONE)) {
+				// the download manager fetches ranges in parallel so the file can only be
+				// decompressed once it's all there
+				decompressFile(localFile.toPath(), response.getContentEncoding());
+			}
 			return response.get__httpStatusCode__();
 		} catch (BmcException e) {
 			log.warn("Problem downloading file " + e.getLocalizedMessage());
@@ -824,6 +1807,176 @@ public class ObjectStorageProcessor {
 		}
 	}
 
+	/**
+	 * Downloads the specified object into the provided localFile, the data is
+	 * transferred straight into the file through a FileChannel. Unlike the File
+	 * version this throws an exception if the download fails
+	 * 
+	 * @see ChannelObjectDownloader
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - if non null will be applied to the object name before
+	 *                     starting the download
+	 * @param objectName   - must not be null
+	 * @param localFile    - must not be null
+	 * @return number of bytes downloaded
+	 * @throws IOException if the download failed
+	 */
+	public long downloadFile(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
+			@NonNull Path localFile) throws IOException {
+		String fullObjectName = objectPrefix == null ? objectName : objectPrefix + objectName;
+		return channelObjectDownloader(bucketName).download(fullObjectName, localFile);
+	}
+
+	private ChannelObjectDownloader channelObjectDownloader(String bucketName) {
+		ChannelObjectDownloader downloader = new ChannelObjectDownloader(this, bucketName);
+		downloader.setDecompress(decompressDownloads);
+		return downloader;
+	}
+
+	private void decompressFile(Path localFile, String contentEncoding) throws IOException {
+		Path decompressing = localFile.resolveSibling(localFile.getFileName() + ".decompressing");
+		try (InputStream contents = ObjectCompression.decompress(contentEncoding,
+				Files.newInputStream(localFile))) {
+			Files.copy(contents, decompressing, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(decompressing, localFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Files.deleteIfExists(decompressing);
+			throw e;
+		}
+	}
+
+	/**
+	 * Downloads the specified object writing it to the channel, a FileChannel is
+	 * written from its current position. The caller is responsible for closing
+	 * the channel
+	 * 
+	 * @see ChannelObjectDownloader
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full object name
+	 * @param target     - must not be null and in blocking mode
+	 * @return number of bytes downloaded
+	 * @throws IOException if the download failed
+	 */
+	public long downloadToChannel(@NonNull String bucketName, @NonNull String objectName,
+			@NonNull WritableByteChannel target) throws IOException {
+		return channelObjectDownloader(bucketName).download(objectName, target);
+	}
+
+	/**
+	 * Downloads a file uploaded with uploadFileDeduplicated, the chunks are
+	 * fetched in parallel and checked against their hashes
+	 * 
+	 * @see DeduplicatingObjectDownloader
+	 * @param bucketName - must not be null
+	 * @param objectName - must not be null, the full name of the manifest object
+	 * @param localFile  - must not be null
+	 * @return number of bytes in the file
+	 * @throws IOException if the download failed or a chunk is corrupt
+	 */
+	public long downloadFileDeduplicated(@NonNull String bucketName, @NonNull String objectName,
+			@NonNull Path localFile) throws IOException {
+		return new DeduplicatingObjectDownloader(this, bucketName).download(objectName, localFile);
+	}
+
+	/**
+	 * Loads the index of a packed upload, the reader can then be used to read
+	 * individual files with range requests. If many files are going to be read
+	 * keep the reader rather than using getPackedObject each time
+	 * 
+	 * @see ObjectPackReader
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - the prefix used for uploadDirectoryPacked, may be null
+	 * @return the reader
+	 * @throws IOException if the index can't be read
+	 */
+	public ObjectPackReader openPackReader(@NonNull String bucketName, String objectPrefix) throws IOException {
+		return new ObjectPackReader(this, bucketName, objectPrefix);
+	}
+
+	/**
+	 * Reads one file from a packed upload, this loads the index each time it's
+	 * called
+	 * 
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - the prefix used for uploadDirectoryPacked, may be null
+	 * @param name         - must not be null, the path of the file relative to the
+	 *                     uploaded directory using the path separator
+	 * @return the contents, the caller must close this
+	 * @throws IOException if the file is not in the index or can't be read
+	 */
+	public InputStream getPackedObject(@NonNull String bucketName, String objectPrefix, @NonNull String name)
+			throws IOException {
+		return openPackReader(bucketName, objectPrefix).open(name);
+	}
+
+	/**
+	 * Downloads all of the files from a packed upload into the directory,
+	 * neighbouring files in a pack are fetched with one range request
+	 * 
+	 * @param bucketName         - must not be null
+	 * @param objectPrefix       - the prefix used for uploadDirectoryPacked, may
+	 *                           be null
+	 * @param localStartingPoint - must not be null, created if needed
+	 * @return the result for each file
+	 * @throws IOException if the index can't be read or the directory created
+	 */
+	public TransferReport downloadDirectoryPacked(@NonNull String bucketName, String objectPrefix,
+			@NonNull File localStartingPoint) throws IOException {
+		return openPackReader(bucketName, objectPrefix).unpack(null, localStartingPoint.toPath());
+	}
+
+	/**
+	 * Downloads the specified object into the provided localFile using concurrent
+	 * range requests of rangedDownloadPartSize bytes, up to
+	 * rangedDownloadParallelism at once. This is much faster than downloadFile for
+	 * large objects on fast links, the downloaded file is checked against the
+	 * objects MD5 if there is one
+	 * 
+	 * @see RangedObjectDownloader
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - if non null will be applied to the object name before
+	 *                     starting the download
+	 * @param objectName   - must not be null
+	 * @param localFile    - must not be null
+	 * @return number of bytes downloaded
+	 * @throws IOException if the download failed or the contents don't match
+	 */
+	public long downloadFileInParts(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
+			@NonNull File localFile) throws IOException {
+		String fullObjectName = objectPrefix == null ? objectName : objectPrefix + objectName;
+		RangedObjectDownloader downloader = new RangedObjectDownloader(this, bucketName);
+		downloader.setPartSize(rangedDownloadPartSize);
+		downloader.setParallelism(rangedDownloadParallelism);
+		return downloader.download(fullObjectName, localFile.toPath());
+	}
+
+	/**
+	 * Downloads the specified object into the provided localFile in the same way
+	 * as downloadFileInParts, but records the ranges that have been downloaded in
+	 * a journal. If the download is interrupted calling this again will only fetch
+	 * the missing ranges, provided the object has not changed in the meantime
+	 * 
+	 * @see TransferJournal
+	 * @param bucketName   - must not be null
+	 * @param objectPrefix - if non null will be applied to the object name before
+	 *                     starting the download
+	 * @param objectName   - must not be null
+	 * @param localFile    - must not be null
+	 * @return number of bytes in the object
+	 * @throws IOException if the download failed, it can be resumed by calling
+	 *                     this again
+	 */
+	public long downloadFileResumable(@NonNull String bucketName, String objectPrefix, @NonNull String objectName,
+			@NonNull File localFile) throws IOException {
+		String fullObjectName = objectPrefix == null ? objectName : objectPrefix + objectName;
+		RangedObjectDownloader downloader = new RangedObjectDownloader(this, bucketName);
+		downloader.setPartSize(rangedDownloadPartSize);
+		downloader.setParallelism(rangedDownloadParallelism);
+		downloader.setJournalFile(TransferJournal.locate(transferJournalDirectory, localFile.toPath(), "download",
+				namespace + "/" + bucketName + "/" + fullObjectName));
+		return downloader.download(fullObjectName, localFile.toPath());
+	}
+
 	/**
 	 * Downloads each of the object names to the directory represented by
 	 * localStartingPoint, if the object name includes path elements e.g.
@@ -842,11 +1995,11 @@ public class ObjectStorageProcessor {
 	 *                           before starting the download
 	 * @param objectNames        - must not be null
 	 * @param localStartingPoint - must not be null, must be a directory
-	 * @return number of objects downloaded
+	 * @return the downloaded objects with their sizes and any failures
 	 * @throws IOException
 	 */
-	public long downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix, @NonNull String objectNames[],
-			@NonNull File localStartingPoint) throws IOException {
+	public TransferReport downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
+			@NonNull String objectNames[], @NonNull File localStartingPoint) throws IOException {
 		return downloadFilesCreatePath(bucketName, objectPrefix, objectNames, localStartingPoint, false);
 	}
 
@@ -856,11 +2009,8 @@ public class ObjectStorageProcessor {
 	 * /user/tim/file1.txt then if needed the /user/tim directory will be created
 	 * under the local starting point.
 	 * 
-	 * The downloads will happen in parallel at the level of the objectNames if
-	 * parallelDownloads is set to true. This means that if there were say two
-	 * object names both would be downloaded in parallel (upto to the limits set by
-	 * the object storage) however if there were multiple objects "under" a
-	 * specified object name than those would happen sequentially
+	 * If parallelDownloads is true up to treeDownloadParallelism downloads will
+	 * happen at once on virtual threads, otherwise they happen sequentially
 	 * 
 	 * If the the object names represent an object then only object read permision
 	 * is needed, however if the object represents a "folder" (In OCI object storage
@@ -873,11 +2023,12 @@ public class ObjectStorageProcessor {
 	 * @param objectNames        - must not be null
 	 * @param localStartingPoint - must not be null, must be a directory
 	 * @parallelDownloads - if true then allow parallel downloads
-	 * @return number of objects downloaded
+	 * @return the downloaded objects with their sizes and any failures
 	 * @throws IOException
 	 */
-	public long downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix, @NonNull String objectNames[],
-			@NonNull File localStartingPoint, boolean parallelDownloads) throws IOException {
+	public TransferReport downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
+			@NonNull String objectNames[], @NonNull File localStartingPoint, boolean parallelDownloads)
+			throws IOException {
 		return downloadFilesCreatePath(bucketName, objectPrefix, Arrays.asList(objectNames), localStartingPoint,
 				parallelDownloads);
 
@@ -901,10 +2052,10 @@ public class ObjectStorageProcessor {
 	 *                           before starting the download
 	 * @param objectNames        - must not be null
 	 * @param localStartingPoint - must not be null, must be a directory
-	 * @return number of objects downloaded
+	 * @return the downloaded objects with their sizes and any failures
 	 * @throws IOException
 	 */
-	public long downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
+	public TransferReport downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
 			@NonNull Collection<String> objectNames, @NonNull File localStartingPoint) throws IOException {
 		return downloadFilesCreatePath(bucketName, objectPrefix, objectNames, localStartingPoint, false);
 	}
@@ -915,11 +2066,8 @@ public class ObjectStorageProcessor {
 	 * /user/tim/file1.txt then if needed the /user/tim directory will be created
 	 * under the local starting point.
 	 * 
-	 * The downloads will happen in parallel at the level of the objectNames if
-	 * parallelDownloads is set to true. This means that if there were say two
-	 * object names both would be downloaded in parallel (upto to the limits set by
-	 * the object storage) however if there were multiple objects "under" a
-	 * specified object name than those would happen sequentially
+	 * If parallelDownloads is true up to treeDownloadParallelism downloads will
+	 * happen at once on virtual threads, otherwise they happen sequentially
 	 * 
 	 * If the the object names represent an object then only object read permision
 	 * is needed, however if the object represents a "folder" (In OCI object storage
@@ -932,19 +2080,40 @@ public class ObjectStorageProcessor {
 	 * @param objectNames        - must not be null
 	 * @param localStartingPoint - must not be null, must be a directory
 	 * @parallelDownloads - if true then allow parallel downloads
-	 * @return number of objects downloaded
+	 * @return the downloaded objects with their sizes and any failures
 	 * @throws IOException
 	 */
-	public long downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
+	public TransferReport downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
 			@NonNull Collection<String> objectNames, @NonNull File localStartingPoint, boolean parallelDownloads)
 			throws IOException {
-		return (parallelDownloads ? objectNames.parallelStream() : objectNames.stream()).map(objectName -> {
-			try {
-				return downloadFileCreatePath(bucketName, objectPrefix, objectName, localStartingPoint);
-			} catch (IOException e) {
-				return -1;
-			}
-		}).filter(bytesDownloaded -> bytesDownloaded >= 0).count();
+		return downloadFilesCreatePath(bucketName, objectPrefix, objectNames, localStartingPoint,
+				parallelDownloads ? treeDownloadParallelism : 1);
+	}
+
+	/**
+	 * Downloads each of the object names to the directory represented by
+	 * localStartingPoint, if the object name includes path elements e.g.
+	 * /user/tim/file1.txt then if needed the /user/tim directory will be created
+	 * under the local starting point.
+	 * 
+	 * Up to parallelism downloads will happen at once on virtual threads
+	 * 
+	 * @see TreeDownloader
+	 * @param bucketName         - must not be null
+	 * @param objectPrefix       - if non null will be applied to the object name
+	 *                           before starting the download
+	 * @param objectNames        - must not be null
+	 * @param localStartingPoint - must not be null, must be a directory
+	 * @param parallelism        - the maximum number of downloads at once
+	 * @return the downloaded objects with their sizes and any failures
+	 * @throws IOException if the local starting point is not a directory
+	 */
+	public TransferReport downloadFilesCreatePath(@NonNull String bucketName, String objectPrefix,
+			@NonNull Collection<String> objectNames, @NonNull File localStartingPoint, int parallelism)
+			throws IOException {
+		TreeDownloader downloader = new TreeDownloader(this, bucketName, objectPrefix);
+		downloader.setParallelism(parallelism);
+		return downloader.download(objectNames.stream(), localStartingPoint.toPath());
 	}
 
 	/**
@@ -973,34 +2142,8 @@ public class ObjectStorageProcessor {
 			throw new IOException(
 					"Provided starting point " + localStartingPoint.getPath() + "is not a directory, cannot continue");
 		}
-		String relativeDirectoryPath = objectName;
-		// if it starts with a path delimiter remove it (allow for multiple)
-		while (relativeDirectoryPath.startsWith(pathSeparatorInObjectStorage)) {
-			log.debug("removed " + pathSeparatorInObjectStorage + " from start of objectName path");
-			relativeDirectoryPath = relativeDirectoryPath.substring(pathSeparatorInObjectStorage.length());
-		}
-		// get the path element of the object, we need to determine if we will be
-		// creating sub directories
-		int lastPathSeparator = objectName.lastIndexOf(pathSeparatorInObjectStorage);
-		File downloadTarget;
-		if (lastPathSeparator >= 0) {
-			// OK, there is a path separator in the object name, extract the directory
-			// element
-			relativeDirectoryPath = objectName.substring(0, lastPathSeparator);
-			// make sure any paths are in the local FS format
-			relativeDirectoryPath = relativeDirectoryPath.replace(pathSeparatorInObjectStorage, File.separator);
-			log.debug("The directory path element to be added is " + relativeDirectoryPath);
-			File endDir = new File(localStartingPoint.getPath() + File.separator + relativeDirectoryPath);
-			log.debug("creating local directory including local start of " + localStartingPoint.getPath()
-					+ " and relative dir of " + relativeDirectoryPath + " is " + endDir.getPath());
-			endDir.mkdirs();
-			String finalObjectName = objectName.substring(lastPathSeparator);
-			downloadTarget = new File(endDir.getPath() + File.separator + finalObjectName);
-			log.debug("tried to create the directory tree for download target of " + downloadTarget.getPath());
-		} else {
-			downloadTarget = new File(localStartingPoint.getPath() + File.separator + objectName);
-			log.debug(downloadTarget.getPath() + " is a file in the prefix with no path to no need to create the tree");
-		}
+		File downloadTarget = new TreeDownloader(this, bucketName, objectPrefix)
+				.createPathFor(objectName, localStartingPoint.toPath()).toFile();
 		log.debug("Downloading to " + bucketName + " from prefix " + objectPrefix + " with name " + objectName
 				+ " to local file " + downloadTarget.getPath());
 		return downloadFile(bucketName, objectPrefix, objectName, downloadTarget);
@@ -1028,27 +2171,33 @@ public class ObjectStorageProcessor {
 	 * This and the uploadDirectory method are basically a way to transfer a
 	 * directory structure to and from object storage
 	 * 
+	 * The downloads start as the objects are listed and up to
+	 * treeDownloadParallelism happen at once
+	 * 
 	 * @param bucketName
 	 * @param objectPrefix
 	 * @param localStartingPoint
-	 * @return
+	 * @return the downloaded objects with their sizes and any failures
 	 */
 
-	public String downloadObject(@NonNull String bucketName, String objectPrefix, @NonNull File localStartingPoint) {
+	public TransferReport downloadObject(@NonNull String bucketName, String objectPrefix,
+			@NonNull File localStartingPoint) {
 		log.debug("Downloading from bucket " + bucketName + " under prefix " + objectPrefix
 				+ " to local starting point " + localStartingPoint.getPath());
-		// get the object names
-		Set<String> objectNames = listObjectNamesInBucket(bucketName, objectPrefix);
-		String result = "";
-		for (String objectName : objectNames) {
-			try {
-				result += objectName + " - "
-						+ downloadFileCreatePath(bucketName, objectPrefix, objectName, localStartingPoint) + "\n";
-			} catch (IOException e) {
-				result += objectName + " - " + e.getLocalizedMessage();
-			}
+		TreeDownloader downloader = new TreeDownloader(this, bucketName, objectPrefix);
+		downloader.setParallelism(treeDownloadParallelism);
+		// the downloads start while the names are still being listed
+		int prefixLength = objectPrefix == null ? 0 : objectPrefix.length();
+		Stream<String> objectNames = streamObjectsInBucket(bucketName, objectPrefix)
+				.map(objectSummary -> objectSummary.getName().substring(prefixLength));
+		try {
+			return downloader.download(objectNames, localStartingPoint.toPath());
+		} catch (IOException e) {
+			log.warn("Problem downloading from bucket " + bucketName + ", msg is " + e.getLocalizedMessage());
+			TransferReport report = new TransferReport(TransferReport.Direction.DOWNLOAD, bucketName);
+			report.recordFailed(objectPrefix, localStartingPoint.getPath(), 0, e.getLocalizedMessage());
+			return report.finished();
 		}
-		return result;
 	}
 
 	/**
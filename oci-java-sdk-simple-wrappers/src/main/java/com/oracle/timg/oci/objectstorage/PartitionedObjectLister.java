@@ -0,0 +1,527 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.ListObjects;
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+import com.oracle.bmc.objectstorage.requests.ListObjectsRequest;
+import com.oracle.bmc.objectstorage.responses.ListObjectsResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listing a bucket is bound by the round trip time for each page of names
+ * rather than by bandwidth, so a very large bucket takes a long time to list
+ * on a single thread. This class splits the name keyspace into ranges, lists
+ * the ranges concurrently on virtual threads and merges the results back into
+ * a single stream in name order.
+ * 
+ * The split points can be provided, or found from the top level prefixes under
+ * the prefix being listed, or if there are not enough of those by sampling
+ * names from the bucket.
+ * 
+ * Ranges are started in name order with at most parallelism of them being
+ * listed at once. Pages for ranges after the one currently being consumed are
+ * held in a buffer of maxBufferedPages, once that's full the listing of those
+ * ranges waits for the consumer to catch up so memory use stays bounded.
+ * 
+ * Closing the returned stream stops the background listing, if a stream is
+ * abandoned without being closed the listing is stopped once the stream has
+ * been garbage collected.
+ */
+@Slf4j
+public class PartitionedObjectLister {
+	/**
+	 * the default number of ranges listed at the same time
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	/**
+	 * the default number of pages that can be held for ranges ahead of the one
+	 * being consumed
+	 */
+	public static final int DEFAULT_MAX_BUFFERED_PAGES = 64;
+	// how many ranges we try to get per unit of parallelism when sampling, ranges
+	// are rarely the same size so having more than we need evens out the load
+	private static final int RANGES_PER_THREAD = 4;
+	// how many levels below the common prefix we will sample to find split points
+	private static final int MAX_SAMPLE_REFINEMENTS = 2;
+	// how long the common prefix of the names can be before we give up sampling
+	private static final int MAX_COMMON_PREFIX_LENGTH = 64;
+	// the maximum pages of a delimiter listing to read looking for prefixes, a flat
+	// bucket would otherwise have every name read just to find there are no prefixes
+	private static final int MAX_PREFIX_PAGES = 8;
+	// the range being consumed may queue this many pages even when the buffer is
+	// full, otherwise it and the ranges ahead of it could wait on each other forever
+	private static final int HEAD_RANGE_PAGES = 2;
+	private static final long WAIT_MS = 100;
+	// the smallest character that can follow a name, names can't contain nulls
+	private static final char LOWEST_NAME_CHAR = '\u0001';
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	private final String pathSeparatorInObjectStorage;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String prefix;
+	/**
+	 * the number of ranges listed at the same time
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of pages that can be held for ranges ahead of the one being
+	 * consumed
+	 */
+	@Getter
+	@Setter
+	private int maxBufferedPages = DEFAULT_MAX_BUFFERED_PAGES;
+	/**
+	 * the fields to request for each object (see ListObjectsRequest), if null
+	 * only the name is returned
+	 */
+	@Getter
+	@Setter
+	private String fields;
+
+	/**
+	 * creates a lister for the objects in the bucket under the prefix
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 * @param prefix                 - if not null only objects starting with this
+	 *                               will be listed
+	 */
+	public PartitionedObjectLister(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			String prefix) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.pathSeparatorInObjectStorage = objectStorageProcessor.getPathSeparatorInObjectStorage();
+		this.bucketName = bucketName;
+		this.prefix = prefix;
+	}
+
+	/**
+	 * lists the objects using split points from the top level prefixes if there
+	 * are enough of them, otherwise using sampled split points
+	 * 
+	 * @return a stream of the object summaries in name order
+	 */
+	public Stream<ObjectSummary> stream() {
+		List<String> splitPoints = prefixSplitPoints();
+		if (splitPoints.size() < parallelism) {
+			splitPoints = sampledSplitPoints();
+		}
+		return stream(splitPoints);
+	}
+
+	/**
+	 * lists the objects using the provided split points, the first range is
+	 * everything before the first split point and the last is everything from
+	 * the last split point onwards
+	 * 
+	 * @param splitPoints - must not be null, the names to split the keyspace at,
+	 *                    they do not need to be actual object names and will be
+	 *                    sorted and have duplicates removed
+	 * @return a stream of the object summaries in name order
+	 */
+	public Stream<ObjectSummary> stream(@NonNull List<String> splitPoints) {
+		List<String> boundaries = new ArrayList<>();
+		boundaries.add(null);
+		splitPoints.stream().filter(splitPoint -> splitPoint != null).sorted().distinct()
+				.forEach(splitPoint -> boundaries.add(splitPoint));
+		boundaries.add(null);
+		List<KeyRange> ranges = new ArrayList<>(boundaries.size() - 1);
+		for (int i = 0; i < boundaries.size() - 1; i++) {
+			ranges.add(new KeyRange(i, boundaries.get(i), boundaries.get(i + 1)));
+		}
+		log.debug("Listing " + bucketName + " in " + ranges.size() + " ranges with parallelism " + parallelism);
+		MergingIterator iterator = new MergingIterator(ranges, Math.max(1, parallelism),
+				Math.max(1, maxBufferedPages));
+		ListingState state = iterator.state;
+		// the lambdas must only capture the state, not the iterator
+		try {
+			state.executor.submit(() -> state.startRanges(range -> listRange(range)));
+		} catch (RejectedExecutionException e) {
+			iterator.close();
+			throw e;
+		}
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(() -> iterator.close()).flatMap(page -> page.stream());
+	}
+
+	/**
+	 * returns the prefixes immediately under the prefix being listed for use as
+	 * split points, if the level is too large to list quickly this returns an
+	 * empty list. Object storage only supports / as a delimiter.
+	 * 
+	 * @return the prefixes in name order, may be empty
+	 */
+	public List<String> prefixSplitPoints() {
+		ListObjectsRequest.Builder listObjectsBuilder = ListObjectsRequest.builder().bucketName(bucketName)
+				.namespaceName(namespace).delimiter(pathSeparatorInObjectStorage).fields("name");
+		if (prefix != null) {
+			listObjectsBuilder.prefix(prefix);
+		}
+		List<String> prefixes = new ArrayList<>();
+		int pageCount = 0;
+		for (ListObjectsResponse page : objectstorageClient.getPaginators()
+				.listObjectsResponseIterator(listObjectsBuilder.build())) {
+			if (++pageCount > MAX_PREFIX_PAGES) {
+				log.debug("Too many names at the top level of " + bucketName + " to use prefixes as split points");
+				return List.of();
+			}
+			ListObjects listObjects = page.getListObjects();
+			if (listObjects.getPrefixes() != null) {
+				prefixes.addAll(listObjects.getPrefixes());
+			}
+		}
+		return prefixes;
+	}
+
+	/**
+	 * finds split points by sampling the names in the bucket. This skips through
+	 * the names one character at a time past the common prefix, so it makes one
+	 * request for each distinct character at each level sampled rather than
+	 * reading all of the names
+	 * 
+	 * @return the split points in name order, may be empty
+	 */
+	public List<String> sampledSplitPoints() {
+		String level = prefix == null ? "" : prefix;
+		List<String> splitPoints = nextCharacters(level);
+		// skip over any prefix common to all of the names
+		while ((splitPoints.size() == 1) && (splitPoints.get(0).length() <= MAX_COMMON_PREFIX_LENGTH)) {
+			level = splitPoints.get(0);
+			splitPoints = nextCharacters(level);
+		}
+		int targetRanges = parallelism * RANGES_PER_THREAD;
+		for (int refinement = 0; (refinement < MAX_SAMPLE_REFINEMENTS) && (splitPoints.size() > 1)
+				&& (splitPoints.size() < targetRanges); refinement++) {
+			splitPoints = refine(splitPoints);
+		}
+		log.debug("Sampled " + splitPoints.size() + " split points for " + bucketName);
+		return splitPoints;
+	}
+
+	// replaces each split point with the next level of split points under it,
+	// any name that matched the split point exactly ends up in the range before
+	// the first of its replacements so nothing is lost
+	private List<String> refine(List<String> splitPoints) {
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<List<String>>> refinements = new ArrayList<>(splitPoints.size());
+			for (String splitPoint : splitPoints) {
+				refinements.add(executor.submit(() -> nextCharacters(splitPoint)));
+			}
+			TreeSet<String> refined = new TreeSet<>();
+			for (int i = 0; i < splitPoints.size(); i++) {
+				List<String> next = refinements.get(i).get();
+				if (next.isEmpty()) {
+					refined.add(splitPoints.get(i));
+				} else {
+					refined.addAll(next);
+				}
+			}
+			return new ArrayList<>(refined);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted sampling " + bucketName, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Problem sampling " + bucketName, e.getCause());
+		}
+	}
+
+	// returns level + c for each distinct character c that follows level in an
+	// object name
+	private List<String> nextCharacters(String level) {
+		List<String> levels = new ArrayList<>();
+		String name = firstNameFrom(level);
+		while ((name != null) && name.startsWith(level)) {
+			if (name.length() == level.length()) {
+				name = firstNameFrom(level + LOWEST_NAME_CHAR);
+				continue;
+			}
+			char next = name.charAt(level.length());
+			levels.add(level + next);
+			if (next == Character.MAX_VALUE) {
+				break;
+			}
+			name = firstNameFrom(level + (char) (next + 1));
+		}
+		return levels;
+	}
+
+	private String firstNameFrom(String start) {
+		ListObjectsRequest.Builder listObjectsBuilder = ListObjectsRequest.builder().bucketName(bucketName)
+				.namespaceName(namespace).start(start).limit(1).fields("name");
+		if (prefix != null) {
+			listObjectsBuilder.prefix(prefix);
+		}
+		List<ObjectSummary> objects = objectstorageClient.listObjects(listObjectsBuilder.build()).getListObjects()
+				.getObjects();
+		return ((objects == null) || objects.isEmpty()) ? null : objects.get(0).getName();
+	}
+
+	private Iterable<ListObjectsResponse> listRange(KeyRange range) {
+		ListObjectsRequest.Builder listObjectsBuilder = ListObjectsRequest.builder().bucketName(bucketName)
+				.namespaceName(namespace);
+		if (prefix != null) {
+			listObjectsBuilder.prefix(prefix);
+		}
+		if (range.start != null) {
+			listObjectsBuilder.start(range.start);
+		}
+		if (range.end != null) {
+			listObjectsBuilder.end(range.end);
+		}
+		if (fields != null) {
+			listObjectsBuilder.fields(fields);
+		}
+		return objectstorageClient.getPaginators().listObjectsResponseIterator(listObjectsBuilder.build());
+	}
+
+	/**
+	 * a range of names, start is inclusive and end exclusive, null means
+	 * unbounded. The pages listed for the range are queued here until the
+	 * consumer gets to it
+	 */
+	private static class KeyRange {
+		private final int index;
+		private final String start;
+		private final String end;
+		private final BlockingQueue<Object> pages = new LinkedBlockingQueue<>();
+
+		private KeyRange(int index, String start, String end) {
+			this.index = index;
+			this.start = start;
+			this.end = end;
+		}
+	}
+
+	/**
+	 * the state shared between the consumer and the listing threads, this must
+	 * not refer to the iterator or the cleaner will never run
+	 */
+	private static class ListingState implements Runnable {
+		private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		private final List<KeyRange> ranges;
+		private final Semaphore listingSlots;
+		private final Semaphore bufferedPages;
+		// the index of the range being consumed, only updated by the consumer
+		private volatile int head = 0;
+		private volatile boolean closed = false;
+
+		private ListingState(List<KeyRange> ranges, int parallelism, int maxBufferedPages) {
+			this.ranges = ranges;
+			this.listingSlots = new Semaphore(parallelism);
+			this.bufferedPages = new Semaphore(maxBufferedPages);
+		}
+
+		// called by the cleaner or by close
+		@Override
+		public void run() {
+			closed = true;
+			executor.shutdownNow();
+			ranges.forEach(range -> range.pages.clear());
+		}
+
+		// ranges are started in order so the one being consumed has always been
+		// started before any of those waiting for buffer space
+		private void startRanges(Function<KeyRange, Iterable<ListObjectsResponse>> lister) {
+			try {
+				for (KeyRange range : ranges) {
+					listingSlots.acquire();
+					if (closed) {
+						return;
+					}
+					executor.submit(() -> {
+						try {
+							listRange(range, lister);
+						} finally {
+							listingSlots.release();
+						}
+					});
+				}
+			} catch (InterruptedException | RejectedExecutionException e) {
+				log.debug("Partitioned listing stopped");
+			}
+		}
+
+		private void listRange(KeyRange range, Function<KeyRange, Iterable<ListObjectsResponse>> lister) {
+			try {
+				for (ListObjectsResponse page : lister.apply(range)) {
+					List<ObjectSummary> objects = page.getListObjects().getObjects();
+					if (!enqueue(range, objects == null ? List.of() : objects)) {
+						return;
+					}
+				}
+				range.pages.add(EndOfRange.END);
+			} catch (InterruptedException e) {
+				log.debug("Listing of range " + range.index + " interrupted");
+			} catch (Throwable e) {
+				// anything else (including Errors) is passed to the consumer, otherwise it
+				// would wait for the range's next page forever
+				range.pages.add(new RangeFailure(e));
+			}
+		}
+
+		private boolean enqueue(KeyRange range, List<ObjectSummary> objects) throws InterruptedException {
+			while (!closed) {
+				if (bufferedPages.tryAcquire()) {
+					range.pages.add(new BufferedPage(objects, true));
+					return true;
+				}
+				if ((range.index == head) && (range.pages.size() < HEAD_RANGE_PAGES)) {
+					range.pages.add(new BufferedPage(objects, false));
+					return true;
+				}
+				if (bufferedPages.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS)) {
+					range.pages.add(new BufferedPage(objects, true));
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static class MergingIterator implements Iterator<List<ObjectSummary>>, AutoCloseable {
+		private final ListingState state;
+		private final Cleaner.Cleanable cleanable;
+		private List<ObjectSummary> next;
+		private boolean finished = false;
+
+		private MergingIterator(List<KeyRange> ranges, int parallelism, int maxBufferedPages) {
+			state = new ListingState(ranges, parallelism, maxBufferedPages);
+			cleanable = CLEANER.register(this, state);
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (!finished && (next == null)) {
+				if (state.head >= state.ranges.size()) {
+					close();
+					break;
+				}
+				Object item;
+				try {
+					item = state.ranges.get(state.head).pages.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					close();
+					throw new IllegalStateException("Interrupted waiting for the next page", e);
+				}
+				if (item == EndOfRange.END) {
+					state.head++;
+				} else if (item instanceof RangeFailure failure) {
+					close();
+					if (failure.cause instanceof RuntimeException runtimeException) {
+						throw runtimeException;
+					}
+					if (failure.cause instanceof Error error) {
+						throw error;
+					}
+					throw new IllegalStateException("Listing of range " + state.head + " failed", failure.cause);
+				} else if (item instanceof BufferedPage page) {
+					if (page.holdsPermit) {
+						state.bufferedPages.release();
+					}
+					next = page.objects;
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public List<ObjectSummary> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			List<ObjectSummary> page = next;
+			next = null;
+			return page;
+		}
+
+		@Override
+		public void close() {
+			finished = true;
+			next = null;
+			cleanable.clean();
+		}
+	}
+
+	private record BufferedPage(List<ObjectSummary> objects, boolean holdsPermit) {
+	}
+
+	private enum EndOfRange {
+		END
+	}
+
+	private record RangeFailure(Throwable cause) {
+	}
+}
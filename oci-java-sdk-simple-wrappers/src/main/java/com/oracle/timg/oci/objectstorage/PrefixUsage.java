@@ -0,0 +1,133 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A node in the rollup tree produced by BucketUsageAggregator, the counts are
+ * for everything under the prefix including the children. The depth is the
+ * number of levels below the prefix that was aggregated, which is the root at
+ * depth 0
+ */
+public class PrefixUsage {
+	@Getter
+	private final String prefix;
+	@Getter
+	private final int depth;
+	@Getter
+	private final long objectCount;
+	@Getter
+	private final long totalBytes;
+	private final List<PrefixUsage> children;
+
+	PrefixUsage(String prefix, int depth, long objectCount, long totalBytes, List<PrefixUsage> children) {
+		this.prefix = prefix;
+		this.depth = depth;
+		this.objectCount = objectCount;
+		this.totalBytes = totalBytes;
+		this.children = children;
+	}
+
+	/**
+	 * @return the prefixes one level down in name order, empty if there are none
+	 *         or this is at the maximum depth that was aggregated
+	 */
+	public List<PrefixUsage> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * @return the number of objects directly at this level, that is not under
+	 *         any of the children
+	 */
+	public long getDirectObjectCount() {
+		return objectCount - children.stream().mapToLong(child -> child.objectCount).sum();
+	}
+
+	/**
+	 * @return the bytes in the objects directly at this level
+	 */
+	public long getDirectBytes() {
+		return totalBytes - children.stream().mapToLong(child -> child.totalBytes).sum();
+	}
+
+	/**
+	 * finds the node for the prefix in this tree
+	 * 
+	 * @param prefix - must not be null, the full prefix including the trailing
+	 *               separator
+	 * @return the node or null if the prefix has no objects or is deeper than was
+	 *         aggregated
+	 */
+	public PrefixUsage find(@NonNull String prefix) {
+		if (prefix.equals(this.prefix)) {
+			return this;
+		}
+		for (PrefixUsage child : children) {
+			if (prefix.startsWith(child.prefix)) {
+				return child.find(prefix);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the tree in the style of du, one line per prefix with the bytes and
+	 *         object count, children indented under their parent
+	 */
+	public String format() {
+		StringBuilder text = new StringBuilder();
+		format(text);
+		return text.toString();
+	}
+
+	private void format(StringBuilder text) {
+		text.append("  ".repeat(depth)).append(totalBytes).append('\t').append(objectCount).append('\t')
+				.append(prefix.isEmpty() ? "." : prefix).append('\n');
+		children.forEach(child -> child.format(text));
+	}
+
+	@Override
+	public String toString() {
+		return (prefix.isEmpty() ? "." : prefix) + " " + objectCount + " objects " + totalBytes + " bytes";
+	}
+}
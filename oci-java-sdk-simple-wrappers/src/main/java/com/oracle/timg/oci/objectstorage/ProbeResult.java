@@ -0,0 +1,94 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import com.oracle.bmc.model.BmcException;
+
+/**
+ * The result of checking if a bucket or object exists, this separates "it's
+ * not there" from "we couldn't tell" (throttling, authentication, server side
+ * problems and so on) so a failed check isn't mistaken for a missing resource
+ * 
+ * @param status   - what the check found
+ * @param metadata - the details of the resource if it exists, otherwise null
+ * @param error    - the exception from the check if the status is ERROR,
+ *                 otherwise null
+ */
+public record ProbeResult<T>(Status status, T metadata, BmcException error) {
+	public enum Status {
+		EXISTS, MISSING, ERROR
+	}
+
+	static <T> ProbeResult<T> found(T metadata) {
+		return new ProbeResult<>(Status.EXISTS, metadata, null);
+	}
+
+	static <T> ProbeResult<T> notFound() {
+		return new ProbeResult<>(Status.MISSING, null, null);
+	}
+
+	static <T> ProbeResult<T> failedWith(BmcException error) {
+		return new ProbeResult<>(Status.ERROR, null, error);
+	}
+
+	/**
+	 * @return true if the resource exists
+	 */
+	public boolean exists() {
+		return status == Status.EXISTS;
+	}
+
+	/**
+	 * @return true if the resource definitely does not exist
+	 */
+	public boolean missing() {
+		return status == Status.MISSING;
+	}
+
+	/**
+	 * gives a yes / no answer for callers that can't handle not knowing
+	 * 
+	 * @return true if the resource exists, false if it's missing
+	 * @throws BmcException if the check failed
+	 */
+	public boolean existsOrThrow() {
+		if (status == Status.ERROR) {
+			throw error;
+		}
+		return status == Status.EXISTS;
+	}
+}
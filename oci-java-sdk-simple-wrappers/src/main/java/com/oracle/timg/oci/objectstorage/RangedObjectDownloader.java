@@ -0,0 +1,387 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.model.Range;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.requests.HeadObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+import com.oracle.bmc.objectstorage.responses.HeadObjectResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Downloads a single large object using concurrent range requests, each part
+ * is written directly to its place in a preallocated file using positional
+ * FileChannel writes so the parts can arrive in any order.
+ * 
+ * Every range request is made with If-Match set to the ETag seen when the
+ * download started so all of the parts come from the same version of the
+ * object, once the download is complete the MD5 of the file is checked against
+ * the one held by object storage if there is one (objects uploaded using multi
+ * part uploads only have an MD5 of the parts so can't be checked this way).
+ * 
+ * If a journal file is set the byte ranges that have been written are recorded
+ * in it (see TransferJournal), if the download is interrupted the temporary
+ * file and journal are kept and the next download of the same version of the
+ * object to the same target only fetches the missing ranges.
+ * 
+ * The data is written to a temporary file next to the target which is renamed
+ * into place once the download has been verified.
+ */
+@Slf4j
+public class RangedObjectDownloader {
+	/**
+	 * the default size of each range requested
+	 */
+	public static final long DEFAULT_PART_SIZE = 64L * 1024 * 1024;
+	/**
+	 * the default number of ranges being downloaded at once
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	/**
+	 * the default number of times a part is tried before the download fails
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	/**
+	 * added to the target file name while the download is in progress
+	 */
+	public static final String DOWNLOADING_SUFFIX = ".downloading";
+	private static final int COPY_BUFFER_SIZE = 256 * 1024;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the size of each range requested, the last part may be smaller
+	 */
+	@Getter
+	@Setter
+	private long partSize = DEFAULT_PART_SIZE;
+	/**
+	 * the maximum number of ranges being downloaded at once
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a part is tried before the download fails
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	/**
+	 * if true (the default) the MD5 of the downloaded file is checked when object
+	 * storage has one for the object
+	 */
+	@Getter
+	@Setter
+	private boolean verifyMd5 = true;
+	/**
+	 * if not null the download is resumable and its progress is recorded in this
+	 * file
+	 */
+	@Getter
+	@Setter
+	private Path journalFile;
+
+	/**
+	 * creates a downloader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public RangedObjectDownloader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * downloads the object to the target, replacing the target if it already
+	 * exists. The parent directory of the target must exist
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param target     - must not be null
+	 * @return the number of bytes downloaded
+	 * @throws IOException if the download fails, the object changed while it was
+	 *                     being downloaded or the MD5 does not match
+	 */
+	public long download(@NonNull String objectName, @NonNull Path target) throws IOException {
+		HeadObjectResponse head;
+		try {
+			head = objectstorageClient.headObject(HeadObjectRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).build());
+		} catch (BmcException e) {
+			throw new IOException("Can't get details of object " + objectName + " in bucket " + bucketName
+					+ ", msg is " + e.getLocalizedMessage(), e);
+		}
+		long size = head.getContentLength() == null ? 0 : head.getContentLength();
+		long effectivePartSize = Math.max(1, partSize);
+		Path downloading = target.resolveSibling(target.getFileName() + DOWNLOADING_SUFFIX);
+		TransferJournal journal = journalFile == null ? null : new TransferJournal(journalFile);
+		Map<String, String> journalValues = Map.of("type", "download", "bucket", bucketName, "object", objectName,
+				"etag", String.valueOf(head.getETag()), "size", Long.toString(size), "partSize",
+				Long.toString(effectivePartSize), "target", target.toAbsolutePath().toString());
+		Set<Long> completedParts = new HashSet<>();
+		if ((journal != null) && journal.matches(journalValues) && Files.exists(downloading)
+				&& (Files.size(downloading) == size)) {
+			for (String range : journal.getEntries()) {
+				completedParts.add(Long.parseLong(range.substring(0, range.indexOf('-'))));
+			}
+			log.debug("Resuming download of " + objectName + " with " + completedParts.size() + " parts done");
+		} else if (journal != null) {
+			journal.reset(journalValues);
+		}
+		long start = System.currentTimeMillis();
+		try {
+			try (FileChannel channel = completedParts.isEmpty()
+					? FileChannel.open(downloading, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+							StandardOpenOption.TRUNCATE_EXISTING)
+					: FileChannel.open(downloading, StandardOpenOption.WRITE)) {
+				if ((size > 0) && completedParts.isEmpty()) {
+					// preallocate so the parts can be written in any order
+					channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+				}
+				downloadParts(objectName, head.getETag(), size, effectivePartSize, completedParts, journal, channel);
+				channel.force(false);
+			}
+			if (verifyMd5) {
+				verify(objectName, head.getContentMd5(), downloading);
+			}
+			Files.move(downloading, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			// without a journal a partial download is of no use, an MD5 mismatch means
+			// what we have is wrong so it has to start again anyway
+			if ((journal == null) || (e instanceof Md5MismatchException)) {
+				Files.deleteIfExists(downloading);
+				if (journal != null) {
+					journal.delete();
+				}
+			}
+			throw e;
+		}
+		if (journal != null) {
+			journal.delete();
+		}
+		log.debug("Downloaded " + size + " bytes of object " + objectName + " in bucket " + bucketName + " to "
+				+ target + " in " + (System.currentTimeMillis() - start) + "ms");
+		return size;
+	}
+
+	private void downloadParts(String objectName, String eTag, long size, long effectivePartSize,
+			Set<Long> completedParts, TransferJournal journal, FileChannel channel) throws IOException {
+		long partCount = (size + effectivePartSize - 1) / effectivePartSize;
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		AtomicReference<IOException> failure = new AtomicReference<>();
+		AtomicLong bytesWritten = new AtomicLong();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (long part = 0; (part < partCount) && (failure.get() == null); part++) {
+				long partStart = part * effectivePartSize;
+				long partEnd = Math.min(size, partStart + effectivePartSize) - 1;
+				if (completedParts.contains(partStart)) {
+					bytesWritten.addAndGet(partEnd - partStart + 1);
+					continue;
+				}
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						if (failure.get() == null) {
+							bytesWritten.addAndGet(
+									downloadPartWithRetry(objectName, eTag, partStart, partEnd, channel, limiter));
+							if (journal != null) {
+								// the part has to be on disk before we say it's done
+								channel.force(false);
+								journal.addEntry(partStart + "-" + partEnd);
+							}
+						}
+					} catch (IOException e) {
+						failure.compareAndSet(null, e);
+					} catch (RuntimeException e) {
+						failure.compareAndSet(null, new IOException("Can't download bytes " + partStart + "-" + partEnd
+								+ " of object " + objectName + ", msg is " + e.getLocalizedMessage(), e));
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new IOException("Interrupted downloading " + objectName, e));
+		}
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		if (bytesWritten.get() != size) {
+			throw new IOException("Downloaded " + bytesWritten.get() + " bytes of object " + objectName
+					+ " but expected " + size);
+		}
+	}
+
+	private long downloadPartWithRetry(String objectName, String eTag, long partStart, long partEnd,
+			FileChannel channel, AdaptiveConcurrencyLimiter limiter) throws IOException {
+		GetObjectRequest request = GetObjectRequest.builder().namespaceName(namespace).bucketName(bucketName)
+				.objectName(objectName).range(new Range(partStart, partEnd)).ifMatch(eTag).build();
+		for (int attempt = 1;; attempt++) {
+			try {
+				long written = downloadPart(request, partStart, partEnd, channel);
+				limiter.succeeded();
+				return written;
+			} catch (BmcException e) {
+				if (e.getStatusCode() == HttpURLConnection.HTTP_PRECON_FAILED) {
+					throw new IOException("Object " + objectName + " in bucket " + bucketName
+							+ " changed while it was being downloaded", e);
+				}
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					throw new IOException("Can't download bytes " + partStart + "-" + partEnd + " of object "
+							+ objectName + ", msg is " + e.getLocalizedMessage(), e);
+				}
+			} catch (IOException e) {
+				// usually the connection dropping part way through the part
+				if (attempt >= maxAttempts) {
+					throw e;
+				}
+				log.debug("Retrying bytes " + partStart + "-" + partEnd + " of object " + objectName + ", msg is "
+						+ e.getLocalizedMessage());
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted downloading " + objectName, e);
+			}
+		}
+	}
+
+	// only returns if the whole part arrived, a short part is thrown as an
+	// IOException so it's retried and never journaled as done
+	private long downloadPart(GetObjectRequest request, long partStart, long partEnd, FileChannel channel)
+			throws IOException {
+		GetObjectResponse response = objectstorageClient.getObject(request);
+		byte[] buffer = new byte[COPY_BUFFER_SIZE];
+		long position = partStart;
+		try (InputStream contents = response.getInputStream()) {
+			int read;
+			while ((read = contents.read(buffer)) != -1) {
+				ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+				while (data.hasRemaining()) {
+					position += channel.write(data, position);
+				}
+			}
+		}
+		long written = position - partStart;
+		if (written != partEnd - partStart + 1) {
+			throw new IOException("Got " + written + " bytes for bytes " + partStart + "-" + partEnd + " of object "
+					+ request.getObjectName() + " but expected " + (partEnd - partStart + 1));
+		}
+		return written;
+	}
+
+	private void verify(String objectName, String expectedMd5, Path downloaded) throws IOException {
+		if (expectedMd5 == null) {
+			log.debug("No MD5 available for object " + objectName
+					+ " (probably a multi part upload), not verifying");
+			return;
+		}
+		String actualMd5 = md5(downloaded);
+		if (!expectedMd5.equals(actualMd5)) {
+			throw new Md5MismatchException(
+					"MD5 of downloaded object " + objectName + " is " + actualMd5 + " but expected " + expectedMd5);
+		}
+	}
+
+	/**
+	 * calculates the MD5 of the file in the base64 form used by object storage
+	 * 
+	 * @param file - must not be null
+	 * @return the base64 encoded MD5
+	 * @throws IOException
+	 */
+	public static String md5(@NonNull Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 is not available", e);
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE * 4);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	private static class Md5MismatchException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		private Md5MismatchException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,341 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadDetails;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadPartDetails;
+import com.oracle.bmc.objectstorage.model.CreateMultipartUploadDetails;
+import com.oracle.bmc.objectstorage.model.MultipartUploadPartSummary;
+import com.oracle.bmc.objectstorage.requests.AbortMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.CommitMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.CreateMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.ListMultipartUploadPartsRequest;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.objectstorage.requests.UploadPartRequest;
+import com.oracle.bmc.objectstorage.responses.CommitMultipartUploadResponse;
+import com.oracle.bmc.objectstorage.responses.PutObjectResponse;
+import com.oracle.bmc.objectstorage.responses.UploadPartResponse;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads a file as a multi part upload that can be resumed if it is
+ * interrupted. The multi part upload id and each part as it is uploaded are
+ * recorded in a TransferJournal, if the upload is restarted for the same file
+ * (same size and modification time) the parts that object storage still holds
+ * for that upload are reused and only the missing ones are sent.
+ * 
+ * If the upload fails the multi part upload is left in place so it can be
+ * resumed, uncommitted uploads can be cleaned up with the abort method or by an
+ * object lifecycle policy.
+ */
+@Slf4j
+public class ResumableObjectUploader {
+	/**
+	 * the default size of each part
+	 */
+	public static final long DEFAULT_PART_SIZE = 64L * 1024 * 1024;
+	/**
+	 * the default number of parts being uploaded at once
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	/**
+	 * the default number of times a part is tried before the upload fails
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	// object storage limit on the number of parts in a multi part upload
+	private static final int MAX_PARTS = 10000;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	/**
+	 * the size of each part, this is increased if needed to keep within the
+	 * maximum number of parts
+	 */
+	@Getter
+	@Setter
+	private long partSize = DEFAULT_PART_SIZE;
+	/**
+	 * the maximum number of parts being uploaded at once
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	/**
+	 * the number of times a part is tried before the upload fails
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	/**
+	 * creates an uploader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public ResumableObjectUploader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * uploads the file, resuming a previous upload recorded in the journal if
+	 * there is one for the same file and object. Files no bigger than a single
+	 * part are uploaded with a single put and no journal
+	 * 
+	 * @param objectName  - must not be null, the full object name
+	 * @param source      - must not be null
+	 * @param journalFile - must not be null, where the progress is recorded
+	 * @return the MD5 of the object as reported by object storage, for multi part
+	 *         uploads this is the multi part MD5
+	 * @throws IOException if the upload fails, it can be resumed by calling this
+	 *                     again
+	 */
+	public String upload(@NonNull String objectName, @NonNull Path source, @NonNull Path journalFile)
+			throws IOException {
+		long size = Files.size(source);
+		long effectivePartSize = Math.max(Math.max(1, partSize), (size + MAX_PARTS - 1) / MAX_PARTS);
+		if (size <= effectivePartSize) {
+			return putWhole(objectName, source, size);
+		}
+		TransferJournal journal = new TransferJournal(journalFile);
+		Map<String, String> journalValues = Map.of("type", "upload", "namespace", namespace, "bucket", bucketName,
+				"object", objectName, "file", source.toAbsolutePath().toString(), "size", Long.toString(size),
+				"modified", Long.toString(Files.getLastModifiedTime(source).toMillis()), "partSize",
+				Long.toString(effectivePartSize));
+		Map<Integer, String> uploadedParts = new ConcurrentHashMap<>();
+		String uploadId = null;
+		if (journal.matches(journalValues) && (journal.getValue("uploadId") != null)) {
+			uploadId = journal.getValue("uploadId");
+			if (!reusableParts(objectName, uploadId, journal, uploadedParts)) {
+				uploadId = null;
+			}
+		} else if (journal.getValue("uploadId") != null) {
+			// the file or settings have changed so the old upload is no use
+			abort(journal.getValue("object"), journal.getValue("uploadId"));
+		}
+		if (uploadId == null) {
+			uploadId = objectstorageClient.createMultipartUpload(CreateMultipartUploadRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName)
+					.createMultipartUploadDetails(CreateMultipartUploadDetails.builder().object(objectName).build())
+					.build()).getMultipartUpload().getUploadId();
+			Map<String, String> startValues = new HashMap<>(journalValues);
+			startValues.put("uploadId", uploadId);
+			journal.reset(startValues);
+		}
+		int partCount = (int) ((size + effectivePartSize - 1) / effectivePartSize);
+		log.debug("Uploading " + source + " to " + objectName + " in " + partCount + " parts, "
+				+ uploadedParts.size() + " already uploaded");
+		uploadParts(objectName, source, size, effectivePartSize, partCount, uploadId, uploadedParts, journal);
+		List<CommitMultipartUploadPartDetails> partsToCommit = new ArrayList<>(partCount);
+		for (int partNum = 1; partNum <= partCount; partNum++) {
+			partsToCommit.add(CommitMultipartUploadPartDetails.builder().partNum(partNum)
+					.etag(uploadedParts.get(partNum)).build());
+		}
+		CommitMultipartUploadResponse response;
+		try {
+			response = objectstorageClient.commitMultipartUpload(CommitMultipartUploadRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName).objectName(objectName).uploadId(uploadId)
+					.commitMultipartUploadDetails(
+							CommitMultipartUploadDetails.builder().partsToCommit(partsToCommit).build())
+					.build());
+		} catch (BmcException e) {
+			throw new IOException("Can't commit upload of " + source + " to object " + objectName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+		journal.delete();
+		return response.getOpcMultipartMd5();
+	}
+
+	/**
+	 * aborts the multi part upload recorded in the journal (if there is one) and
+	 * removes the journal
+	 * 
+	 * @param journalFile - must not be null
+	 * @throws IOException
+	 */
+	public void abort(@NonNull Path journalFile) throws IOException {
+		TransferJournal journal = new TransferJournal(journalFile);
+		if (journal.getValue("uploadId") != null) {
+			abort(journal.getValue("object"), journal.getValue("uploadId"));
+		}
+		journal.delete();
+	}
+
+	private void abort(String objectName, String uploadId) {
+		try {
+			objectstorageClient.abortMultipartUpload(AbortMultipartUploadRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).uploadId(uploadId).build());
+		} catch (BmcException e) {
+			log.debug("Can't abort multipart upload " + uploadId + ", msg is " + e.getLocalizedMessage());
+		}
+	}
+
+	// the parts in the journal are only reused if object storage still has them
+	// with the same etag, returns false if the upload has gone
+	private boolean reusableParts(String objectName, String uploadId, TransferJournal journal,
+			Map<Integer, String> uploadedParts) {
+		Map<Integer, String> journalParts = new HashMap<>();
+		for (String entry : journal.getEntries()) {
+			int space = entry.indexOf(' ');
+			journalParts.put(Integer.parseInt(entry.substring(0, space)), entry.substring(space + 1));
+		}
+		try {
+			Iterable<MultipartUploadPartSummary> parts = objectstorageClient.getPaginators()
+					.listMultipartUploadPartsRecordIterator(ListMultipartUploadPartsRequest.builder()
+							.namespaceName(namespace).bucketName(bucketName).objectName(objectName)
+							.uploadId(uploadId).build());
+			for (MultipartUploadPartSummary part : parts) {
+				if (part.getEtag().equals(journalParts.get(part.getPartNumber()))) {
+					uploadedParts.put(part.getPartNumber(), part.getEtag());
+				}
+			}
+			return true;
+		} catch (BmcException e) {
+			if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+				log.debug("Multipart upload " + uploadId + " no longer exists, starting again");
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	private void uploadParts(String objectName, Path source, long size, long effectivePartSize, int partCount,
+			String uploadId, Map<Integer, String> uploadedParts, TransferJournal journal) throws IOException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Math.max(1, parallelism));
+		AtomicReference<IOException> failure = new AtomicReference<>();
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+				ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int partNum = 1; (partNum <= partCount) && (failure.get() == null); partNum++) {
+				if (uploadedParts.containsKey(partNum)) {
+					continue;
+				}
+				int part = partNum;
+				long partStart = (partNum - 1) * effectivePartSize;
+				long partLength = Math.min(size, partStart + effectivePartSize) - partStart;
+				limiter.acquire();
+				executor.submit(() -> {
+					try {
+						if (failure.get() == null) {
+							String eTag = uploadPartWithRetry(objectName, uploadId, part, channel, partStart,
+									partLength, limiter);
+							uploadedParts.put(part, eTag);
+							journal.addEntry(part + " " + eTag);
+						}
+					} catch (IOException e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						limiter.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new IOException("Interrupted uploading " + source, e));
+		}
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+	}
+
+	private String uploadPartWithRetry(String objectName, String uploadId, int partNum, FileChannel channel,
+			long partStart, long partLength, AdaptiveConcurrencyLimiter limiter) throws IOException {
+		for (int attempt = 1;; attempt++) {
+			// we do our own retries, the SDK can't replay the stream
+			UploadPartRequest request = UploadPartRequest.builder().namespaceName(namespace).bucketName(bucketName)
+					.objectName(objectName).uploadId(uploadId).uploadPartNum(partNum).contentLength(partLength)
+					.uploadPartBody(new FileRangeInputStream(channel, partStart, partLength))
+					.retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION).build();
+			try {
+				UploadPartResponse response = objectstorageClient.uploadPart(request);
+				limiter.succeeded();
+				return response.getETag();
+			} catch (BmcException e) {
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					throw new IOException("Can't upload part " + partNum + " of object " + objectName + ", msg is "
+							+ e.getLocalizedMessage(), e);
+				}
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted uploading " + objectName, e);
+			}
+		}
+	}
+
+	private String putWhole(String objectName, Path source, long size) throws IOException {
+		try (InputStream contents = Files.newInputStream(source)) {
+			PutObjectResponse response = objectstorageClient.putObject(PutObjectRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName).objectName(objectName).contentLength(size)
+					.putObjectBody(contents).build());
+			return response.getOpcContentMd5();
+		} catch (BmcException e) {
+			throw new IOException("Can't upload " + source + " to object " + objectName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+	}
+}
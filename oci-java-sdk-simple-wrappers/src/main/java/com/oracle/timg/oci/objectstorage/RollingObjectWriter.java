@@ -0,0 +1,429 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batches records (log lines, events and the like) into objects so callers can
+ * write them one at a time without making a request for each. Records are
+ * appended to an off heap buffer and the buffer is rolled into an object when
+ * it reaches maxObjectSize bytes, maxRecords records or is maxAgeMillis old,
+ * a record is never split between objects.
+ * 
+ * Rolled objects are uploaded in the background with at most maxInFlight
+ * uploads at once. The buffers come from a pool of maxInFlight + 1, so when
+ * the uploads fall behind a write that needs a new buffer waits for an upload
+ * to finish. This bounds the memory used to the pool and slows writers down to
+ * the speed the data can be uploaded at.
+ * 
+ * Records are only durable once the object holding them has been uploaded.
+ * flush rolls the current buffer and returns once every record written before
+ * it is in object storage, close does the same and then stops the writer. If
+ * an upload fails (after retries) the records in it are lost and the failure
+ * is thrown by the next write, flush or close, after which the writer can
+ * still be used.
+ * 
+ * The objects are named with the prefix, the UTC time the object was rolled,
+ * a random id for the writer and a sequence number so they sort in the order
+ * they were written. The id keeps writers on the same prefix (e.g. on several
+ * hosts) apart, and as a backstop objects are only created if the name is not
+ * already used, an upload that finds its name taken is retried with a new one.
+ */
+@Slf4j
+public class RollingObjectWriter implements Closeable, Flushable {
+	/**
+	 * the default object size that causes a roll
+	 */
+	public static final int DEFAULT_MAX_OBJECT_SIZE = 16 * 1024 * 1024;
+	/**
+	 * the default number of records that causes a roll, 0 or less for no limit
+	 */
+	public static final int DEFAULT_MAX_RECORDS = 0;
+	/**
+	 * the default age of the first record in the buffer that causes a roll, 0 or
+	 * less for no limit
+	 */
+	public static final long DEFAULT_MAX_AGE_MILLIS = 60 * 1000;
+	/**
+	 * the default number of uploads in flight
+	 */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+	/**
+	 * the default number of times an upload is tried before giving up
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS'Z'")
+			.withZone(ZoneOffset.UTC);
+
+	private final ObjectStorageProcessor objectStorageProcessor;
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String objectPrefix;
+	/**
+	 * random for each writer and part of every object name
+	 */
+	@Getter
+	private final String writerId = String.format("%08x", ThreadLocalRandom.current().nextInt());
+	/**
+	 * a buffer is rolled when the next record would take it over this, it's also
+	 * the size of each buffer so is the largest record that can be written. Only
+	 * used when the first record is written
+	 */
+	@Getter
+	@Setter
+	private int maxObjectSize = DEFAULT_MAX_OBJECT_SIZE;
+	/**
+	 * a buffer is rolled when it has this many records, 0 or less for no limit
+	 */
+	@Getter
+	@Setter
+	private int maxRecords = DEFAULT_MAX_RECORDS;
+	/**
+	 * a buffer is rolled when its first record is this old, 0 or less for no
+	 * limit. Only used when the first record is written
+	 */
+	@Getter
+	@Setter
+	private long maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+	/**
+	 * the most uploads in flight, writes wait when this many are in flight and
+	 * another buffer is needed. Only used when the first record is written
+	 */
+	@Getter
+	@Setter
+	private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+	/**
+	 * the number of times an upload is tried before its records are lost
+	 */
+	@Getter
+	@Setter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	/**
+	 * added to the end of each object name, e.g. ".log"
+	 */
+	@Getter
+	@Setter
+	private String objectSuffix = "";
+	private final AtomicLong objectsWritten = new AtomicLong();
+	private final AtomicLong recordsWritten = new AtomicLong();
+	private final AtomicLong bytesWritten = new AtomicLong();
+	private final AtomicReference<IOException> failure = new AtomicReference<>();
+	private final ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	private DirectBufferPool pool;
+	private ScheduledExecutorService roller;
+	private ByteBuffer current;
+	private int currentRecords;
+	private long currentStarted;
+	// also used by the uploads when a name is taken, so not guarded by the writer
+	private final AtomicLong sequence = new AtomicLong();
+	private int inFlight = 0;
+	private boolean closed = false;
+
+	/**
+	 * creates a writer for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 * @param objectPrefix           - if not null the start of each object name
+	 */
+	public RollingObjectWriter(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			String objectPrefix) {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+		this.objectPrefix = objectPrefix == null ? "" : objectPrefix;
+	}
+
+	/**
+	 * appends the record to the current object, returning once it's in the
+	 * buffer (which is not durable, see flush). This waits if a new buffer is
+	 * needed and all of the uploads are in flight
+	 * 
+	 * @param record - must not be null and at most maxObjectSize bytes
+	 * @throws IOException if the writer is closed, an earlier upload failed or
+	 *                     this was interrupted waiting for a buffer
+	 */
+	public synchronized void write(@NonNull byte[] record) throws IOException {
+		checkUsable();
+		if (record.length > maxObjectSize) {
+			throw new IllegalArgumentException(
+					"Record of " + record.length + " bytes is larger than the max object size of " + maxObjectSize);
+		}
+		if ((current != null) && (current.remaining() < record.length)) {
+			roll();
+		}
+		if (current == null) {
+			start();
+		}
+		current.put(record);
+		currentRecords++;
+		if ((maxRecords > 0) && (currentRecords >= maxRecords)) {
+			roll();
+		}
+	}
+
+	/**
+	 * appends the text as UTF-8 followed by a new line
+	 * 
+	 * @param line - must not be null
+	 * @throws IOException if the writer is closed, an earlier upload failed or
+	 *                     this was interrupted waiting for a buffer
+	 */
+	public void writeLine(@NonNull String line) throws IOException {
+		write((line + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * rolls the current buffer and waits for all of the uploads to finish, once
+	 * this returns everything written before it was called is in object storage
+	 * 
+	 * @throws IOException if an upload failed, the records in it have been lost
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		if (current != null) {
+			roll();
+		}
+		awaitUploads();
+		throwFailure();
+	}
+
+	/**
+	 * flushes then stops the writer, calling this again does nothing
+	 * 
+	 * @throws IOException if an upload failed, the records in it have been lost
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			flush();
+		} finally {
+			closed = true;
+			if (roller != null) {
+				roller.shutdownNow();
+			}
+			uploadExecutor.close();
+		}
+	}
+
+	/**
+	 * @return the number of objects uploaded
+	 */
+	public long getObjectsWritten() {
+		return objectsWritten.get();
+	}
+
+	/**
+	 * @return the number of records in the objects uploaded
+	 */
+	public long getRecordsWritten() {
+		return recordsWritten.get();
+	}
+
+	/**
+	 * @return the number of bytes in the objects uploaded
+	 */
+	public long getBytesWritten() {
+		return bytesWritten.get();
+	}
+
+	private void checkUsable() throws IOException {
+		if (closed) {
+			throw new IOException("Writer for " + objectPrefix + " in bucket " + bucketName + " is closed");
+		}
+		throwFailure();
+	}
+
+	// the failure is reported once, the writer then carries on
+	private void throwFailure() throws IOException {
+		IOException failed = failure.getAndSet(null);
+		if (failed != null) {
+			throw failed;
+		}
+	}
+
+	private void start() throws IOException {
+		if (pool == null) {
+			pool = new DirectBufferPool(Math.max(1, maxInFlight) + 1, maxObjectSize);
+			if (maxAgeMillis > 0) {
+				long period = Math.max(10, maxAgeMillis / 4);
+				roller = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+				roller.scheduleWithFixedDelay(() -> rollIfOld(), period, period, TimeUnit.MILLISECONDS);
+			}
+		}
+		try {
+			// waits here if the uploads have fallen behind
+			current = pool.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted waiting for a buffer", e);
+		}
+		currentRecords = 0;
+		currentStarted = System.currentTimeMillis();
+	}
+
+	private synchronized void rollIfOld() {
+		if (!closed && (current != null) && (System.currentTimeMillis() - currentStarted >= maxAgeMillis)) {
+			roll();
+		}
+	}
+
+	private void roll() {
+		ByteBuffer data = current.flip();
+		int records = currentRecords;
+		String objectName = nextObjectName();
+		current = null;
+		synchronized (uploadExecutor) {
+			inFlight++;
+		}
+		uploadExecutor.submit(() -> {
+			try {
+				uploadWithRetry(objectName, data, records);
+			} finally {
+				pool.give(data);
+				synchronized (uploadExecutor) {
+					inFlight--;
+					uploadExecutor.notifyAll();
+				}
+			}
+		});
+	}
+
+	private void awaitUploads() throws IOException {
+		synchronized (uploadExecutor) {
+			while (inFlight > 0) {
+				try {
+					uploadExecutor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted waiting for uploads to finish", e);
+				}
+			}
+		}
+	}
+
+	private String nextObjectName() {
+		return objectPrefix + TIMESTAMP.format(Instant.now()) + "-" + writerId + "-"
+				+ String.format("%06d", sequence.getAndIncrement()) + objectSuffix;
+	}
+
+	private void uploadWithRetry(String firstObjectName, ByteBuffer data, int records) {
+		AdaptiveConcurrencyLimiter backoff = new AdaptiveConcurrencyLimiter(1);
+		String objectName = firstObjectName;
+		for (int attempt = 1;; attempt++) {
+			try {
+				// each attempt reads the buffer from the start, If-None-Match stops us
+				// replacing another writers object
+				objectstorageClient.putObject(PutObjectRequest.builder().namespaceName(namespace)
+						.bucketName(bucketName).objectName(objectName).contentLength((long) data.remaining())
+						.ifNoneMatch("*").putObjectBody(new ByteBufferInputStream(data))
+						.retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION).build());
+				objectStorageProcessor.objectWritten(bucketName, objectName);
+				objectsWritten.incrementAndGet();
+				recordsWritten.addAndGet(records);
+				bytesWritten.addAndGet(data.remaining());
+				return;
+			} catch (BmcException e) {
+				if ((e.getStatusCode() == HttpURLConnection.HTTP_PRECON_FAILED) && (attempt < maxAttempts)) {
+					// the name is taken (possibly by an earlier attempt of ours that looked
+					// like it failed, a duplicate batch is better than a lost one)
+					String takenName = objectName;
+					objectName = nextObjectName();
+					log.debug("Object " + takenName + " already exists, uploading as " + objectName);
+					continue;
+				}
+				if (!backoff.retryable(e) || (attempt >= maxAttempts)) {
+					failed(objectName, records, e);
+					return;
+				}
+			} catch (RuntimeException e) {
+				failed(objectName, records, e);
+				return;
+			}
+			try {
+				backoff.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.compareAndSet(null, new IOException("Interrupted uploading " + objectName, e));
+				return;
+			}
+		}
+	}
+
+	// only the first failure is kept, the others are logged
+	private void failed(String objectName, int records, RuntimeException e) {
+		log.warn("Can't upload " + records + " records to object " + objectName + ", msg is "
+				+ e.getLocalizedMessage());
+		failure.compareAndSet(null, new IOException(
+				"Can't upload " + records + " records to object " + objectName + ", msg is " + e.getLocalizedMessage(),
+				e));
+	}
+}
@@ -0,0 +1,327 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.model.Range;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.requests.GetObjectRequest;
+import com.oracle.bmc.objectstorage.requests.HeadObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetObjectResponse;
+import com.oracle.bmc.objectstorage.responses.HeadObjectResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A read only SeekableByteChannel over an object, only the parts of the object
+ * that are actually read are fetched (using range requests). This means that
+ * things like reading a Parquet or ZIP footer at the end of a large object, or
+ * sparse random reads, only transfer the blocks they need rather than the
+ * whole object.
+ * 
+ * The object is read in fixed size blocks which are kept in a small LRU cache.
+ * Reads that carry on from where the last read finished double the read ahead
+ * (the number of blocks fetched in a single request) up to half the cache, a
+ * read anywhere else drops it back to a single block so random reads don't
+ * fetch data that won't be used.
+ * 
+ * All of the requests are made with If-Match set to the ETag seen when the
+ * channel was opened, if the object is replaced while the channel is open
+ * reads fail rather than mixing data from two versions.
+ * 
+ * Like most channels this is not intended to be used from multiple threads at
+ * the same time, the methods are synchronized so doing so is safe but the
+ * position is shared.
+ */
+@Slf4j
+public class SeekableObjectChannel implements SeekableByteChannel {
+	/**
+	 * the default size of each block fetched
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+	/**
+	 * the default number of blocks held in the cache
+	 */
+	public static final int DEFAULT_CACHE_BLOCKS = 32;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String objectName;
+	/**
+	 * the ETag of the version of the object being read
+	 */
+	@Getter
+	private final String eTag;
+	private final long size;
+	@Getter
+	private final int blockSize;
+	@Getter
+	private final int cacheBlocks;
+	private final int maxReadAheadBlocks;
+	private final Map<Long, ByteBuffer> cache;
+	private long position = 0;
+	// where a read that carries on from the last one would start
+	private long sequentialPosition = 0;
+	private int readAheadBlocks = 1;
+	private boolean open = true;
+	/**
+	 * the number of range requests made so far
+	 */
+	@Getter
+	private long requestCount = 0;
+	/**
+	 * the number of bytes fetched from object storage so far
+	 */
+	@Getter
+	private long bytesFetched = 0;
+
+	/**
+	 * opens a channel over the object using the default block size and cache size
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 * @param objectName             - must not be null, the full object name
+	 * @throws IOException if the object can't be found
+	 */
+	public SeekableObjectChannel(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			@NonNull String objectName) throws IOException {
+		this(objectStorageProcessor, bucketName, objectName, DEFAULT_BLOCK_SIZE, DEFAULT_CACHE_BLOCKS);
+	}
+
+	/**
+	 * opens a channel over the object
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 * @param objectName             - must not be null, the full object name
+	 * @param blockSize              - the size of each block fetched, at least 1
+	 * @param cacheBlocks            - the number of blocks held in the cache, at
+	 *                               least 1. The cache must fit in 2GiB
+	 * @throws IOException if the object can't be found
+	 */
+	public SeekableObjectChannel(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			@NonNull String objectName, int blockSize, int cacheBlocks) throws IOException {
+		if ((blockSize < 1) || (cacheBlocks < 1) || (((long) blockSize * cacheBlocks) > Integer.MAX_VALUE)) {
+			throw new IllegalArgumentException("Block size " + blockSize + " and cache blocks " + cacheBlocks
+					+ " must be at least 1 and the cache must fit in 2GiB");
+		}
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+		this.objectName = objectName;
+		this.blockSize = blockSize;
+		this.cacheBlocks = cacheBlocks;
+		this.maxReadAheadBlocks = Math.max(1, cacheBlocks / 2);
+		this.cache = new LinkedHashMap<>(cacheBlocks * 2, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+				return size() > SeekableObjectChannel.this.cacheBlocks;
+			}
+		};
+		HeadObjectResponse head;
+		try {
+			head = objectstorageClient.headObject(HeadObjectRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).build());
+		} catch (BmcException e) {
+			throw new IOException("Can't get details of object " + objectName + " in bucket " + bucketName
+					+ ", msg is " + e.getLocalizedMessage(), e);
+		}
+		this.size = head.getContentLength() == null ? 0 : head.getContentLength();
+		this.eTag = head.getETag();
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		ensureOpen();
+		if (position >= size) {
+			return -1;
+		}
+		if (position == sequentialPosition) {
+			readAheadBlocks = Math.min(maxReadAheadBlocks, readAheadBlocks * 2);
+		} else {
+			readAheadBlocks = 1;
+		}
+		int total = 0;
+		while (dst.hasRemaining() && (position < size)) {
+			long blockIndex = position / blockSize;
+			int offset = (int) (position - blockIndex * blockSize);
+			ByteBuffer block = cache.get(blockIndex);
+			if (block == null) {
+				// fetch at least enough to finish this read, if it will fit in the cache
+				int neededBlocks = (int) Math.min(cacheBlocks, ((long) offset + dst.remaining() + blockSize - 1)
+						/ blockSize);
+				block = fetch(blockIndex, Math.max(readAheadBlocks, neededBlocks));
+			}
+			int count = Math.min(dst.remaining(), block.limit() - offset);
+			ByteBuffer source = block.duplicate();
+			source.position(offset).limit(offset + count);
+			dst.put(source);
+			position += count;
+			total += count;
+		}
+		sequentialPosition = position;
+		return total;
+	}
+
+	// fetches up to wantedBlocks starting at firstBlock in one request, stopping
+	// early at a block that is already cached or the end of the object, and
+	// returns the first
+	private ByteBuffer fetch(long firstBlock, int wantedBlocks) throws IOException {
+		long lastBlock = (size - 1) / blockSize;
+		int count = 1;
+		while ((count < wantedBlocks) && ((firstBlock + count) <= lastBlock)
+				&& !cache.containsKey(firstBlock + count)) {
+			count++;
+		}
+		long start = firstBlock * blockSize;
+		long end = Math.min(size, (firstBlock + count) * blockSize) - 1;
+		byte[] data;
+		try {
+			GetObjectResponse response = objectstorageClient.getObject(GetObjectRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName).objectName(objectName)
+					.range(new Range(start, end)).ifMatch(eTag).build());
+			try (InputStream contents = response.getInputStream()) {
+				data = contents.readNBytes((int) (end - start + 1));
+			}
+		} catch (BmcException e) {
+			if (e.getStatusCode() == HttpURLConnection.HTTP_PRECON_FAILED) {
+				throw new IOException("Object " + objectName + " in bucket " + bucketName
+						+ " changed while the channel was open", e);
+			}
+			throw new IOException("Can't read bytes " + start + "-" + end + " of object " + objectName + ", msg is "
+					+ e.getLocalizedMessage(), e);
+		}
+		if (data.length != (end - start + 1)) {
+			throw new IOException("Read " + data.length + " bytes of object " + objectName + " starting at " + start
+					+ " but expected " + (end - start + 1));
+		}
+		requestCount++;
+		bytesFetched += data.length;
+		ByteBuffer first = null;
+		for (int i = 0; i < count; i++) {
+			int blockStart = i * blockSize;
+			ByteBuffer block = ByteBuffer.wrap(data, blockStart, Math.min(blockSize, data.length - blockStart))
+					.slice();
+			cache.put(firstBlock + i, block);
+			if (first == null) {
+				first = block;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * @throws NonWritableChannelException always, the channel is read only
+	 */
+	@Override
+	public int write(ByteBuffer src) {
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public synchronized long position() throws IOException {
+		ensureOpen();
+		return position;
+	}
+
+	@Override
+	public synchronized SeekableObjectChannel position(long newPosition) throws IOException {
+		ensureOpen();
+		if (newPosition < 0) {
+			throw new IllegalArgumentException("Position must not be negative, it was " + newPosition);
+		}
+		position = newPosition;
+		return this;
+	}
+
+	/**
+	 * the size of the object when the channel was opened
+	 */
+	@Override
+	public synchronized long size() throws IOException {
+		ensureOpen();
+		return size;
+	}
+
+	/**
+	 * @throws NonWritableChannelException always, the channel is read only
+	 */
+	@Override
+	public SeekableByteChannel truncate(long size) {
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (open) {
+			log.debug("Closing channel on object " + objectName + " in bucket " + bucketName + " after "
+					+ requestCount + " requests fetching " + bytesFetched + " of " + size + " bytes");
+		}
+		open = false;
+		cache.clear();
+	}
+
+	private void ensureOpen() throws ClosedChannelException {
+		if (!open) {
+			throw new ClosedChannelException();
+		}
+	}
+}
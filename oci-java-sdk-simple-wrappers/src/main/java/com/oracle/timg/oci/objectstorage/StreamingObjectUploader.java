@@ -0,0 +1,396 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.objectstorage.ObjectStorageClient;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadDetails;
+import com.oracle.bmc.objectstorage.model.CommitMultipartUploadPartDetails;
+import com.oracle.bmc.objectstorage.model.CreateMultipartUploadDetails;
+import com.oracle.bmc.objectstorage.requests.AbortMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.CommitMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.CreateMultipartUploadRequest;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.objectstorage.requests.UploadPartRequest;
+import com.oracle.bmc.objectstorage.responses.CommitMultipartUploadResponse;
+import com.oracle.bmc.retrier.RetryConfiguration;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads the contents of a stream or channel whose length is not known in
+ * advance (a pipe, a database export, generated data and so on) without
+ * staging it to disk or holding all of it in memory.
+ * 
+ * The data is read into direct buffers taken from a fixed size pool, as each
+ * buffer fills it is uploaded as a part while reading carries on into the next
+ * buffer. When all of the buffers are in use reading waits for a part to
+ * finish, so the memory used is never more than the pool size times the part
+ * size and a slow upload slows down the reading rather than the data building
+ * up. If the data fits in the first buffer it is sent with a single put.
+ * 
+ * As the length isn't known the part size fixes the largest object that can be
+ * uploaded at 10000 parts, the upload fails (and the multi part upload is
+ * aborted) if the data is bigger than that.
+ */
+@Slf4j
+public class StreamingObjectUploader {
+	/**
+	 * the default size of each part and so each buffer
+	 */
+	public static final int DEFAULT_PART_SIZE = 32 * 1024 * 1024;
+	/**
+	 * the default number of buffers in the pool
+	 */
+	public static final int DEFAULT_POOL_SIZE = 8;
+	/**
+	 * the default number of times a part is tried before the upload fails
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 5;
+	// object storage limit on the number of parts in a multi part upload
+	private static final int MAX_PARTS = 10000;
+
+	private final ObjectStorageClient objectstorageClient;
+	private final String namespace;
+	@Getter
+	private final String bucketName;
+	private final DirectBufferPool pool;
+	/**
+	 * the number of times a part is tried before the upload fails
+	 */
+	@Getter
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	/**
+	 * if set this is recorded as the Content-Encoding of the object, set it when
+	 * the data being uploaded is compressed
+	 */
+	@Getter
+	@Setter
+	private String contentEncoding;
+
+	/**
+	 * creates an uploader for objects in the bucket with its own pool of
+	 * DEFAULT_POOL_SIZE buffers of DEFAULT_PART_SIZE
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 */
+	public StreamingObjectUploader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName) {
+		this(objectStorageProcessor, bucketName, new DirectBufferPool(DEFAULT_POOL_SIZE, DEFAULT_PART_SIZE));
+	}
+
+	/**
+	 * creates an uploader for objects in the bucket with its own pool of buffers
+	 * 
+	 * @param objectStorageProcessor - must not be null, provides the client and
+	 *                               namespace
+	 * @param bucketName             - must not be null
+	 * @param poolSize               - the number of buffers, at least 1
+	 * @param partSize               - the size of each buffer and so each part, at
+	 *                               least 1
+	 */
+	public StreamingObjectUploader(@NonNull ObjectStorageProcessor objectStorageProcessor,
+			@NonNull String bucketName, int poolSize, int partSize) {
+		this(objectStorageProcessor, bucketName, new DirectBufferPool(poolSize, partSize));
+	}
+
+	// the pool can be shared between uploaders so the limit on memory covers all
+	// of them
+	StreamingObjectUploader(ObjectStorageProcessor objectStorageProcessor, String bucketName,
+			DirectBufferPool pool) {
+		this.objectstorageClient = objectStorageProcessor.getClient();
+		this.namespace = objectStorageProcessor.getObjectStorageNamespace();
+		this.bucketName = bucketName;
+		this.pool = pool;
+	}
+
+	/**
+	 * @param maxAttempts - the number of times a part is tried, at least 1
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = Math.max(1, maxAttempts);
+	}
+
+	/**
+	 * @return the size of each part
+	 */
+	public int getPartSize() {
+		return pool.getBufferSize();
+	}
+
+	/**
+	 * @return the number of buffers in the pool
+	 */
+	public int getPoolSize() {
+		return pool.getCapacity();
+	}
+
+	/**
+	 * uploads everything from the current position of the stream to its end,
+	 * replacing the object if it exists. The caller is responsible for closing the
+	 * stream
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param source     - must not be null
+	 * @return the MD5 of the object as reported by object storage, for multi part
+	 *         uploads this is the multi part MD5
+	 * @throws IOException if reading or the upload fails
+	 */
+	public String upload(@NonNull String objectName, @NonNull InputStream source) throws IOException {
+		// not closed as that would close the caller's stream
+		return upload(objectName, Channels.newChannel(source));
+	}
+
+	/**
+	 * uploads everything from the channel until it reaches end of stream,
+	 * replacing the object if it exists. The caller is responsible for closing the
+	 * channel
+	 * 
+	 * @param objectName - must not be null, the full object name
+	 * @param source     - must not be null, must be in blocking mode
+	 * @return the MD5 of the object as reported by object storage, for multi part
+	 *         uploads this is the multi part MD5
+	 * @throws IOException if reading or the upload fails
+	 */
+	public String upload(@NonNull String objectName, @NonNull ReadableByteChannel source) throws IOException {
+		ByteBuffer first = takeBuffer(objectName);
+		try {
+			if (!fill(source, first)) {
+				return putWhole(objectName, first);
+			}
+		} catch (IOException | RuntimeException e) {
+			pool.give(first);
+			throw e;
+		}
+		String uploadId;
+		try {
+			uploadId = objectstorageClient.createMultipartUpload(CreateMultipartUploadRequest.builder()
+					.namespaceName(namespace).bucketName(bucketName)
+					.createMultipartUploadDetails(CreateMultipartUploadDetails.builder().object(objectName)
+							.contentEncoding(contentEncoding).build())
+					.build()).getMultipartUpload().getUploadId();
+		} catch (BmcException e) {
+			pool.give(first);
+			throw new IOException("Can't start upload to object " + objectName + ", msg is " + e.getLocalizedMessage(),
+					e);
+		}
+		long start = System.currentTimeMillis();
+		try {
+			Map<Integer, String> uploadedParts = new ConcurrentHashMap<>();
+			int partCount = uploadParts(objectName, source, first, uploadId, uploadedParts);
+			List<CommitMultipartUploadPartDetails> partsToCommit = new ArrayList<>(partCount);
+			for (int partNum = 1; partNum <= partCount; partNum++) {
+				partsToCommit.add(CommitMultipartUploadPartDetails.builder().partNum(partNum)
+						.etag(uploadedParts.get(partNum)).build());
+			}
+			CommitMultipartUploadResponse response = objectstorageClient.commitMultipartUpload(
+					CommitMultipartUploadRequest.builder().namespaceName(namespace).bucketName(bucketName)
+							.objectName(objectName).uploadId(uploadId)
+							.commitMultipartUploadDetails(
+									CommitMultipartUploadDetails.builder().partsToCommit(partsToCommit).build())
+							.build());
+			log.debug("Streamed " + partCount + " parts to object " + objectName + " in "
+					+ (System.currentTimeMillis() - start) + "ms");
+			return response.getOpcMultipartMd5();
+		} catch (IOException | RuntimeException e) {
+			abort(objectName, uploadId);
+			if (e instanceof BmcException) {
+				throw new IOException("Can't commit upload to object " + objectName + ", msg is "
+						+ e.getLocalizedMessage(), e);
+			}
+			throw e;
+		}
+	}
+
+	// uploads the first (full) buffer and then the rest of the channel, returns
+	// the number of parts
+	private int uploadParts(String objectName, ReadableByteChannel source, ByteBuffer first, String uploadId,
+			Map<Integer, String> uploadedParts) throws IOException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(pool.getCapacity());
+		AtomicReference<IOException> failure = new AtomicReference<>();
+		int partNum = 0;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			ByteBuffer buffer = first;
+			boolean more = true;
+			while (buffer != null) {
+				if ((failure.get() != null) || (++partNum > MAX_PARTS)) {
+					pool.give(buffer);
+					failure.compareAndSet(null, new IOException("Stream is bigger than the " + MAX_PARTS
+							+ " parts of " + pool.getBufferSize() + " bytes that can be uploaded to " + objectName));
+					break;
+				}
+				int part = partNum;
+				ByteBuffer data = buffer;
+				try {
+					limiter.acquire();
+				} catch (InterruptedException e) {
+					pool.give(data);
+					throw e;
+				}
+				executor.submit(() -> {
+					try {
+						if (failure.get() == null) {
+							uploadedParts.put(part, uploadPartWithRetry(objectName, uploadId, part, data, limiter));
+						}
+					} catch (IOException e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						pool.give(data);
+						limiter.release();
+					}
+				});
+				buffer = null;
+				if (more && (failure.get() == null)) {
+					// blocks until a part finishes if all of the buffers are in use
+					ByteBuffer next = pool.take();
+					try {
+						more = fill(source, next);
+					} catch (IOException | RuntimeException e) {
+						pool.give(next);
+						throw e;
+					}
+					if (next.hasRemaining()) {
+						buffer = next;
+					} else {
+						pool.give(next);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new IOException("Interrupted uploading " + objectName, e));
+		} catch (IOException e) {
+			// reading the source failed, the executor has waited for the parts in flight
+			failure.compareAndSet(null, e);
+		}
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+		return partNum;
+	}
+
+	private String uploadPartWithRetry(String objectName, String uploadId, int partNum, ByteBuffer data,
+			AdaptiveConcurrencyLimiter limiter) throws IOException {
+		for (int attempt = 1;; attempt++) {
+			// we do our own retries, each attempt reads the buffer from the start
+			UploadPartRequest request = UploadPartRequest.builder().namespaceName(namespace).bucketName(bucketName)
+					.objectName(objectName).uploadId(uploadId).uploadPartNum(partNum)
+					.contentLength((long) data.remaining()).uploadPartBody(new ByteBufferInputStream(data))
+					.retryConfiguration(RetryConfiguration.NO_RETRY_CONFIGURATION).build();
+			try {
+				String eTag = objectstorageClient.uploadPart(request).getETag();
+				limiter.succeeded();
+				return eTag;
+			} catch (BmcException e) {
+				if (!limiter.retryable(e) || (attempt >= maxAttempts)) {
+					throw new IOException("Can't upload part " + partNum + " of object " + objectName + ", msg is "
+							+ e.getLocalizedMessage(), e);
+				}
+			}
+			try {
+				limiter.backoff(attempt);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted uploading " + objectName, e);
+			}
+		}
+	}
+
+	private String putWhole(String objectName, ByteBuffer data) throws IOException {
+		try {
+			return objectstorageClient.putObject(PutObjectRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).contentLength((long) data.remaining())
+					.contentEncoding(contentEncoding).putObjectBody(new ByteBufferInputStream(data)).build())
+					.getOpcContentMd5();
+		} catch (BmcException e) {
+			throw new IOException("Can't upload to object " + objectName + ", msg is " + e.getLocalizedMessage(), e);
+		} finally {
+			pool.give(data);
+		}
+	}
+
+	private void abort(String objectName, String uploadId) {
+		try {
+			objectstorageClient.abortMultipartUpload(AbortMultipartUploadRequest.builder().namespaceName(namespace)
+					.bucketName(bucketName).objectName(objectName).uploadId(uploadId).build());
+		} catch (BmcException e) {
+			log.debug("Can't abort multipart upload " + uploadId + ", msg is " + e.getLocalizedMessage());
+		}
+	}
+
+	private ByteBuffer takeBuffer(String objectName) throws IOException {
+		try {
+			return pool.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted uploading " + objectName, e);
+		}
+	}
+
+	// reads until the buffer is full or the channel ends, leaves the buffer ready
+	// to be read and returns false if the channel ended
+	private static boolean fill(ReadableByteChannel source, ByteBuffer buffer) throws IOException {
+		try {
+			while (buffer.hasRemaining()) {
+				if (source.read(buffer) == -1) {
+					return false;
+				}
+			}
+			return true;
+		} finally {
+			buffer.flip();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The results of synchronizing a local directory to object storage, the names
+ * are the full object names.
+ */
+public class SyncReport {
+	private final ConcurrentLinkedQueue<String> uploaded = new ConcurrentLinkedQueue<>();
+	private final Map<String, Exception> failed = new ConcurrentHashMap<>();
+	private final AtomicLong unchangedCount = new AtomicLong();
+	private final AtomicLong bytesUploaded = new AtomicLong();
+	@Getter
+	private final String bucketName;
+	/**
+	 * the results of deleting the remote objects that no longer exist locally,
+	 * null if orphans were not being deleted
+	 */
+	@Getter
+	@Setter
+	private ObjectDeletionReport orphanDeletionReport;
+	private final long startTime = System.currentTimeMillis();
+	@Getter
+	private long durationMillis;
+
+	SyncReport(String bucketName) {
+		this.bucketName = bucketName;
+	}
+
+	void recordUploaded(String objectName, long bytes) {
+		uploaded.add(objectName);
+		bytesUploaded.addAndGet(bytes);
+	}
+
+	void recordUnchanged() {
+		unchangedCount.incrementAndGet();
+	}
+
+	void recordFailed(String objectName, Exception cause) {
+		failed.put(objectName, cause);
+	}
+
+	void finished() {
+		durationMillis = System.currentTimeMillis() - startTime;
+	}
+
+	/**
+	 * @return the names of the objects that were new or changed and so uploaded,
+	 *         sorted
+	 */
+	public List<String> getUploadedNames() {
+		List<String> result = new ArrayList<>(uploaded);
+		Collections.sort(result);
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @return the names of the objects that could not be uploaded and the reason,
+	 *         in name order
+	 */
+	public Map<String, Exception> getFailures() {
+		return Collections.unmodifiableMap(new TreeMap<>(failed));
+	}
+
+	public long getUploadedCount() {
+		return uploaded.size();
+	}
+
+	public long getUnchangedCount() {
+		return unchangedCount.get();
+	}
+
+	public long getFailedCount() {
+		return failed.size();
+	}
+
+	public long getBytesUploaded() {
+		return bytesUploaded.get();
+	}
+
+	/**
+	 * @return true if all of the uploads (and any orphan deletes) worked
+	 */
+	public boolean isSuccessful() {
+		return failed.isEmpty() && ((orphanDeletionReport == null) || orphanDeletionReport.isSuccessful());
+	}
+
+	@Override
+	public String toString() {
+		return "Uploaded " + getUploadedCount() + " (" + getBytesUploaded() + " bytes), unchanged "
+				+ getUnchangedCount() + ", failed " + getFailedCount()
+				+ (orphanDeletionReport == null ? "" : ", orphans " + orphanDeletionReport) + " in bucket "
+				+ bucketName + " in " + durationMillis + "ms";
+	}
+}
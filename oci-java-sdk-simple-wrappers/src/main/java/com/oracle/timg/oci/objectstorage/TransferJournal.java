@@ -0,0 +1,217 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A small append only file that records the progress of a transfer so it can
+ * be resumed after an interruption. The file starts with the values that
+ * identify the transfer (the object, the local file, its size and so on)
+ * followed by one entry for each piece of work completed, e.g. a part that has
+ * been uploaded or a range that has been downloaded.
+ * 
+ * Each line is written and forced to disk as the work completes, if the process
+ * dies part way through writing a line that line is ignored when the journal is
+ * read back, so at worst one piece of work is done again.
+ */
+@Slf4j
+public class TransferJournal {
+	private static final String ENTRY = "entry";
+	@Getter
+	private final Path file;
+	private final Map<String, String> values = new LinkedHashMap<>();
+	private final List<String> entries = new ArrayList<>();
+
+	/**
+	 * opens the journal, reading what was recorded in it if it already exists
+	 * 
+	 * @param file - must not be null
+	 * @throws IOException
+	 */
+	public TransferJournal(@NonNull Path file) throws IOException {
+		this.file = file;
+		if (Files.exists(file)) {
+			String contents = Files.readString(file, StandardCharsets.UTF_8);
+			// anything after the last newline is a partly written line
+			int end = contents.lastIndexOf('\n');
+			if (end >= 0) {
+				for (String line : contents.substring(0, end).split("\n")) {
+					int space = line.indexOf(' ');
+					if (space < 0) {
+						continue;
+					}
+					String key = line.substring(0, space);
+					String value = URLDecoder.decode(line.substring(space + 1), StandardCharsets.UTF_8);
+					if (ENTRY.equals(key)) {
+						entries.add(value);
+					} else {
+						values.put(key, value);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * works out where the journal for a transfer should be kept, if the directory
+	 * is null it will be next to the local file, otherwise it will be in the
+	 * directory with a name derived from the transfer identity
+	 * 
+	 * @param directory - if null the journal is kept next to the local file
+	 * @param localFile - must not be null
+	 * @param kind      - must not be null, e.g. upload or download
+	 * @param identity  - must not be null, identifies the remote side of the
+	 *                  transfer e.g. namespace, bucket and object name
+	 * @return the location of the journal
+	 */
+	public static Path locate(Path directory, @NonNull Path localFile, @NonNull String kind,
+			@NonNull String identity) {
+		if (directory == null) {
+			return localFile.resolveSibling(localFile.getFileName() + "." + kind + "-journal");
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest
+					.digest((identity + "\n" + localFile.toAbsolutePath()).getBytes(StandardCharsets.UTF_8));
+			return directory.resolve(kind + "-" + HexFormat.of().formatHex(hash, 0, 16) + ".journal");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * @param key - must not be null
+	 * @return the value recorded when the journal was started, or null
+	 */
+	public String getValue(@NonNull String key) {
+		return values.get(key);
+	}
+
+	/**
+	 * @return the entries recorded in the order they were added
+	 */
+	public List<String> getEntries() {
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * @param expected - must not be null
+	 * @return true if the journal has the same values as all of the expected ones
+	 */
+	public boolean matches(@NonNull Map<String, String> expected) {
+		return expected.entrySet().stream().allMatch(entry -> entry.getValue().equals(values.get(entry.getKey())));
+	}
+
+	/**
+	 * starts the journal again with the new values and no entries
+	 * 
+	 * @param newValues - must not be null
+	 * @throws IOException
+	 */
+	public synchronized void reset(@NonNull Map<String, String> newValues) throws IOException {
+		values.clear();
+		values.putAll(newValues);
+		entries.clear();
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		StringBuilder contents = new StringBuilder();
+		values.forEach((key, value) -> contents.append(key).append(' ').append(encode(value)).append('\n'));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(channel, contents.toString());
+		}
+	}
+
+	/**
+	 * records a piece of completed work, this is on disk when the method returns
+	 * 
+	 * @param entry - must not be null
+	 * @throws IOException
+	 */
+	public synchronized void addEntry(@NonNull String entry) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND)) {
+			write(channel, ENTRY + " " + encode(entry) + "\n");
+		}
+		entries.add(entry);
+	}
+
+	/**
+	 * removes the journal, used once the transfer has completed
+	 */
+	public synchronized void delete() {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Can't delete transfer journal " + file + ", msg is " + e.getLocalizedMessage());
+		}
+	}
+
+	private void write(FileChannel channel, String text) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		channel.force(false);
+	}
+
+	private String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,199 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * The results of a bulk upload or download, there is one FileResult for each
+ * file along with counters for the whole transfer. The results are collected
+ * as the transfer progresses so this is safe to update from many threads.
+ * 
+ * The render method provides a text version with one line per file for those
+ * who want to log or display it.
+ */
+public class TransferReport {
+	/**
+	 * which way the data was moving
+	 */
+	public enum Direction {
+		UPLOAD, DOWNLOAD
+	}
+
+	/**
+	 * what happened to a file
+	 */
+	public enum Status {
+		TRANSFERRED, SKIPPED, FAILED
+	}
+
+	/**
+	 * the outcome of transferring a single file
+	 * 
+	 * @param objectName     the full object name
+	 * @param localPath      the local file, may be null if it could not be
+	 *                       determined
+	 * @param status         what happened
+	 * @param bytes          the number of bytes transferred
+	 * @param durationMillis how long the transfer took
+	 * @param md5            the MD5 reported by object storage for uploads, may be
+	 *                       null
+	 * @param error          the reason for a failure or skip, null if the file was
+	 *                       transferred
+	 */
+	public record FileResult(String objectName, String localPath, Status status, long bytes, long durationMillis,
+			String md5, String error) {
+	}
+
+	private final ConcurrentLinkedQueue<FileResult> results = new ConcurrentLinkedQueue<>();
+	private final AtomicLong transferredCount = new AtomicLong();
+	private final AtomicLong skippedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+	private final AtomicLong bytesTransferred = new AtomicLong();
+	@Getter
+	private final Direction direction;
+	@Getter
+	private final String bucketName;
+	private final long startTime = System.currentTimeMillis();
+	private volatile long durationMillis = -1;
+
+	TransferReport(Direction direction, String bucketName) {
+		this.direction = direction;
+		this.bucketName = bucketName;
+	}
+
+	void recordTransferred(String objectName, String localPath, long bytes, long durationMillis, String md5) {
+		results.add(new FileResult(objectName, localPath, Status.TRANSFERRED, bytes, durationMillis, md5, null));
+		transferredCount.incrementAndGet();
+		bytesTransferred.addAndGet(bytes);
+	}
+
+	void recordSkipped(String objectName, String localPath, String reason) {
+		results.add(new FileResult(objectName, localPath, Status.SKIPPED, 0, 0, null, reason));
+		skippedCount.incrementAndGet();
+	}
+
+	void recordFailed(String objectName, String localPath, long durationMillis, String error) {
+		results.add(new FileResult(objectName, localPath, Status.FAILED, 0, durationMillis, null, error));
+		failedCount.incrementAndGet();
+	}
+
+	TransferReport finished() {
+		durationMillis = System.currentTimeMillis() - startTime;
+		return this;
+	}
+
+	/**
+	 * @return the results for each file in the order they completed
+	 */
+	public List<FileResult> getResults() {
+		return Collections.unmodifiableList(new ArrayList<>(results));
+	}
+
+	/**
+	 * @return the results for the files that failed
+	 */
+	public List<FileResult> getFailures() {
+		return results.stream().filter(result -> result.status() == Status.FAILED).toList();
+	}
+
+	public long getTransferredCount() {
+		return transferredCount.get();
+	}
+
+	public long getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	public long getBytesTransferred() {
+		return bytesTransferred.get();
+	}
+
+	/**
+	 * @return how long the whole transfer took, or how long it's been running if
+	 *         it has not finished
+	 */
+	public long getDurationMillis() {
+		return durationMillis < 0 ? System.currentTimeMillis() - startTime : durationMillis;
+	}
+
+	/**
+	 * @return true if no files failed
+	 */
+	public boolean isSuccessful() {
+		return failedCount.get() == 0;
+	}
+
+	/**
+	 * @return a line for each file with its status and the MD5 or error, followed
+	 *         by the summary
+	 */
+	public String render() {
+		StringBuilder text = new StringBuilder();
+		for (FileResult result : results) {
+			text.append(result.objectName()).append(" - ").append(result.status());
+			if (result.status() == Status.TRANSFERRED) {
+				text.append(' ').append(result.bytes()).append(" bytes in ").append(result.durationMillis())
+						.append("ms");
+				if (result.md5() != null) {
+					text.append(" MD5 ").append(result.md5());
+				}
+			} else if (result.error() != null) {
+				text.append(' ').append(result.error());
+			}
+			text.append('\n');
+		}
+		return text.append(this).toString();
+	}
+
+	@Override
+	public String toString() {
+		return (direction == Direction.UPLOAD ? "Uploaded " : "Downloaded ") + getTransferredCount() + " files ("
+				+ getBytesTransferred() + " bytes), skipped " + getSkippedCount() + ", failed " + getFailedCount()
+				+ " in bucket " + bucketName + " in " + getDurationMillis() + "ms";
+	}
+}
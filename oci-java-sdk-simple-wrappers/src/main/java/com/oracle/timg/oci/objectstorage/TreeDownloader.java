@@ -0,0 +1,219 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Downloads many objects into a local directory tree in parallel. The object
+ * names are consumed from a stream so downloads start as soon as the first
+ * names have been listed, and only parallelism downloads are in flight at once
+ * on virtual threads so this does not compete with the common fork join pool.
+ * 
+ * The path separators in the object names become directories under the local
+ * root, each directory is only created once however many objects are
+ * downloaded into it. Object names that would place a file outside of the local
+ * root (e.g. ones containing ..) are reported as failures rather than
+ * downloaded.
+ */
+@Slf4j
+public class TreeDownloader {
+	/**
+	 * the default number of downloads in flight
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+	private final ObjectStorageProcessor objectStorageProcessor;
+	@Getter
+	private final String bucketName;
+	@Getter
+	private final String objectPrefix;
+	/**
+	 * the maximum number of downloads in flight
+	 */
+	@Getter
+	@Setter
+	private int parallelism = DEFAULT_PARALLELISM;
+	private final Map<Path, Boolean> createdDirectories = new ConcurrentHashMap<>();
+
+	/**
+	 * creates a downloader for objects in the bucket
+	 * 
+	 * @param objectStorageProcessor - must not be null, used for the downloads
+	 * @param bucketName             - must not be null
+	 * @param objectPrefix           - if not null this is added to the start of
+	 *                               each object name when downloading but is not
+	 *                               used in the local path
+	 */
+	public TreeDownloader(@NonNull ObjectStorageProcessor objectStorageProcessor, @NonNull String bucketName,
+			String objectPrefix) {
+		this.objectStorageProcessor = objectStorageProcessor;
+		this.bucketName = bucketName;
+		this.objectPrefix = objectPrefix;
+	}
+
+	/**
+	 * downloads the objects, returning once all of the downloads have finished.
+	 * The stream is closed when this returns
+	 * 
+	 * @param objectNames - must not be null, the object names without the object
+	 *                    prefix
+	 * @param localRoot   - must not be null, must be a directory
+	 * @return the downloaded objects with their sizes and any failures
+	 * @throws IOException if the local root is not a directory
+	 */
+	public TransferReport download(@NonNull Stream<String> objectNames, @NonNull Path localRoot)
+			throws IOException {
+		if (!Files.isDirectory(localRoot)) {
+			throw new IOException("Provided starting point " + localRoot + " is not a directory, cannot continue");
+		}
+		TransferReport report = new TransferReport(TransferReport.Direction.DOWNLOAD, bucketName);
+		Semaphore inFlight = new Semaphore(Math.max(1, parallelism));
+		try (objectNames; ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Iterator<String> names = objectNames.iterator();
+			while (names.hasNext()) {
+				String objectName = names.next();
+				// waiting here means we only read names as fast as we can download them
+				inFlight.acquire();
+				executor.submit(() -> {
+					try {
+						downloadOne(objectName, localRoot, report);
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted downloading objects from bucket " + bucketName);
+		}
+		report.finished();
+		log.debug(report.toString());
+		return report;
+	}
+
+	/**
+	 * works out where an object will be downloaded to and creates the directories
+	 * needed to hold it
+	 * 
+	 * @param objectName - must not be null, the object name without the object
+	 *                   prefix
+	 * @param localRoot  - must not be null
+	 * @return the local file the object will be downloaded to
+	 * @throws IOException if the directories can't be created or the object name
+	 *                     would be outside of the local root
+	 */
+	public Path createPathFor(@NonNull String objectName, @NonNull Path localRoot) throws IOException {
+		Path target = resolve(objectName, localRoot);
+		Path parent = target.getParent();
+		try {
+			// computeIfAbsent holds back other threads wanting the same directory until
+			// it has been created
+			createdDirectories.computeIfAbsent(parent, directory -> {
+				try {
+					Files.createDirectories(directory);
+					return Boolean.TRUE;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return target;
+	}
+
+	private Path resolve(String objectName, Path localRoot) throws IOException {
+		String separator = objectStorageProcessor.getPathSeparatorInObjectStorage();
+		Path root = localRoot.toAbsolutePath().normalize();
+		Path target = root;
+		int start = 0;
+		while (start <= objectName.length()) {
+			int end = objectName.indexOf(separator, start);
+			if (end < 0) {
+				end = objectName.length();
+			}
+			// leading, trailing or repeated separators don't add a level
+			if (end > start) {
+				target = target.resolve(objectName.substring(start, end));
+			}
+			start = end + separator.length();
+		}
+		target = target.normalize();
+		if (target.equals(root) || !target.startsWith(root)) {
+			throw new IOException("Object name " + objectName + " does not map to a file under " + localRoot);
+		}
+		return target;
+	}
+
+	private void downloadOne(String objectName, Path localRoot, TransferReport report) {
+		String fullObjectName = objectPrefix == null ? objectName : objectPrefix + objectName;
+		long start = System.currentTimeMillis();
+		Path target = null;
+		try {
+			target = createPathFor(objectName, localRoot);
+			int status = objectStorageProcessor.downloadFile(bucketName, objectPrefix, objectName, target.toFile());
+			if (status < 0) {
+				report.recordFailed(fullObjectName, target.toString(), System.currentTimeMillis() - start,
+						"Download failed");
+			} else {
+				report.recordTransferred(fullObjectName, target.toString(), Files.size(target),
+						System.currentTimeMillis() - start, null);
+			}
+		} catch (IOException | RuntimeException e) {
+			// the task's Future isn't read so anything not caught here would be lost
+			log.warn("Problem downloading " + fullObjectName + ", msg is " + e.getLocalizedMessage());
+			report.recordFailed(fullObjectName, target == null ? null : target.toString(),
+					System.currentTimeMillis() - start, e.getLocalizedMessage());
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.paginators;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The OCI SDK response iterators only request the next page when the caller
+ * asks for it, so the network round trip for each page is added to the time
+ * taken to process the previous one. This class walks the pages on a virtual
+ * thread and keeps up to readAhead pages queued, so page N+1 is being fetched
+ * while page N is being processed.
+ * 
+ * The usual way to use it is with one of the SDK response iterators e.g.
+ * 
+ * PrefetchingPaginator.stream(client.getPaginators().listVcnsResponseIterator(request),
+ * ListVcnsResponse::getItems, 2)
+ * 
+ * Closing the returned stream stops the background thread, if a stream is
+ * abandoned without being closed the background thread is stopped once the
+ * stream has been garbage collected.
+ */
+@Slf4j
+public class PrefetchingPaginator {
+	/**
+	 * the default number of pages to fetch ahead of the one being processed
+	 */
+	public static final int DEFAULT_READ_AHEAD = 1;
+	// how long the background thread waits for space in the queue before checking
+	// if the consumer has gone away
+	private static final long OFFER_WAIT_MS = 1000;
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private PrefetchingPaginator() {
+	}
+
+	/**
+	 * returns a stream of the records in the pages, with the pages fetched in the
+	 * background
+	 * 
+	 * @param <P>       the page (response) type
+	 * @param <T>       the record type
+	 * @param pages     - must not be null, the iterable that retrieves the pages
+	 * @param records   - must not be null, extracts the records from a page, may
+	 *                  return null if the page has no records
+	 * @param readAhead - the number of pages to fetch ahead, if zero or less the
+	 *                  pages are fetched in the calling thread as they are needed
+	 * @return a stream of the records in page order
+	 */
+	public static <P, T> Stream<T> stream(@NonNull Iterable<P> pages, @NonNull Function<P, List<T>> records,
+			int readAhead) {
+		return streamPages(pages, readAhead).flatMap(page -> {
+			List<T> pageRecords = records.apply(page);
+			return pageRecords == null ? Stream.empty() : pageRecords.stream();
+		});
+	}
+
+	/**
+	 * returns a stream of the pages, with the pages fetched in the background
+	 * 
+	 * @param <P>       the page (response) type
+	 * @param pages     - must not be null, the iterable that retrieves the pages
+	 * @param readAhead - the number of pages to fetch ahead, if zero or less the
+	 *                  pages are fetched in the calling thread as they are needed
+	 * @return a stream of the pages in order
+	 */
+	public static <P> Stream<P> streamPages(@NonNull Iterable<P> pages, int readAhead) {
+		if (readAhead <= 0) {
+			return StreamSupport.stream(pages.spliterator(), false);
+		}
+		PrefetchingIterator<P> iterator = new PrefetchingIterator<>(pages, readAhead);
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(iterator::close);
+	}
+
+	/**
+	 * the state shared between the consumer and the background thread, this must
+	 * not refer to the iterator or the cleaner will never run
+	 */
+	private static class PrefetchState<P> implements Runnable {
+		private final BlockingQueue<Object> queue;
+		private volatile boolean closed = false;
+		private volatile Thread fetcher;
+
+		private PrefetchState(int readAhead) {
+			queue = new ArrayBlockingQueue<>(readAhead);
+		}
+
+		// called by the cleaner or by close
+		@Override
+		public void run() {
+			closed = true;
+			Thread thread = fetcher;
+			if (thread != null) {
+				thread.interrupt();
+			}
+			queue.clear();
+		}
+
+		private void fetch(Iterable<P> pages) {
+			try {
+				for (P page : pages) {
+					if (!enqueue(page)) {
+						return;
+					}
+				}
+				enqueue(EndOfPages.END);
+			} catch (InterruptedException e) {
+				log.debug("Page prefetch interrupted");
+			} catch (Throwable e) {
+				// anything else (including Errors) is passed to the consumer, otherwise it
+				// would wait for the next page forever
+				try {
+					enqueue(new FetchFailure(e));
+				} catch (InterruptedException ie) {
+					log.debug("Page prefetch interrupted while reporting " + e.getLocalizedMessage());
+				}
+			}
+		}
+
+		private boolean enqueue(Object item) throws InterruptedException {
+			while (!closed) {
+				if (queue.offer(item, OFFER_WAIT_MS, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static class PrefetchingIterator<P> implements Iterator<P>, AutoCloseable {
+		private final PrefetchState<P> state;
+		private final Cleaner.Cleanable cleanable;
+		private Object next;
+		private boolean finished = false;
+
+		private PrefetchingIterator(Iterable<P> pages, int readAhead) {
+			state = new PrefetchState<>(readAhead);
+			cleanable = CLEANER.register(this, state);
+			// the lambda must only capture the state and pages, not this
+			PrefetchState<P> fetchState = state;
+			state.fetcher = Thread.ofVirtual().name("page-prefetch").start(() -> fetchState.fetch(pages));
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (finished) {
+				return false;
+			}
+			if (next == null) {
+				try {
+					next = state.queue.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					close();
+					throw new IllegalStateException("Interrupted waiting for the next page", e);
+				}
+			}
+			if (next == EndOfPages.END) {
+				close();
+				return false;
+			}
+			if (next instanceof FetchFailure failure) {
+				close();
+				if (failure.cause instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (failure.cause instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException("Page prefetch failed", failure.cause);
+			}
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public P next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			P page = (P) next;
+			next = null;
+			return page;
+		}
+
+		@Override
+		public void close() {
+			finished = true;
+			next = null;
+			cleanable.clean();
+		}
+	}
+
+	private enum EndOfPages {
+		END
+	}
+
+	private record FetchFailure(Throwable cause) {
+	}
+}
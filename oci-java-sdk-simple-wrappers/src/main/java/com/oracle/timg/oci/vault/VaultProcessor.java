@@ -47,7 +47,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 import org.apache.http.HttpStatus;
 
@@ -69,6 +69,9 @@ import com.oracle.bmc.keymanagement.requests.ListVaultsRequest;
 import com.oracle.bmc.keymanagement.responses.GetKeyResponse;
 import com.oracle.bmc.keymanagement.responses.GetKeyVersionResponse;
 import com.oracle.bmc.keymanagement.responses.GetVaultResponse;
+import com.oracle.bmc.keymanagement.responses.ListKeyVersionsResponse;
+import com.oracle.bmc.keymanagement.responses.ListKeysResponse;
+import com.oracle.bmc.keymanagement.responses.ListVaultsResponse;
 import com.oracle.bmc.secrets.SecretsClient;
 import com.oracle.bmc.secrets.model.Base64SecretBundleContentDetails;
 import com.oracle.bmc.secrets.requests.GetSecretBundleRequest;
@@ -103,13 +106,19 @@ import com.oracle.bmc.vault.responses.CancelSecretVersionDeletionResponse;
 import com.oracle.bmc.vault.responses.CreateSecretResponse;
 import com.oracle.bmc.vault.responses.GetSecretResponse;
 import com.oracle.bmc.vault.responses.GetSecretVersionResponse;
+import com.oracle.bmc.vault.responses.ListSecretVersionsResponse;
+import com.oracle.bmc.vault.responses.ListSecretsResponse;
 import com.oracle.bmc.vault.responses.ScheduleSecretDeletionResponse;
 import com.oracle.bmc.vault.responses.ScheduleSecretVersionDeletionResponse;
 import com.oracle.bmc.vault.responses.UpdateSecretResponse;
 import com.oracle.timg.oci.authentication.AuthenticationProcessor;
+import com.oracle.timg.oci.cache.ETagCache;
+import com.oracle.timg.oci.cache.ETagged;
+import com.oracle.timg.oci.paginators.PrefetchingPaginator;
 
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
 public class VaultProcessor {
 	private final AuthenticationProcessor authProcessor;
@@ -119,6 +128,19 @@ public class VaultProcessor {
 	private final VaultsClient vaultClient;
 	@Getter
 	private final SecretsClient secretsClient;
+	// the number of pages the stream methods fetch in the background ahead of the
+	// page being processed, 0 or less fetches pages only when they are needed
+	@Getter
+	@Setter
+	private int pageReadAhead = PrefetchingPaginator.DEFAULT_READ_AHEAD;
+	// the vaults, keys and secrets returned by the get methods, set the max age to
+	// avoid fetching them on every call
+	@Getter
+	private final ETagCache<Vault> vaultCache = new ETagCache<>();
+	@Getter
+	private final ETagCache<Key> keyCache = new ETagCache<>();
+	@Getter
+	private final ETagCache<Secret> secretCache = new ETagCache<>();
 
 	/**
 	 * Creates a VCNProcessor which will use the supplied AuthenticationProcessor
@@ -222,15 +244,32 @@ public class VaultProcessor {
 	 */
 	public List<VaultSummary> listVaultSummaries(@NonNull String parentCompartmentOcid, String displayName,
 			VaultSummary.LifecycleState livecycleState) {
+		return streamVaultSummaries(parentCompartmentOcid, displayName, livecycleState).toList();
+	}
+
+	/**
+	 * 
+	 * get a stream of the vault summaries in the compartment with the specified
+	 * ocid in the specified state (if null in all states) and with the displayName
+	 * (if null all names), the summaries are retrieved a page at a time as the
+	 * stream is consumed
+	 * 
+	 * @param parentCompartmentOcid - must not be null
+	 * @param displayName           the name to look for (or all if not specified)
+	 * @return
+	 */
+	public Stream<VaultSummary> streamVaultSummaries(@NonNull String parentCompartmentOcid, String displayName,
+			VaultSummary.LifecycleState livecycleState) {
 		ListVaultsRequest.Builder requestBuilder = ListVaultsRequest.builder().compartmentId(parentCompartmentOcid)
 				.sortBy(ListVaultsRequest.SortBy.Displayname).sortOrder(ListVaultsRequest.SortOrder.Asc);
-		Iterable<VaultSummary> vaultsResponse = kmsVaultClient.getPaginators()
-				.listVaultsRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(vaultsResponse.spliterator(), false).filter((vaultSummary) -> {
-			return (livecycleState == null) || (vaultSummary.getLifecycleState() == livecycleState);
-		}).filter((vaultsummary) -> {
-			return ((displayName == null) || (vaultsummary.getDisplayName().equals(displayName)));
-		}).toList();
+		Iterable<ListVaultsResponse> vaultPages = kmsVaultClient.getPaginators()
+				.listVaultsResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(vaultPages, response -> response.getItems(), pageReadAhead)
+				.filter((vaultSummary) -> {
+					return (livecycleState == null) || (vaultSummary.getLifecycleState() == livecycleState);
+				}).filter((vaultsummary) -> {
+					return ((displayName == null) || (vaultsummary.getDisplayName().equals(displayName)));
+				});
 	}
 
 	/**
@@ -318,11 +357,25 @@ public class VaultProcessor {
 	 */
 	public List<Vault> listVaults(@NonNull String parentCompartmentOcid, String displayName,
 			Vault.LifecycleState lifecycleState) {
+		return streamVaults(parentCompartmentOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * 
+	 * get a stream of the vaults in the compartment with the specified ocid in the
+	 * specified state and matching the displayName if it's non null, the vault
+	 * details are retrieved as the stream is consumed
+	 * 
+	 * @param parentCompartmentOcid - must not be null
+	 * @return
+	 */
+	public Stream<Vault> streamVaults(@NonNull String parentCompartmentOcid, String displayName,
+			Vault.LifecycleState lifecycleState) {
 		VaultSummary.LifecycleState vaultSummaryLifecycleState = lifecycleState == null ? null
 				: VaultSummary.LifecycleState.create(lifecycleState.getValue());
-		List<VaultSummary> vaultSummaries = listVaultSummaries(parentCompartmentOcid, displayName,
+		Stream<VaultSummary> vaultSummaries = streamVaultSummaries(parentCompartmentOcid, displayName,
 				vaultSummaryLifecycleState);
-		return vaultSummaries.stream().map(vs -> getVaultFromVaultSummary(vs)).toList();
+		return vaultSummaries.map(vs -> getVaultFromVaultSummary(vs));
 	}
 
 	/**
@@ -388,9 +441,24 @@ public class VaultProcessor {
 	}
 
 	public Vault getVault(@NonNull String vaultOcid) {
-		GetVaultRequest request = GetVaultRequest.builder().vaultId(vaultOcid).build();
-		GetVaultResponse response = kmsVaultClient.getVault(request);
-		return response.getVault();
+		return getVaultWithETag(vaultOcid).value();
+	}
+
+	/**
+	 * gets the vault and its ETag, if the ETag is the same as the last time the
+	 * vault was read the previously returned Vault is returned again
+	 * 
+	 * @see ETagCache
+	 * @param vaultOcid
+	 * @return
+	 */
+	public ETagged<Vault> getVaultWithETag(@NonNull String vaultOcid) {
+		// the service doesn't support If-None-Match so this always fetches
+		return vaultCache.get(vaultOcid, cachedETag -> {
+			GetVaultRequest request = GetVaultRequest.builder().vaultId(vaultOcid).build();
+			GetVaultResponse response = kmsVaultClient.getVault(request);
+			return new ETagged<>(response.getVault(), response.getEtag());
+		});
 	}
 
 	private Map<String, KmsManagementClient> perVaultKmsManagementClient = new HashMap<>();
@@ -441,25 +509,47 @@ public class VaultProcessor {
 
 	public List<KeySummary> listKeySummaries(@NonNull VaultSummary vaultSummary, @NonNull String parentCompartmentOcid,
 			String displayName, KeySummary.LifecycleState lifecycleState) {
+		return streamKeySummaries(vaultSummary, parentCompartmentOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the keys in the vault in the specified compartment, if
+	 * displayName or lifecycleState are non null then only keys matching them are
+	 * returned, the keys are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param vaultSummary          - must not be null
+	 * @param parentCompartmentOcid - must not be null
+	 * @param displayName
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<KeySummary> streamKeySummaries(@NonNull VaultSummary vaultSummary,
+			@NonNull String parentCompartmentOcid, String displayName, KeySummary.LifecycleState lifecycleState) {
 		// this is vault specific, so we need one for each vault
 		KmsManagementClient kmsManagementClient = getKmsManagementClientForVault(vaultSummary);
-		return listKeySummaries(kmsManagementClient, parentCompartmentOcid, displayName, lifecycleState);
+		return streamKeySummaries(kmsManagementClient, parentCompartmentOcid, displayName, lifecycleState);
 	}
 
 	private List<KeySummary> listKeySummaries(@NonNull KmsManagementClient kmsManagementClient,
 			@NonNull String parentCompartmentOcid, String displayName, KeySummary.LifecycleState lifecycleState) {
+		return streamKeySummaries(kmsManagementClient, parentCompartmentOcid, displayName, lifecycleState).toList();
+	}
+
+	private Stream<KeySummary> streamKeySummaries(@NonNull KmsManagementClient kmsManagementClient,
+			@NonNull String parentCompartmentOcid, String displayName, KeySummary.LifecycleState lifecycleState) {
 
 		// keys are in a compartment and a vault, the key management client is
 		// associated to the vault.
 		ListKeysRequest request = ListKeysRequest.builder().compartmentId(parentCompartmentOcid)
 				.sortBy(ListKeysRequest.SortBy.Displayname).sortOrder(ListKeysRequest.SortOrder.Asc).build();
 		// this is vault specific, so we need one for each vault
-		Iterable<KeySummary> response = kmsManagementClient.getPaginators().listKeysRecordIterator(request);
-		return StreamSupport.stream(response.spliterator(), false).filter((keySummary) -> {
-			return ((lifecycleState == null) || (keySummary.getLifecycleState() == lifecycleState));
-		}).filter((vaultsummary) -> {
-			return ((displayName == null) || (vaultsummary.getDisplayName().equals(displayName)));
-		}).toList();
+		Iterable<ListKeysResponse> keyPages = kmsManagementClient.getPaginators().listKeysResponseIterator(request);
+		return PrefetchingPaginator.stream(keyPages, response -> response.getItems(), pageReadAhead)
+				.filter((keySummary) -> {
+					return ((lifecycleState == null) || (keySummary.getLifecycleState() == lifecycleState));
+				}).filter((vaultsummary) -> {
+					return ((displayName == null) || (vaultsummary.getDisplayName().equals(displayName)));
+				});
 	}
 
 	/**
@@ -487,8 +577,24 @@ public class VaultProcessor {
 
 	public List<KeySummary> listKeySummaries(@NonNull Vault vault, @NonNull String parentCompartmentOcid,
 			String displayName, KeySummary.LifecycleState lifecycleState) {
+		return streamKeySummaries(vault, parentCompartmentOcid, displayName, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the keys in the vault in the specified compartment, if
+	 * displayName or lifecycleState are non null then only keys matching them are
+	 * returned, the keys are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param vault                 - must not be null
+	 * @param parentCompartmentOcid - must not be null
+	 * @param displayName
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<KeySummary> streamKeySummaries(@NonNull Vault vault, @NonNull String parentCompartmentOcid,
+			String displayName, KeySummary.LifecycleState lifecycleState) {
 		KmsManagementClient kmsManagementClient = getKmsManagementClientForVault(vault);
-		return listKeySummaries(kmsManagementClient, parentCompartmentOcid, displayName, lifecycleState);
+		return streamKeySummaries(kmsManagementClient, parentCompartmentOcid, displayName, lifecycleState);
 	}
 
 	public Key getKey(@NonNull VaultSummary vaultSummary, @NonNull KeySummary keySummary) {
@@ -534,10 +640,28 @@ public class VaultProcessor {
 	}
 
 	public Key getKey(@NonNull String vaultOcid, @NonNull String vaultEndpoint, @NonNull String keyOcid) {
-		GetKeyRequest request = GetKeyRequest.builder().keyId(keyOcid).build();
-		KmsManagementClient kmvManagementClient = getKmsManagementClientForVault(vaultOcid, vaultEndpoint);
-		GetKeyResponse response = kmvManagementClient.getKey(request);
-		return response.getKey();
+		return getKeyWithETag(vaultOcid, vaultEndpoint, keyOcid).value();
+	}
+
+	/**
+	 * gets the key and its ETag, if the ETag is the same as the last time the key
+	 * was read the previously returned Key is returned again
+	 * 
+	 * @see ETagCache
+	 * @param vaultOcid
+	 * @param vaultEndpoint
+	 * @param keyOcid
+	 * @return
+	 */
+	public ETagged<Key> getKeyWithETag(@NonNull String vaultOcid, @NonNull String vaultEndpoint,
+			@NonNull String keyOcid) {
+		// the service doesn't support If-None-Match so this always fetches
+		return keyCache.get(keyOcid, cachedETag -> {
+			GetKeyRequest request = GetKeyRequest.builder().keyId(keyOcid).build();
+			KmsManagementClient kmvManagementClient = getKmsManagementClientForVault(vaultOcid, vaultEndpoint);
+			GetKeyResponse response = kmvManagementClient.getKey(request);
+			return new ETagged<>(response.getKey(), response.getEtag());
+		});
 	}
 
 	public List<KeyVersionSummary> listKeyVersionSummaries(@NonNull VaultSummary vaultSummary,
@@ -591,21 +715,43 @@ public class VaultProcessor {
 
 	public List<KeyVersionSummary> listKeyVersionSummaries(@NonNull String vaultOcid, @NonNull String vaultEndpoint,
 			@NonNull String keyId, KeyVersionSummary.LifecycleState lifecycleState) {
+		return streamKeyVersionSummaries(vaultOcid, vaultEndpoint, keyId, lifecycleState).toList();
+	}
+
+	/**
+	 * get a stream of the versions of the key in the vault, most recent first, if
+	 * lifecycleState is non null only versions in that state are returned, the
+	 * versions are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param vaultOcid     - must not be null
+	 * @param vaultEndpoint - must not be null
+	 * @param keyId         - must not be null
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<KeyVersionSummary> streamKeyVersionSummaries(@NonNull String vaultOcid, @NonNull String vaultEndpoint,
+			@NonNull String keyId, KeyVersionSummary.LifecycleState lifecycleState) {
 		KmsManagementClient kmvManagementClient = getKmsManagementClientForVault(vaultOcid, vaultEndpoint);
-		return listKeyVersionSummaries(kmvManagementClient, keyId, lifecycleState);
+		return streamKeyVersionSummaries(kmvManagementClient, keyId, lifecycleState);
 	}
 
 	private List<KeyVersionSummary> listKeyVersionSummaries(@NonNull KmsManagementClient kmsManagementClient,
 			@NonNull String keyId, KeyVersionSummary.LifecycleState lifecycleState) {
+		return streamKeyVersionSummaries(kmsManagementClient, keyId, lifecycleState).toList();
+	}
+
+	private Stream<KeyVersionSummary> streamKeyVersionSummaries(@NonNull KmsManagementClient kmsManagementClient,
+			@NonNull String keyId, KeyVersionSummary.LifecycleState lifecycleState) {
 		ListKeyVersionsRequest request = ListKeyVersionsRequest.builder().keyId(keyId)
 				.sortBy(ListKeyVersionsRequest.SortBy.Timecreated).sortOrder(ListKeyVersionsRequest.SortOrder.Desc)
 				.build();
 		// this is vault specific, so we need one for each vault
-		Iterable<KeyVersionSummary> response = kmsManagementClient.getPaginators()
-				.listKeyVersionsRecordIterator(request);
-		return StreamSupport.stream(response.spliterator(), false).filter((keyVersionSummary) -> {
-			return ((lifecycleState == null) || (keyVersionSummary.getLifecycleState() == lifecycleState));
-		}).toList();
+		Iterable<ListKeyVersionsResponse> keyVersionPages = kmsManagementClient.getPaginators()
+				.listKeyVersionsResponseIterator(request);
+		return PrefetchingPaginator.stream(keyVersionPages, response -> response.getItems(), pageReadAhead)
+				.filter((keyVersionSummary) -> {
+					return ((lifecycleState == null) || (keyVersionSummary.getLifecycleState() == lifecycleState));
+				});
 	}
 
 	public List<KeyVersion> listKeyVersions(@NonNull VaultSummary vaultSummary, @NonNull KeySummary keySummary) {
@@ -660,19 +806,34 @@ public class VaultProcessor {
 
 	public List<KeyVersion> listKeyVersions(@NonNull String vaultOcid, @NonNull String vaultEndpoint, String keyId,
 			KeyVersion.LifecycleState lifecycleState) {
-		KmsManagementClient kmvManagementClient = getKmsManagementClientForVault(vaultOcid, vaultEndpoint);
-		return listKeyVersions(kmvManagementClient, keyId, lifecycleState);
+		return streamKeyVersions(vaultOcid, vaultEndpoint, keyId, lifecycleState).toList();
 	}
 
-	private List<KeyVersion> listKeyVersions(@NonNull KmsManagementClient kmsManagementClient, @NonNull String keyId,
+	/**
+	 * get a stream of the versions of the key in the vault, most recent first, if
+	 * lifecycleState is non null only versions in that state are returned, the
+	 * version details are retrieved as the stream is consumed
+	 * 
+	 * @param vaultOcid     - must not be null
+	 * @param vaultEndpoint - must not be null
+	 * @param keyId
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<KeyVersion> streamKeyVersions(@NonNull String vaultOcid, @NonNull String vaultEndpoint, String keyId,
 			KeyVersion.LifecycleState lifecycleState) {
+		KmsManagementClient kmvManagementClient = getKmsManagementClientForVault(vaultOcid, vaultEndpoint);
+		return streamKeyVersions(kmvManagementClient, keyId, lifecycleState);
+	}
+
+	private Stream<KeyVersion> streamKeyVersions(@NonNull KmsManagementClient kmsManagementClient,
+			@NonNull String keyId, KeyVersion.LifecycleState lifecycleState) {
 		KeyVersionSummary.LifecycleState kvsLifecycleState = lifecycleState == null ? null
 				: KeyVersionSummary.LifecycleState.create(lifecycleState.getValue());
-		List<KeyVersionSummary> keyVersionSummaries = listKeyVersionSummaries(kmsManagementClient, keyId,
+		Stream<KeyVersionSummary> keyVersionSummaries = streamKeyVersionSummaries(kmsManagementClient, keyId,
 				kvsLifecycleState);
-		return keyVersionSummaries.stream()
-				.map(keyVersionSummary -> getKeyVersion(kmsManagementClient, keyId, keyVersionSummary.getId()))
-				.toList();
+		return keyVersionSummaries
+				.map(keyVersionSummary -> getKeyVersion(kmsManagementClient, keyId, keyVersionSummary.getId()));
 	}
 
 	/**
@@ -867,6 +1028,23 @@ public class VaultProcessor {
 	 */
 	public List<SecretSummary> listSecretSummaries(@NonNull String compartmentOcid, String vaultOcid, String name,
 			SecretSummary.LifecycleState lifecycleState) {
+		return streamSecretSummaries(compartmentOcid, vaultOcid, name, lifecycleState).toList();
+	}
+
+	/**
+	 * Get a stream of the secret summaries in the specified compartment, if any of
+	 * the vault / name / lifecycle state are specified then the returned stream is
+	 * filtered against those. The result is ordered by the secret name and is
+	 * retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param compartmentOcid
+	 * @param vaultOcid
+	 * @param name
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<SecretSummary> streamSecretSummaries(@NonNull String compartmentOcid, String vaultOcid, String name,
+			SecretSummary.LifecycleState lifecycleState) {
 		ListSecretsRequest.Builder requestBuilder = ListSecretsRequest.builder().compartmentId(compartmentOcid)
 				.sortBy(SortBy.Name).sortOrder(ListSecretsRequest.SortOrder.Asc);
 		if (vaultOcid != null) {
@@ -878,9 +1056,9 @@ public class VaultProcessor {
 		if (lifecycleState != null) {
 			requestBuilder.lifecycleState(lifecycleState);
 		}
-		Iterable<SecretSummary> response = vaultClient.getPaginators()
-				.listSecretsRecordIterator(requestBuilder.build());
-		return StreamSupport.stream(response.spliterator(), false).toList();
+		Iterable<ListSecretsResponse> secretPages = vaultClient.getPaginators()
+				.listSecretsResponseIterator(requestBuilder.build());
+		return PrefetchingPaginator.stream(secretPages, response -> response.getItems(), pageReadAhead);
 	}
 
 	/**
@@ -964,11 +1142,28 @@ public class VaultProcessor {
 	 */
 	public List<Secret> listSecrets(@NonNull String compartmentOcid, String vaultOcid, String name,
 			Secret.LifecycleState lifecycleState) {
+		return streamSecrets(compartmentOcid, vaultOcid, name, lifecycleState).toList();
+	}
+
+	/**
+	 * Get a stream of the secrets in the specified compartment, if any of the vault
+	 * / name / lifecycle state are specified then the returned stream is filtered
+	 * against those. The result is ordered by the secret name, the secret details
+	 * are retrieved as the stream is consumed
+	 * 
+	 * @param compartmentOcid
+	 * @param vaultOcid
+	 * @param name
+	 * @param lifecycleState
+	 * @return
+	 */
+	public Stream<Secret> streamSecrets(@NonNull String compartmentOcid, String vaultOcid, String name,
+			Secret.LifecycleState lifecycleState) {
 		SecretSummary.LifecycleState secretSummaryLifecycleState = lifecycleState == null ? null
 				: SecretSummary.LifecycleState.create(lifecycleState.getValue());
-		List<SecretSummary> secretSummaries = listSecretSummaries(compartmentOcid, vaultOcid, name,
+		Stream<SecretSummary> secretSummaries = streamSecretSummaries(compartmentOcid, vaultOcid, name,
 				secretSummaryLifecycleState);
-		return secretSummaries.stream().map(secretSummary -> getSecret(secretSummary)).toList();
+		return secretSummaries.map(secretSummary -> getSecret(secretSummary));
 	}
 
 	/**
@@ -1030,9 +1225,26 @@ public class VaultProcessor {
 	 * @return
 	 */
 	public Secret getSecret(@NonNull String secretOcid) {
-		GetSecretRequest request = GetSecretRequest.builder().secretId(secretOcid).build();
-		GetSecretResponse response = vaultClient.getSecret(request);
-		return response.getSecret();
+		return getSecretWithETag(secretOcid).value();
+	}
+
+	/**
+	 * gets the secret by it's OCID along with its ETag, this can be passed to
+	 * updateSecretVersionPendingToCurrent so the update only happens if the secret
+	 * hasn't changed. If the ETag is the same as the last time the secret was read
+	 * the previously returned Secret is returned again
+	 * 
+	 * @see ETagCache
+	 * @param secretOcid
+	 * @return
+	 */
+	public ETagged<Secret> getSecretWithETag(@NonNull String secretOcid) {
+		// the service doesn't support If-None-Match so this always fetches
+		return secretCache.get(secretOcid, cachedETag -> {
+			GetSecretRequest request = GetSecretRequest.builder().secretId(secretOcid).build();
+			GetSecretResponse response = vaultClient.getSecret(request);
+			return new ETagged<>(response.getSecret(), response.getEtag());
+		});
 	}
 
 	/**
@@ -1254,6 +1466,7 @@ public class VaultProcessor {
 		ScheduleSecretDeletionRequest request = ScheduleSecretDeletionRequest.builder().secretId(secretOcid)
 				.scheduleSecretDeletionDetails(details).build();
 		ScheduleSecretDeletionResponse response = vaultClient.scheduleSecretDeletion(request);
+		secretCache.invalidate(secretOcid);
 		return response.get__httpStatusCode__() == HttpStatus.SC_OK;
 	}
 
@@ -1268,6 +1481,7 @@ public class VaultProcessor {
 	public boolean cancelSecretDeletion(@NonNull String secretOcid) {
 		CancelSecretDeletionRequest request = CancelSecretDeletionRequest.builder().secretId(secretOcid).build();
 		CancelSecretDeletionResponse response = vaultClient.cancelSecretDeletion(request);
+		secretCache.invalidate(secretOcid);
 		return response.get__httpStatusCode__() == HttpStatus.SC_OK;
 	}
 
@@ -1521,6 +1735,20 @@ public class VaultProcessor {
 	 * @return
 	 */
 	public List<SecretVersion> listSecretVersions(@NonNull String secretOcid, SecretVersion.Stages... lifecycleStages) {
+		return streamSecretVersions(secretOcid, lifecycleStages).toList();
+	}
+
+	/**
+	 * returns a stream of the SecretVersion for the secret, filtered on the
+	 * lifecycleStages in the same way as listSecretVersions, the version details
+	 * are retrieved as the stream is consumed
+	 * 
+	 * @param secretOcid
+	 * @param lifecycleStage
+	 * @return
+	 */
+	public Stream<SecretVersion> streamSecretVersions(@NonNull String secretOcid,
+			SecretVersion.Stages... lifecycleStages) {
 		SecretVersionSummary.Stages secretVersionLifecycleStages[];
 		if (lifecycleStages == null) {
 			secretVersionLifecycleStages = null;
@@ -1530,12 +1758,11 @@ public class VaultProcessor {
 				secretVersionLifecycleStages[i] = SecretVersionSummary.Stages.create(lifecycleStages[i].getValue());
 			}
 		}
-		List<SecretVersionSummary> secretVersionSummaries = listSecretVersionSummaries(secretOcid,
+		Stream<SecretVersionSummary> secretVersionSummaries = streamSecretVersionSummaries(secretOcid,
 				secretVersionLifecycleStages);
-		return secretVersionSummaries.stream()
+		return secretVersionSummaries
 				.map(secretVersionSummary -> getSecretVersion(secretVersionSummary.getSecretId(),
-						secretVersionSummary.getVersionNumber()))
-				.toList();
+						secretVersionSummary.getVersionNumber()));
 	}
 
 	/**
@@ -1553,16 +1780,31 @@ public class VaultProcessor {
 	 */
 	public List<SecretVersionSummary> listSecretVersionSummaries(@NonNull String secretOcid,
 			SecretVersionSummary.Stages... lifecycleStages) {
+		return streamSecretVersionSummaries(secretOcid, lifecycleStages).toList();
+	}
+
+	/**
+	 * returns a stream of SecretVersionSummary for the secret, filtered on the
+	 * lifecycleStages in the same way as listSecretVersionSummaries, the summaries
+	 * are retrieved a page at a time as the stream is consumed
+	 * 
+	 * @param secretOcid
+	 * @param lifecycleStage
+	 * @return
+	 */
+	public Stream<SecretVersionSummary> streamSecretVersionSummaries(@NonNull String secretOcid,
+			SecretVersionSummary.Stages... lifecycleStages) {
 		ListSecretVersionsRequest request = ListSecretVersionsRequest.builder().secretId(secretOcid)
 				.sortBy(ListSecretVersionsRequest.SortBy.VersionNumber)
 				.sortOrder(ListSecretVersionsRequest.SortOrder.Desc).build();
 		List<SecretVersionSummary.Stages> stages = ((lifecycleStages == null) || (lifecycleStages.length == 0)) ? null
 				: Arrays.asList(lifecycleStages);
-		Iterable<SecretVersionSummary> secretVersionSummaries = vaultClient.getPaginators()
-				.listSecretVersionsRecordIterator(request);
-		return StreamSupport.stream(secretVersionSummaries.spliterator(), false).filter((secretVersionSummary) -> {
-			return stages == null ? true : secretVersionSummary.getStages().containsAll(stages);
-		}).toList();
+		Iterable<ListSecretVersionsResponse> secretVersionPages = vaultClient.getPaginators()
+				.listSecretVersionsResponseIterator(request);
+		return PrefetchingPaginator.stream(secretVersionPages, response -> response.getItems(), pageReadAhead)
+				.filter((secretVersionSummary) -> {
+					return stages == null ? true : secretVersionSummary.getStages().containsAll(stages);
+				});
 	}
 
 	/**
@@ -1828,6 +2070,7 @@ public class VaultProcessor {
 		UpdateSecretRequest request = UpdateSecretRequest.builder().secretId(secret.getId())
 				.updateSecretDetails(updateSecretDetails).build();
 		UpdateSecretResponse response = vaultClient.updateSecret(request);
+		secretCache.invalidate(request.getSecretId());
 		return response.getSecret();
 	}
 
@@ -1901,6 +2144,7 @@ public class VaultProcessor {
 		UpdateSecretRequest request = UpdateSecretRequest.builder().secretId(secretOcid)
 				.updateSecretDetails(updateSecretDetails).build();
 		UpdateSecretResponse response = vaultClient.updateSecret(request);
+		secretCache.invalidate(request.getSecretId());
 		return response.getSecret();
 	}
 
@@ -1922,11 +2166,40 @@ public class VaultProcessor {
 	 * @return
 	 */
 	public Secret updateSecretVersionPendingToCurrent(@NonNull String secretOcid, @NonNull Long secretVersionNumber) {
+		return updateSecretVersionPendingToCurrent(secretOcid, secretVersionNumber, null);
+	}
+
+	/**
+	 * update the secret version to current, but only if the secret still has the
+	 * ETag it had when it was read, if it has been changed since then this fails
+	 * with a 412 (precondition failed) BmcException
+	 * 
+	 * @param secret              - the secret and ETag from getSecretWithETag
+	 * @param secretVersionNumber
+	 * @return
+	 */
+	public Secret updateSecretVersionPendingToCurrent(@NonNull ETagged<Secret> secret,
+			@NonNull Long secretVersionNumber) {
+		return updateSecretVersionPendingToCurrent(secret.value().getId(), secretVersionNumber, secret.eTag());
+	}
+
+	/**
+	 * update the secret version to current
+	 * 
+	 * @param secretOcid
+	 * @param secretVersionNumber
+	 * @param ifMatch             - if not null the update only happens if the
+	 *                            secret has this ETag
+	 * @return
+	 */
+	public Secret updateSecretVersionPendingToCurrent(@NonNull String secretOcid, @NonNull Long secretVersionNumber,
+			String ifMatch) {
 		UpdateSecretDetails updateSecretDetails = UpdateSecretDetails.builder()
 				.currentVersionNumber(secretVersionNumber).build();
 		UpdateSecretRequest request = UpdateSecretRequest.builder().secretId(secretOcid)
-				.updateSecretDetails(updateSecretDetails).build();
+				.updateSecretDetails(updateSecretDetails).ifMatch(ifMatch).build();
 		UpdateSecretResponse response = vaultClient.updateSecret(request);
+		secretCache.invalidate(request.getSecretId());
 		return response.getSecret();
 	}
 
@@ -0,0 +1,94 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkManifestTest {
+	private static final String HEADER = "oci-chunk-manifest 1\n";
+	private static final String HASH_A = "a".repeat(64);
+	private static final String HASH_B = "b".repeat(64);
+
+	@Test
+	void roundTrips() throws IOException {
+		ChunkManifest manifest = new ChunkManifest("chunks/",
+				List.of(new ChunkManifest.Chunk(HASH_A, 100), new ChunkManifest.Chunk(HASH_B, 5),
+						new ChunkManifest.Chunk(HASH_A, 100)));
+		ChunkManifest read = read(manifest.toBytes());
+		assertEquals(205, read.getSize());
+		assertEquals("chunks/", read.getChunkPrefix());
+		assertEquals(manifest.getChunks(), read.getChunks());
+		assertEquals("chunks/" + HASH_B, read.chunkObjectName(read.getChunks().get(1)));
+		assertArrayEquals(manifest.toBytes(), read.toBytes());
+	}
+
+	@Test
+	void emptyManifestRoundTrips() throws IOException {
+		ChunkManifest read = read(new ChunkManifest("", List.of()).toBytes());
+		assertEquals(0, read.getSize());
+		assertEquals("", read.getChunkPrefix());
+		assertEquals(List.of(), read.getChunks());
+	}
+
+	@Test
+	void invalidManifestsAreRejected() {
+		assertThrows(IOException.class, () -> read(new byte[0]));
+		assertThrows(IOException.class, () -> read("something else\n"));
+		assertThrows(IOException.class, () -> read(HEADER + "chunkPrefix c/\n"));
+		// the chunks don't add up to the size
+		assertThrows(IOException.class, () -> read(HEADER + "size 10\nchunkPrefix c/\n" + HASH_A + " 5\n"));
+		assertThrows(IOException.class, () -> read(HEADER + "size 5\nchunkPrefix c/\n" + HASH_A + " five\n"));
+		assertThrows(IOException.class, () -> read(HEADER + "size 5\nchunkPrefix c/\n" + HASH_A + "\n"));
+	}
+
+	private static ChunkManifest read(byte[] bytes) throws IOException {
+		return ChunkManifest.read(new ByteArrayInputStream(bytes));
+	}
+
+	private static ChunkManifest read(String text) throws IOException {
+		return read(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,274 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.oracle.bmc.objectstorage.model.ObjectSummary;
+
+class InventorySnapshotTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void emptySnapshotRoundTrips() throws IOException {
+		InventorySnapshot snapshot = write(List.of());
+		assertEquals(0, snapshot.getEntryCount());
+		assertEquals("bucket", snapshot.getBucketName());
+		assertEquals("logs/", snapshot.getPrefix());
+		assertEquals(1234L, snapshot.getSnapshotTime());
+		assertEquals(0, snapshot.count(null));
+		assertEquals(0, snapshot.count("a"));
+		assertNull(snapshot.lookup("a"));
+		assertEquals(0, snapshot.stream(null).count());
+		assertArrayEquals(new int[] { 0, 0 }, snapshot.range(new byte[] { (byte) 0xff }));
+		assertEquals(0, InventorySnapshot.load(directory.resolve("snapshot")).getEntryCount());
+	}
+
+	@Test
+	void blockBoundariesRoundTrip() throws IOException {
+		// one short of a block, exactly one block, one into the second and exactly
+		// two blocks
+		for (int count : new int[] { 1, 15, 16, 17, 32 }) {
+			List<String> names = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				names.add(String.format("logs/%03d", i));
+			}
+			InventorySnapshot snapshot = write(names);
+			assertEquals(count, snapshot.getEntryCount());
+			assertContents(names, snapshot);
+			assertNull(snapshot.lookup("logs/"));
+			assertNull(snapshot.lookup(String.format("logs/%03d", count)));
+			assertNull(snapshot.lookup("a"));
+			assertNull(snapshot.lookup("z"));
+			assertEquals(count, snapshot.count("logs/"));
+			assertEquals(Math.min(count, 10), snapshot.count("logs/00"));
+		}
+	}
+
+	@Test
+	void fieldsRoundTrip() throws IOException {
+		byte[] md5 = new byte[16];
+		Arrays.fill(md5, (byte) 0xab);
+		String encodedMd5 = Base64.getEncoder().encodeToString(md5);
+		Writer writer = new Writer();
+		writer.add(ObjectSummary.builder().name("known").size(42L).timeModified(new Date(5000)).md5(encodedMd5)
+				.build());
+		// a multi part MD5 isn't a plain MD5 so is recorded as unknown
+		writer.add(ObjectSummary.builder().name("multipart").size(0L).md5("abc-3").build());
+		writer.add(ObjectSummary.builder().name("unknown").build());
+		InventorySnapshot snapshot = writer.finish();
+		ObjectSummary known = snapshot.lookup("known");
+		assertEquals(42L, known.getSize());
+		assertEquals(new Date(5000), known.getTimeModified());
+		assertEquals(encodedMd5, known.getMd5());
+		ObjectSummary multipart = snapshot.lookup("multipart");
+		assertEquals(0L, multipart.getSize());
+		assertNull(multipart.getMd5());
+		ObjectSummary unknown = snapshot.lookup("unknown");
+		assertNull(unknown.getSize());
+		assertNull(unknown.getTimeModified());
+		assertNull(unknown.getMd5());
+	}
+
+	@Test
+	void prefixRanges() throws IOException {
+		InventorySnapshot snapshot = write(List.of("a", "a-b", "a.b", "a/", "a/1", "a/2", "a0", "b", "b/1"));
+		assertEquals(9, snapshot.count(null));
+		assertEquals(9, snapshot.count(""));
+		assertEquals(7, snapshot.count("a"));
+		assertEquals(3, snapshot.count("a/"));
+		assertEquals(List.of("a/", "a/1", "a/2"), names(snapshot, "a/"));
+		assertEquals(1, snapshot.count("a/1"));
+		assertEquals(2, snapshot.count("b"));
+		// absent prefixes before, between and after the names
+		assertEquals(0, snapshot.count("0"));
+		assertEquals(0, snapshot.count("a/3"));
+		assertEquals(0, snapshot.count("a1"));
+		assertEquals(0, snapshot.count("c"));
+		assertEquals(0, snapshot.stream("a/3").count());
+		assertArrayEquals(new int[] { 9, 9 }, snapshot.range("c"));
+	}
+
+	@Test
+	void prefixesEndingInTheHighestBytes() throws IOException {
+		// UTF-8 never has a 0xff byte, the highest code points end in 0xbf
+		String high = "\uFFFF";
+		String highest = new String(Character.toChars(Character.MAX_CODE_POINT));
+		InventorySnapshot snapshot = write(List.of("a", "a" + high, "a" + high + "x", "a" + highest, "b",
+				highest, highest + highest));
+		assertEquals(2, snapshot.count("a" + high));
+		assertEquals(1, snapshot.count("a" + highest));
+		assertEquals(2, snapshot.count(highest));
+		assertEquals(List.of(highest, highest + highest), names(snapshot, highest));
+		// the range calculation carries over trailing 0xff bytes
+		assertArrayEquals(new int[] { 4, 4 }, snapshot.range(new byte[] { 'a', (byte) 0xff }));
+		assertArrayEquals(new int[] { 5, 5 }, snapshot.range(new byte[] { 'b', (byte) 0xff, (byte) 0xff }));
+		assertArrayEquals(new int[] { 7, 7 }, snapshot.range(new byte[] { (byte) 0xff }));
+		assertArrayEquals(new int[] { 7, 7 }, snapshot.range(new byte[] { (byte) 0xff, (byte) 0xff }));
+	}
+
+	@Test
+	void longSharedNamesRoundTrip() throws IOException {
+		// longer than the cursor's initial name buffer
+		String base = "x".repeat(300);
+		List<String> names = List.of(base, base + "/1", base + "/2" + "y".repeat(400), base + "0");
+		InventorySnapshot snapshot = write(names);
+		assertContents(names, snapshot);
+		assertEquals(2, snapshot.count(base + "/"));
+	}
+
+	@Test
+	void matchesAScanOfTheNames() throws IOException {
+		Random random = new Random(1);
+		TreeSet<String> unique = new TreeSet<>(
+				(first, second) -> Arrays.compareUnsigned(first.getBytes(StandardCharsets.UTF_8),
+						second.getBytes(StandardCharsets.UTF_8)));
+		String[] parts = { "a", "b", "ab", "logs", "2024", "\u00e9", "x-y", "." };
+		while (unique.size() < 1000) {
+			StringBuilder name = new StringBuilder();
+			for (int depth = random.nextInt(4); depth >= 0; depth--) {
+				name.append(parts[random.nextInt(parts.length)]).append('/');
+			}
+			name.append(random.nextInt(50));
+			unique.add(name.toString());
+		}
+		List<String> names = new ArrayList<>(unique);
+		InventorySnapshot snapshot = write(names);
+		assertContents(names, snapshot);
+		for (int i = 0; i < 200; i++) {
+			String name = names.get(random.nextInt(names.size()));
+			String prefix = name.substring(0, random.nextInt(name.length() + 1));
+			List<String> expected = names.stream().filter(candidate -> candidate.startsWith(prefix)).toList();
+			assertEquals(expected, names(snapshot, prefix), "prefix " + prefix);
+			assertEquals(expected.size(), snapshot.count(prefix));
+		}
+	}
+
+	@Test
+	void namesOutOfOrderAreRejected() throws IOException {
+		try (InventorySnapshot.Writer writer = new InventorySnapshot.Writer(directory.resolve("snapshot"), "bucket",
+				null, 0)) {
+			writer.add(ObjectSummary.builder().name("b").build());
+			assertThrows(IllegalArgumentException.class, () -> writer.add(ObjectSummary.builder().name("a").build()));
+			assertThrows(IllegalArgumentException.class, () -> writer.add(ObjectSummary.builder().name("b").build()));
+		}
+	}
+
+	@Test
+	void otherFilesAreNotLoaded() throws IOException {
+		Path other = directory.resolve("other");
+		Files.write(other, new byte[64]);
+		assertThrows(IOException.class, () -> InventorySnapshot.load(other));
+		Files.write(other, new byte[4]);
+		assertThrows(IOException.class, () -> InventorySnapshot.load(other));
+	}
+
+	private InventorySnapshot write(List<String> names) throws IOException {
+		Writer writer = new Writer();
+		for (int i = 0; i < names.size(); i++) {
+			writer.add(ObjectSummary.builder().name(names.get(i)).size((long) i).timeModified(new Date(1000L + i))
+					.md5(md5(i)).build());
+		}
+		return writer.finish();
+	}
+
+	private void assertContents(List<String> names, InventorySnapshot snapshot) {
+		assertEquals(names, names(snapshot, null));
+		for (int i = 0; i < names.size(); i++) {
+			ObjectSummary summary = snapshot.lookup(names.get(i));
+			assertEquals(names.get(i), summary.getName());
+			assertEquals((long) i, summary.getSize());
+			assertEquals(new Date(1000L + i), summary.getTimeModified());
+			assertEquals(md5(i), summary.getMd5());
+		}
+	}
+
+	// a different MD5 for each index, never all zeros as that is recorded as
+	// unknown
+	private static String md5(int index) {
+		byte[] md5 = new byte[16];
+		md5[0] = (byte) index;
+		md5[1] = (byte) (index >> 8);
+		md5[15] = 1;
+		return Base64.getEncoder().encodeToString(md5);
+	}
+
+	private static List<String> names(InventorySnapshot snapshot, String prefix) {
+		return snapshot.stream(prefix).map(summary -> summary.getName()).toList();
+	}
+
+	// writes to the same file each time, which also checks an existing snapshot is
+	// replaced
+	private class Writer {
+		private final InventorySnapshot.Writer writer;
+
+		private Writer() throws IOException {
+			writer = new InventorySnapshot.Writer(directory.resolve("snapshot"), "bucket", "logs/", 1234L);
+		}
+
+		private void add(ObjectSummary summary) throws IOException {
+			writer.add(summary);
+		}
+
+		private InventorySnapshot finish() throws IOException {
+			try {
+				return writer.finish();
+			} finally {
+				writer.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalFileManifestTest {
+	@TempDir
+	Path root;
+
+	@Test
+	void missingOrOtherFilesLoadAsEmpty() throws IOException {
+		assertEquals(0, LocalFileManifest.load(root.resolve("missing")).getEntryCount());
+		Path other = root.resolve("other");
+		Files.write(other, new byte[64]);
+		LocalFileManifest manifest = LocalFileManifest.load(other);
+		assertEquals(0, manifest.getEntryCount());
+		assertNull(manifest.lookup("other"));
+	}
+
+	@Test
+	void emptyTreeRoundTrips() throws IOException {
+		Path tree = Files.createDirectory(root.resolve("tree"));
+		Path manifestFile = root.resolve("manifest");
+		LocalFileManifest manifest = LocalFileManifest.load(manifestFile).refresh(manifestFile, tree, 2);
+		assertEquals(0, manifest.getEntryCount());
+		assertEquals(0, LocalFileManifest.load(manifestFile).getEntryCount());
+		assertNull(manifest.lookup("a"));
+	}
+
+	@Test
+	void treeRoundTrips() throws IOException {
+		// '-' and '.' sort before '/' so the byte order is not the walk order
+		write("a-b", "1");
+		write("a.b", "22");
+		write("a/b", "333");
+		write("a/c/d", "");
+		write("z", "z");
+		// a manifest inside the tree is not part of it
+		Path manifestFile = root.resolve("manifest");
+		LocalFileManifest manifest = LocalFileManifest.load(manifestFile).refresh(manifestFile, root, 2);
+		assertEquals(5, manifest.getEntryCount());
+		for (String path : new String[] { "a-b", "a.b", "a/b", "a/c/d", "z" }) {
+			LocalFileManifest.Entry entry = LocalFileManifest.load(manifestFile).lookup(path);
+			Path file = root.resolve(path);
+			assertEquals(path, entry.path());
+			assertEquals(Files.size(file), entry.size());
+			assertEquals(Files.getLastModifiedTime(file).toMillis(), entry.modified());
+			assertEquals(LocalFileManifest.inode(file), entry.inode());
+			assertEquals(RangedObjectDownloader.md5(file), entry.md5());
+		}
+		assertNull(manifest.lookup("manifest"));
+		assertNull(manifest.lookup("a"));
+		assertNull(manifest.lookup("a/c"));
+		assertNull(manifest.lookup("0"));
+		assertNull(manifest.lookup("zz"));
+	}
+
+	@Test
+	void refreshRehashesOnlyChangedFiles() throws IOException {
+		Path unchanged = write("unchanged", "same");
+		Path changed = write("changed", "before");
+		Path manifestFile = root.resolve("manifest");
+		LocalFileManifest first = LocalFileManifest.load(manifestFile).refresh(manifestFile, root, 1);
+		String changedMd5 = first.lookup("changed").md5();
+		Files.writeString(changed, "after!", StandardCharsets.UTF_8);
+		Files.setLastModifiedTime(changed, FileTime.fromMillis(Files.getLastModifiedTime(changed).toMillis() + 2000));
+		LocalFileManifest second = first.refresh(manifestFile, root, 1);
+		assertEquals(first.lookup("unchanged"), second.lookup("unchanged"));
+		assertEquals(RangedObjectDownloader.md5(unchanged), second.lookup("unchanged").md5());
+		assertNotEquals(changedMd5, second.lookup("changed").md5());
+		assertEquals(RangedObjectDownloader.md5(changed), second.lookup("changed").md5());
+	}
+
+	private Path write(String path, String contents) throws IOException {
+		Path file = root.resolve(path);
+		Files.createDirectories(file.getParent());
+		return Files.writeString(file, contents, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,109 @@
+/*Copyright (c) 2026 Oracle and/or its affiliates.
+
+The Universal Permissive License (UPL), Version 1.0
+
+Subject to the condition set forth below, permission is hereby granted to any
+person obtaining a copy of this software, associated documentation and/or data
+(collectively the "Software"), free of charge and under any and all copyright
+rights in the Software, and any and all patent rights owned or freely
+licensable by each licensor hereunder covering either (i) the unmodified
+Software as contributed to or provided by such licensor, or (ii) the Larger
+Works (as defined below), to deal in both
+
+(a) the Software, and
+(b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+one is included with the Software (each a "Larger Work" to which the Software
+is contributed by such licensors),
+
+without restriction, including without limitation the rights to copy, create
+derivative works of, display, perform, and distribute the Software and make,
+use, sell, offer for sale, import, export, have made, and have sold the
+Software and the Larger Work(s), and to sublicense the foregoing rights on
+either these or other terms.
+
+This license is subject to the following condition:
+The above copyright notice and either this complete permission notice or at
+a minimum a reference to the UPL must be included in all copies or
+substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.oracle.timg.oci.objectstorage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ObjectPackIndexTest {
+	@Test
+	void roundTrips() throws IOException {
+		List<ObjectPackIndex.Pack> packs = List.of(new ObjectPackIndex.Pack("p/pack-0", "etag-0"),
+				new ObjectPackIndex.Pack("p/pack-1", null));
+		// not in name order, the index sorts them
+		List<ObjectPackIndex.Entry> entries = List.of(new ObjectPackIndex.Entry("b/2", 1, 0, 10, 2000),
+				new ObjectPackIndex.Entry("a/1", 0, 0, 5, 1000), new ObjectPackIndex.Entry("a/2", 0, 5, 0, 1001),
+				new ObjectPackIndex.Entry("large", ObjectPackIndex.UNPACKED, 0, 1L << 40, 3000));
+		ObjectPackIndex read = read(new ObjectPackIndex(packs, entries).toBytes());
+		assertEquals(packs, read.getPacks());
+		assertEquals(4, read.size());
+		assertEquals(List.of("a/1", "a/2", "b/2", "large"),
+				read.getEntries().stream().map(entry -> entry.name()).toList());
+		assertEquals(new ObjectPackIndex.Entry("a/2", 0, 5, 0, 1001), read.lookup("a/2"));
+		assertEquals(packs.get(1), read.packOf(read.lookup("b/2")));
+		assertNull(read.packOf(read.lookup("large")));
+		assertEquals(1L << 40, read.lookup("large").length());
+	}
+
+	@Test
+	void emptyIndexRoundTrips() throws IOException {
+		ObjectPackIndex read = read(new ObjectPackIndex(List.of(), List.of()).toBytes());
+		assertEquals(0, read.size());
+		assertEquals(List.of(), read.getPacks());
+		assertNull(read.lookup("a"));
+		assertEquals(List.of(), read.entriesWithPrefix("a"));
+		assertEquals(List.of(), read.entriesWithPrefix(null));
+	}
+
+	@Test
+	void prefixes() throws IOException {
+		List<ObjectPackIndex.Entry> entries = List.of(entry("a"), entry("a/1"), entry("a/2"), entry("a0"),
+				entry("b"));
+		ObjectPackIndex index = read(new ObjectPackIndex(List.of(new ObjectPackIndex.Pack("pack", "e")), entries)
+				.toBytes());
+		assertEquals(5, index.entriesWithPrefix("").size());
+		assertEquals(4, index.entriesWithPrefix("a").size());
+		assertEquals(List.of(entry("a/1"), entry("a/2")), index.entriesWithPrefix("a/"));
+		// absent prefixes before, between and after the names
+		assertEquals(List.of(), index.entriesWithPrefix("0"));
+		assertEquals(List.of(), index.entriesWithPrefix("a/3"));
+		assertEquals(List.of(), index.entriesWithPrefix("c"));
+		assertNull(index.lookup("a/"));
+	}
+
+	@Test
+	void invalidIndexesAreRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new ObjectPackIndex(List.of(), List.of(new ObjectPackIndex.Entry("a", 0, 0, 1, 0))));
+		assertThrows(IOException.class, () -> read(new byte[] { 1, 2, 3 }));
+	}
+
+	private static ObjectPackIndex.Entry entry(String name) {
+		return new ObjectPackIndex.Entry(name, 0, 0, 1, 0);
+	}
+
+	private static ObjectPackIndex read(byte[] bytes) throws IOException {
+		return ObjectPackIndex.read(new ByteArrayInputStream(bytes));
+	}
+}